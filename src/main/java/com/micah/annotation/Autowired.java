@@ -0,0 +1,25 @@
+package com.micah.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Let DefaultBeanFactory inject a constructor, field or method by type. A field, or a parameter
+ * of the annotated constructor or method, also annotated with @Ref is injected by name instead.
+ * When several Beans have the type, the one named like the field or parameter is chosen.
+ * @author micah
+ * @create 2026-10-18 23:10
+ **/
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR, ElementType.FIELD, ElementType.METHOD})
+public @interface Autowired {
+
+    /**
+     * Whether creating the Bean fails when no Bean can be injected, null is injected otherwise
+     */
+    boolean required() default true;
+}
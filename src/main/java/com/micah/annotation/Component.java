@@ -0,0 +1,40 @@
+package com.micah.annotation;
+
+import com.micah.beandefinition.BeanDefinition;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare a class as a Bean
+ * @author micah
+ * @create 2026-10-18 11:10
+ **/
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Component {
+
+    /**
+     * Bean name, the decapitalized simple class name when blank
+     */
+    String value() default "";
+
+    /**
+     * Bean scope
+     */
+    String scope() default BeanDefinition.SCOPE_SINGLETON;
+
+    /**
+     * Init method name
+     */
+    String initMethod() default "";
+
+    /**
+     * Destroy method name
+     */
+    String destroyMethod() default "";
+}
@@ -0,0 +1,24 @@
+package com.micah.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inject the named Bean into a constructor parameter or a setter, or name the Bean injected
+ * into an @Autowired field
+ * @author micah
+ * @create 2026-10-18 11:10
+ **/
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.METHOD, ElementType.FIELD})
+public @interface Ref {
+
+    /**
+     * Referenced Bean name
+     */
+    String value();
+}
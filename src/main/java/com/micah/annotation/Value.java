@@ -0,0 +1,23 @@
+package com.micah.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inject a literal into a constructor parameter or a setter of String, primitive or boxed type
+ * @author micah
+ * @create 2026-10-18 11:10
+ **/
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.METHOD})
+public @interface Value {
+
+    /**
+     * Literal value
+     */
+    String value();
+}
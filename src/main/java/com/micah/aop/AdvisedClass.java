@@ -0,0 +1,100 @@
+package com.micah.aop;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The interceptor chains of the interface methods of one target class, computed once when the
+ * first Bean of the class is proxied and shared by the proxies of all its instances
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+final class AdvisedClass {
+
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    private final Class<?> targetClass;
+
+    private final Class<?>[] interfaces;
+
+    private final Advisor[] advisors;
+
+    //ConcurrentHashMap to store <interface method, interceptors in advisor order>
+    private final Map<Method, MethodInterceptor[]> chains = new ConcurrentHashMap<>();
+
+    private final boolean advised;
+
+    AdvisedClass(Class<?> targetClass, List<Advisor> candidates) {
+        this.targetClass = targetClass;
+        Set<Class<?>> found = new LinkedHashSet<>();
+        for (Class<?> c = targetClass; c != null; c = c.getSuperclass()) {
+            collectInterfaces(c, found);
+        }
+        this.interfaces = found.toArray(new Class<?>[0]);
+        List<Advisor> applicable = new ArrayList<>();
+        for (Advisor advisor : candidates) {
+            for (Class<?> type : advisor.getPointcut().getTargetTypes()) {
+                if (type.isAssignableFrom(targetClass)) {
+                    applicable.add(advisor);
+                    break;
+                }
+            }
+        }
+        this.advisors = applicable.toArray(new Advisor[0]);
+        boolean anyAdvised = false;
+        if (advisors.length > 0) {
+            for (Class<?> anInterface : interfaces) {
+                for (Method method : anInterface.getMethods()) {
+                    anyAdvised |= chain(method).length > 0;
+                }
+            }
+        }
+        this.advised = anyAdvised;
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> found) {
+        for (Class<?> anInterface : type.getInterfaces()) {
+            if (found.add(anInterface)) {
+                collectInterfaces(anInterface, found);
+            }
+        }
+    }
+
+    /**
+     * check any interface method has an advice, a class without one isn't proxied
+     * @return true or false
+     */
+    boolean isAdvised() {
+        return advised;
+    }
+
+    /**
+     * Get the interceptors of a method, the same empty array for methods without advice
+     * @param method interface method
+     * @return interceptors
+     */
+    MethodInterceptor[] chain(Method method) {
+        MethodInterceptor[] chain = chains.get(method);
+        if (chain == null) {
+            List<MethodInterceptor> interceptors = new ArrayList<>();
+            for (Advisor advisor : advisors) {
+                if (advisor.getPointcut().matches(method, targetClass)) {
+                    interceptors.add(advisor.getInterceptor());
+                }
+            }
+            chain = interceptors.isEmpty() ? NO_INTERCEPTORS : interceptors.toArray(new MethodInterceptor[0]);
+            chains.put(method, chain);
+        }
+        return chain;
+    }
+
+    Object newProxy(Object target) {
+        return Proxy.newProxyInstance(targetClass.getClassLoader(), interfaces, new JdkAopProxy(this, target));
+    }
+}
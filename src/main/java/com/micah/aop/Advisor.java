@@ -0,0 +1,29 @@
+package com.micah.aop;
+
+/**
+ * An advice and the pointcut selecting the methods it applies to
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+public final class Advisor {
+
+    private final Pointcut pointcut;
+
+    private final MethodInterceptor interceptor;
+
+    public Advisor(Pointcut pointcut, MethodInterceptor interceptor) {
+        if (pointcut == null || interceptor == null) {
+            throw new IllegalArgumentException("pointcut and interceptor can't be null");
+        }
+        this.pointcut = pointcut;
+        this.interceptor = interceptor;
+    }
+
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    public MethodInterceptor getInterceptor() {
+        return interceptor;
+    }
+}
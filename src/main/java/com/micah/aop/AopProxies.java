@@ -0,0 +1,38 @@
+package com.micah.aop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Helpers for the proxies created by AopProxyCreator
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+public final class AopProxies {
+
+    private AopProxies() {
+    }
+
+    /**
+     * check the Bean is an AOP proxy
+     * @param bean
+     * @return true or false
+     */
+    public static boolean isAopProxy(Object bean) {
+        return bean != null && Proxy.isProxyClass(bean.getClass())
+                && Proxy.getInvocationHandler(bean) instanceof JdkAopProxy;
+    }
+
+    /**
+     * Get the Bean behind an AOP proxy, e.g. to call its lifecycle methods
+     * @param bean proxy or plain Bean
+     * @return target of the proxy, the Bean itself if it isn't a proxy
+     */
+    public static Object getTarget(Object bean) {
+        if (!isAopProxy(bean)) {
+            return bean;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(bean);
+        return ((JdkAopProxy) handler).getTarget();
+    }
+}
@@ -0,0 +1,58 @@
+package com.micah.aop;
+
+import com.micah.processor.BeanPostProcessor;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BeanPostProcessor replacing the Beans with an advised interface method by a JDK dynamic proxy
+ * of all their interfaces. It only targets the types of its advisors' pointcuts; Beans without
+ * interface can't be proxied and are left as they are.
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+public class AopProxyCreator implements BeanPostProcessor {
+
+    private final List<Advisor> advisors = new CopyOnWriteArrayList<>();
+
+    //ConcurrentHashMap to store <target class, advised methods of the class>
+    private final Map<Class<?>, AdvisedClass> advisedClasses = new ConcurrentHashMap<>();
+
+    private volatile Class<?>[] targetTypes = new Class<?>[0];
+
+    /**
+     * Add an advisor, applied to the Beans created from now on
+     * @param advisor
+     */
+    public synchronized void addAdvisor(Advisor advisor) {
+        advisors.add(advisor);
+        advisedClasses.clear();
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Advisor added : advisors) {
+            for (Class<?> type : added.getPointcut().getTargetTypes()) {
+                types.add(type);
+            }
+        }
+        targetTypes = types.toArray(new Class<?>[0]);
+    }
+
+    @Override
+    public Class<?>[] getTargetTypes() {
+        return targetTypes.clone();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        AdvisedClass advisedClass = advisedClasses.get(beanClass);
+        if (advisedClass == null) {
+            advisedClass = advisedClasses.computeIfAbsent(beanClass, c -> new AdvisedClass(c, advisors));
+        }
+        return advisedClass.isAdvised() ? advisedClass.newProxy(bean) : bean;
+    }
+}
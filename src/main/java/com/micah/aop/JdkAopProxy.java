@@ -0,0 +1,112 @@
+package com.micah.aop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation handler of a JDK dynamic proxy around one Bean. Methods without advice call the
+ * target directly, advised methods run their cached interceptor chain.
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+final class JdkAopProxy implements InvocationHandler {
+
+    private final AdvisedClass advisedClass;
+
+    private final Object target;
+
+    JdkAopProxy(AdvisedClass advisedClass, Object target) {
+        this.advisedClass = advisedClass;
+        this.target = target;
+    }
+
+    Object getTarget() {
+        return target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            //a proxy is only equal to itself, whatever the target does
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+        }
+        MethodInterceptor[] chain = advisedClass.chain(method);
+        if (chain.length == 0) {
+            return invokeTarget(target, method, args);
+        }
+        return new ChainedInvocation(target, method, args, chain).proceed();
+    }
+
+    static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } catch (IllegalAccessException e) {
+            //method of a non-public interface
+            method.setAccessible(true);
+            return invokeTarget(target, method, args);
+        }
+    }
+
+    /**
+     * One call going through the interceptors, proceed() can be called again to rerun the rest of the chain
+     */
+    private static final class ChainedInvocation implements MethodInvocation {
+
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private final Object target;
+
+        private final Method method;
+
+        private final Object[] arguments;
+
+        private final MethodInterceptor[] chain;
+
+        private int index;
+
+        ChainedInvocation(Object target, Method method, Object[] arguments, MethodInterceptor[] chain) {
+            this.target = target;
+            this.method = method;
+            this.arguments = arguments == null ? NO_ARGS : arguments;
+            this.chain = chain;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            if (index == chain.length) {
+                return invokeTarget(target, method, arguments);
+            }
+            MethodInterceptor interceptor = chain[index++];
+            try {
+                return interceptor.invoke(this);
+            } finally {
+                index--;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.micah.aop;
+
+/**
+ * Advice around the calls of the methods matched by a pointcut, e.g. timing, retry or tracing
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    /**
+     * Handle a call, invocation.proceed() calls the next interceptor or the target method
+     * @param invocation the intercepted call
+     * @return result of the call
+     */
+    Object invoke(MethodInvocation invocation) throws Throwable;
+}
@@ -0,0 +1,36 @@
+package com.micah.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * A call on a proxied Bean going through its interceptor chain
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+public interface MethodInvocation {
+
+    /**
+     * Get the called method, declared by the proxied interface
+     * @return method
+     */
+    Method getMethod();
+
+    /**
+     * Get the call arguments, interceptors may change them before proceeding
+     * @return arguments, empty for no-arg methods
+     */
+    Object[] getArguments();
+
+    /**
+     * Get the target Bean
+     * @return target
+     */
+    Object getThis();
+
+    /**
+     * Call the next interceptor, or the target method after the last one. May be called
+     * again, e.g. to retry, and then runs the rest of the chain again.
+     * @return result of the call
+     */
+    Object proceed() throws Throwable;
+}
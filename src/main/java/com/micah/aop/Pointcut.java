@@ -0,0 +1,85 @@
+package com.micah.aop;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Select the methods an advice applies to
+ * @author micah
+ * @create 2026-10-19 00:10
+ **/
+public interface Pointcut {
+
+    /**
+     * Get the types of the Beans whose methods may match, Beans of other types aren't proxied
+     * @return target types, Object for all Beans
+     */
+    default Class<?>[] getTargetTypes() {
+        return new Class<?>[]{Object.class};
+    }
+
+    /**
+     * Check the method matches, asked once per method and target class
+     * @param method method of a proxied interface
+     * @param targetClass class of the target Bean
+     * @return true or false
+     */
+    boolean matches(Method method, Class<?> targetClass);
+
+    /**
+     * Match all methods of the interfaces of the Beans of a type, except those of Object
+     * @param type class or interface of the Beans
+     * @return pointcut
+     */
+    static Pointcut forType(Class<?> type) {
+        return new Pointcut() {
+            @Override
+            public Class<?>[] getTargetTypes() {
+                return new Class<?>[]{type};
+            }
+
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+    }
+
+    /**
+     * Match the methods with a name of the Beans of a type
+     * @param type class or interface of the Beans
+     * @param methodName
+     * @return pointcut
+     */
+    static Pointcut forMethod(Class<?> type, String methodName) {
+        return new Pointcut() {
+            @Override
+            public Class<?>[] getTargetTypes() {
+                return new Class<?>[]{type};
+            }
+
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getName().equals(methodName);
+            }
+        };
+    }
+
+    /**
+     * Match the methods annotated on the interface or on the implementing method of the target class
+     * @param annotationType runtime retained annotation
+     * @return pointcut
+     */
+    static Pointcut forAnnotation(Class<? extends Annotation> annotationType) {
+        return (method, targetClass) -> {
+            if (method.isAnnotationPresent(annotationType)) {
+                return true;
+            }
+            try {
+                return targetClass.getMethod(method.getName(), method.getParameterTypes()).isAnnotationPresent(annotationType);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.micah.aot;
+
+import com.micah.beandefinition.BeanDefinitionRegistry;
+
+/**
+ * Registers Bean definitions generated at build time by the BeanRegistrarProcessor. The generated
+ * definitions carry pre-bound instantiators, lifecycle methods and property setters, so creating
+ * their Beans doesn't need any reflective lookup.
+ * @author micah
+ * @create 2026-10-18 11:10
+ **/
+public interface BeanRegistrar {
+
+    /**
+     * Register the generated Bean definitions
+     * @param registry bean definition registry
+     */
+    void registerBeanDefinitions(BeanDefinitionRegistry registry) throws Exception;
+}
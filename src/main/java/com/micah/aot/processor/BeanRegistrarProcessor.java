@@ -0,0 +1,434 @@
+package com.micah.aot.processor;
+
+import com.micah.annotation.Autowired;
+import com.micah.annotation.Component;
+import com.micah.annotation.Ref;
+import com.micah.annotation.Value;
+import com.micah.scan.ClassPathComponentScanner;
+import com.micah.scan.ComponentRules;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Build time processor generating a BeanRegistrar for every class annotated with @Component.
+ * The generated registrar creates the Bean with {@code new}, calls init, destroy and setters
+ * directly and is listed in META-INF/services, so DefaultBeanFactory.loadAotBeanDefinitions
+ * finds it at runtime. The annotated classes are also listed in the component index read by
+ * ClassPathComponentScanner.
+ * Constructor parameters and setters are wired with @Ref and @Value following the ComponentRules
+ * shared with ClassPathComponentScanner.
+ * @Autowired isn't supported: the factory doesn't scan the classes of generated definitions for it.
+ * @author micah
+ * @create 2026-10-18 11:30
+ **/
+@SupportedAnnotationTypes("com.micah.annotation.Component")
+public class BeanRegistrarProcessor extends AbstractProcessor {
+
+    static final String REGISTRAR_SUFFIX = "_BeanRegistrar";
+
+    static final String SERVICE_FILE = "META-INF/services/com.micah.aot.BeanRegistrar";
+
+    private Filer filer;
+
+    private Messager messager;
+
+    private Types types;
+
+    //generated registrar name -> annotated class, in generation order
+    private final Map<String, TypeElement> registrars = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Component is only supported on classes", element);
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                String registrar = generateRegistrar(type);
+                if (registrar != null) {
+                    registrars.put(registrar, type);
+                }
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "can't generate BeanRegistrar: " + e, type);
+            }
+        }
+        if (roundEnv.processingOver() && !registrars.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private String generateRegistrar(TypeElement type) throws IOException {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)
+                || (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC))
+                || type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "@Component class must be public, concrete and top level or static nested", type);
+            return null;
+        }
+        //generated definitions are never scanned for @Autowired at runtime, don't let it be ignored
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getAnnotation(Autowired.class) != null) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "@Autowired isn't supported on @Component classes, wire them with @Ref and @Value", member);
+                return null;
+            }
+        }
+        ExecutableElement constructor = chooseConstructor(type);
+        if (constructor == null) {
+            return null;
+        }
+
+        Component component = type.getAnnotation(Component.class);
+        String className = type.getQualifiedName().toString();
+        String packageName = packageOf(type);
+        String simpleName = registrarSimpleName(type);
+        String beanName = ComponentRules.beanName(component.value(), type.getSimpleName().toString());
+
+        StringBuilder code = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n * Generated by BeanRegistrarProcessor for ").append(className).append(", do not edit\n **/\n");
+        code.append("public final class ").append(simpleName).append(" implements com.micah.aot.BeanRegistrar {\n\n");
+        code.append("    @Override\n");
+        code.append("    public void registerBeanDefinitions(com.micah.beandefinition.BeanDefinitionRegistry registry) throws Exception {\n");
+        code.append("        com.micah.beandefinition.impl.DefaultBeanDefinition bd = new com.micah.beandefinition.impl.DefaultBeanDefinition();\n");
+        code.append("        bd.setBeanClass(").append(className).append(".class);\n");
+        code.append("        bd.setScope(").append(quote(component.scope())).append(");\n");
+
+        //constructor
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        StringBuilder newCall = new StringBuilder("new ").append(className).append("(");
+        if (!parameters.isEmpty()) {
+            code.append("        java.util.List<Object> constructorArg = new java.util.ArrayList<>(").append(parameters.size()).append(");\n");
+            for (int i = 0; i < parameters.size(); i++) {
+                VariableElement parameter = parameters.get(i);
+                String value = injectedValue(parameter, parameter.asType(), className);
+                if (value == null) {
+                    return null;
+                }
+                code.append("        constructorArg.add(").append(value).append(");\n");
+                newCall.append(i == 0 ? "" : ", ").append(cast(parameter.asType())).append("args[").append(i).append("]");
+            }
+            code.append("        bd.setConstructorArg(constructorArg);\n");
+        }
+        newCall.append(")");
+        code.append("        bd.setInstantiator(args -> ").append(newCall).append(");\n");
+
+        //lifecycle methods
+        if (!appendLifecycle(code, type, className, component.initMethod(), "Init")
+                || !appendLifecycle(code, type, className, component.destroyMethod(), "Destroy")) {
+            return null;
+        }
+
+        //setters
+        List<ExecutableElement> setters = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getAnnotation(Ref.class) != null || method.getAnnotation(Value.class) != null) {
+                setters.add(method);
+            }
+        }
+        if (!setters.isEmpty()) {
+            code.append("        java.util.Map<String, Object> values = new java.util.LinkedHashMap<>();\n");
+            code.append("        java.util.Map<String, com.micah.injection.PropertyAccessor> accessors = new java.util.HashMap<>();\n");
+            for (ExecutableElement setter : setters) {
+                String methodName = setter.getSimpleName().toString();
+                String property = ComponentRules.propertyName(methodName);
+                if (property == null || setter.getParameters().size() != 1
+                        || !setter.getModifiers().contains(Modifier.PUBLIC) || setter.getModifiers().contains(Modifier.STATIC)) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@Ref and @Value methods must be public one-argument setters", setter);
+                    return null;
+                }
+                TypeMirror parameterType = setter.getParameters().get(0).asType();
+                String value = injectedValue(setter, parameterType, className);
+                if (value == null) {
+                    return null;
+                }
+                code.append("        values.put(").append(quote(property)).append(", ").append(value).append(");\n");
+                code.append("        accessors.put(").append(quote(property)).append(", (target, value) -> ((")
+                        .append(className).append(") target).").append(methodName).append("(")
+                        .append(cast(parameterType)).append("value));\n");
+            }
+            code.append("        bd.setPropertyKeyValue(values);\n");
+            code.append("        bd.setPropertyAccessors(accessors);\n");
+        }
+
+        code.append("        registry.registerBeanDefinition(bd, ").append(quote(beanName)).append(");\n");
+        code.append("    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        JavaFileObject file = filer.createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(code.toString());
+        }
+        return qualifiedName;
+    }
+
+    private ExecutableElement chooseConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = new ArrayList<>();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                constructors.add(constructor);
+            }
+        }
+        try {
+            return ComponentRules.chooseConstructor(type.getQualifiedName().toString(), constructors,
+                    constructor -> constructor.getParameters().size(), BeanRegistrarProcessor::isAnnotated);
+        } catch (Exception e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), type);
+            return null;
+        }
+    }
+
+    private static boolean isAnnotated(ExecutableElement constructor) {
+        for (VariableElement parameter : constructor.getParameters()) {
+            if (parameter.getAnnotation(Ref.class) == null && parameter.getAnnotation(Value.class) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Java expression of the configured value: a BeanReference for @Ref or a typed literal for @Value
+     */
+    private String injectedValue(Element element, TypeMirror type, String className) {
+        Ref ref = element.getAnnotation(Ref.class);
+        if (ref != null) {
+            return "new com.micah.beanreference.BeanReference(" + quote(ref.value()) + ")";
+        }
+        Class<?> valueType = valueType(type);
+        if (valueType == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Value only supports String, primitive and boxed types, not " + type, element);
+            return null;
+        }
+        Object value;
+        try {
+            value = ComponentRules.parseValue(element.getAnnotation(Value.class).value(), valueType, className);
+        } catch (Exception e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+            return null;
+        }
+        if (value instanceof String) {
+            return quote((String) value);
+        } else if (value instanceof Boolean) {
+            return "Boolean.valueOf(" + value + ")";
+        } else if (value instanceof Byte) {
+            return "Byte.valueOf((byte) " + value + ")";
+        } else if (value instanceof Short) {
+            return "Short.valueOf((short) " + value + ")";
+        } else if (value instanceof Integer) {
+            return "Integer.valueOf(" + value + ")";
+        } else if (value instanceof Long) {
+            return "Long.valueOf(" + value + "L)";
+        } else if (value instanceof Float) {
+            return "Float.valueOf(Float.intBitsToFloat(" + Float.floatToRawIntBits((Float) value) + "))";
+        } else if (value instanceof Double) {
+            return "Double.valueOf(Double.longBitsToDouble(" + Double.doubleToRawLongBits((Double) value) + "L))";
+        }
+        return "Character.valueOf((char) " + (int) (Character) value + ")";
+    }
+
+    /**
+     * The class ComponentRules.parseValue converts to: String or a primitive, null if unsupported
+     */
+    private Class<?> valueType(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind == TypeKind.DECLARED) {
+            if ("java.lang.String".equals(types.erasure(type).toString())) {
+                return String.class;
+            }
+            try {
+                kind = types.unboxedType(type).getKind();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        switch (kind) {
+            case BOOLEAN:
+                return boolean.class;
+            case BYTE:
+                return byte.class;
+            case SHORT:
+                return short.class;
+            case INT:
+                return int.class;
+            case LONG:
+                return long.class;
+            case FLOAT:
+                return float.class;
+            case DOUBLE:
+                return double.class;
+            case CHAR:
+                return char.class;
+            default:
+                return null;
+        }
+    }
+
+    private boolean appendLifecycle(StringBuilder code, TypeElement type, String className, String methodName, String kind) {
+        if (methodName.isEmpty()) {
+            return true;
+        }
+        boolean found = false;
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(methodName) && method.getParameters().isEmpty()
+                    && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                found = true;
+                break;
+            }
+        }
+        if (!found) {
+            messager.printMessage(Diagnostic.Kind.ERROR, kind.toLowerCase() + " method " + methodName
+                    + " must be a public no-arg instance method", type);
+            return false;
+        }
+        code.append("        bd.setBean").append(kind).append("MethodName(").append(quote(methodName)).append(");\n");
+        code.append("        bd.set").append(kind).append("Invoker((target, invokeArgs) -> {\n");
+        code.append("            ((").append(className).append(") target).").append(methodName).append("();\n");
+        code.append("            return null;\n");
+        code.append("        });\n");
+        return true;
+    }
+
+    private void writeServiceFile() {
+        writeListFile(SERVICE_FILE, registrars.keySet(), name -> name);
+        //component index read by ClassPathComponentScanner instead of parsing the class files
+        Set<String> components = new LinkedHashSet<>();
+        for (TypeElement type : registrars.values()) {
+            components.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        writeListFile(ClassPathComponentScanner.COMPONENT_INDEX, components, name -> name.replace('$', '.'));
+    }
+
+    /**
+     * Write class names one per line, keeping the ones listed by an earlier incremental
+     * compilation of the same output while their type still exists
+     * @param canonicalName maps a listed name to the name the type is looked up with
+     */
+    private void writeListFile(String resource, Set<String> names, Function<String, String> canonicalName) {
+        Set<String> lines = new LinkedHashSet<>();
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            for (String line : existing.getCharContent(true).toString().split("\n")) {
+                String name = line.trim();
+                if (!name.isEmpty() && processingEnv.getElementUtils().getTypeElement(canonicalName.apply(name)) != null) {
+                    lines.add(name);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            //no earlier file
+        }
+        lines.addAll(names);
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource,
+                    registrars.values().toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "can't write " + resource + ": " + e);
+        }
+    }
+
+    private String cast(TypeMirror type) {
+        return "(" + types.erasure(type).toString() + ") ";
+    }
+
+    private static String packageOf(TypeElement type) {
+        Element element = type;
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return ((PackageElement) element).getQualifiedName().toString();
+    }
+
+    private static String registrarSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element outer = type.getEnclosingElement(); outer instanceof TypeElement; outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name.append(REGISTRAR_SUFFIX).toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -1,5 +1,8 @@
 package com.micah.beandefinition;
 
+import com.micah.injection.PropertyAccessor;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.MethodInvoker;
 import com.micah.property.PropertyValue;
 import org.apache.commons.lang3.StringUtils;
 
@@ -19,6 +22,11 @@ public interface BeanDefinition {
 
     String SCOPE_PROTOTYPE = "prototype";
 
+    //only got by DefaultBeanFactory.checkoutBean and given back by returnBean, neither by getBean nor injected
+    String SCOPE_POOLED = "pooled";
+
+    String SCOPE_THREAD = "thread";
+
     /**
      * Get Bean class 
      * @return Bean class
@@ -73,6 +81,54 @@ public interface BeanDefinition {
      */
     boolean isPrototype();
 
+    /**
+     * check Bean is checked out from and returned to a pool or not
+     * @return true or false
+     */
+    default boolean isPooled() {
+        return SCOPE_POOLED.equals(getScope());
+    }
+
+    /**
+     * Get the reset method name of pooled Bean, called when an instance is returned to the pool
+     * @return Bean reset method name
+     */
+    default String getBeanResetMethodName() {
+        return null;
+    }
+
+    /**
+     * Get the number of idle instances a pooled Bean keeps ready
+     * @return minimum idle instances
+     */
+    default int getPoolMinIdle() {
+        return 0;
+    }
+
+    /**
+     * Get the maximum number of instances of a pooled Bean, idle or checked out
+     * @return maximum pool size
+     */
+    default int getPoolMaxSize() {
+        return 8;
+    }
+
+    /**
+     * Get how long an idle instance above the minimum is kept before it's destroyed
+     * @return idle timeout in milliseconds
+     */
+    default long getPoolMaxIdleMillis() {
+        return 60000L;
+    }
+
+    /**
+     * check singleton Bean is only created on first use, skipped by eager pre-instantiation
+     * @return true or false
+     */
+    default boolean isLazyInit() {
+        return false;
+    }
+
     /**
      * check the bean definition is correct or not
      * @return true or false
@@ -100,7 +156,57 @@ public interface BeanDefinition {
     Method getFactoryMethod();
     void setFactoryMethod(Method factoryMethod);
 
+    /**
+     * Get the instantiator the factory bound to getConstructor, the next instances skip matching
+     * and binding the constructor. Cleared by setConstructor.
+     * @return instantiator or null
+     */
+    BeanInstantiator getConstructorInstantiator();
+    void setConstructorInstantiator(BeanInstantiator constructorInstantiator);
+
+    /**
+     * Get the invoker the factory bound to getFactoryMethod, the next instances skip matching and
+     * binding the method. Cleared by setFactoryMethod.
+     * @return invoker or null
+     */
+    MethodInvoker getFactoryMethodInvoker();
+    void setFactoryMethodInvoker(MethodInvoker factoryMethodInvoker);
+
     // used by attribute dependency
     Map<String,Object> getPropertyKeyValue();
     void setPropertyKeyValue(Map<String,Object> properties);
+
+    // pre-bound members, e.g. from generated BeanRegistrars, used instead of reflective lookups
+
+    /**
+     * Get the instantiator called with the parsed constructor args instead of matching a constructor
+     * @return instantiator or null
+     */
+    default BeanInstantiator getInstantiator() {
+        return null;
+    }
+
+    /**
+     * Get the bound init method
+     * @return init method or null
+     */
+    default MethodInvoker getInitInvoker() {
+        return null;
+    }
+
+    /**
+     * Get the bound destroy method
+     * @return destroy method or null
+     */
+    default MethodInvoker getDestroyInvoker() {
+        return null;
+    }
+
+    /**
+     * Get the bound accessors of the properties in getPropertyKeyValue
+     * @return accessors by property name or null
+     */
+    default Map<String, PropertyAccessor> getPropertyAccessors() {
+        return null;
+    }
 }
@@ -0,0 +1,43 @@
+package com.micah.beandefinition;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Thrown when the registered Bean definitions can't be wired, reports every problem found at once
+ * @author micah
+ * @create 2026-10-18 14:30
+ **/
+public class BeanDefinitionValidationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<List<String>> cycles;
+
+    private final Map<String, Set<String>> missingReferences;
+
+    public BeanDefinitionValidationException(List<List<String>> cycles, Map<String, Set<String>> missingReferences) {
+        super("invalid bean definitions, circular dependencies: " + cycles
+                + ", references without bean definition: " + missingReferences);
+        this.cycles = Collections.unmodifiableList(cycles);
+        this.missingReferences = Collections.unmodifiableMap(missingReferences);
+    }
+
+    /**
+     * Get the circular dependencies
+     * @return bean names of each cycle
+     */
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Get the references to Beans without definition
+     * @return referenced names by referencing bean name
+     */
+    public Map<String, Set<String>> getMissingReferences() {
+        return missingReferences;
+    }
+}
@@ -1,5 +1,8 @@
 package com.micah.beandefinition.impl;
 
+import com.micah.injection.PropertyAccessor;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.MethodInvoker;
 import com.micah.property.PropertyValue;
 import com.micah.beandefinition.BeanDefinition;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +35,16 @@ public class DefaultBeanDefinition implements BeanDefinition {
 
     private String scope = BeanDefinition.SCOPE_SINGLETON;
 
+    private boolean lazyInit;
+
+    private String beanResetMethodName;
+
+    private int poolMinIdle;
+
+    private int poolMaxSize = 8;
+
+    private long poolMaxIdleMillis = 60000L;
+
     private Constructor constructor;
 
     private Method method;
@@ -40,6 +53,19 @@ public class DefaultBeanDefinition implements BeanDefinition {
 
     private Map<String,Object> values;
 
+    private BeanInstantiator instantiator;
+
+    private MethodInvoker initInvoker;
+
+    private MethodInvoker destroyInvoker;
+
+    private Map<String, PropertyAccessor> propertyAccessors;
+
+    //bound by the factory to the matched constructor and factory method, not part of the definition
+    private transient BeanInstantiator constructorInstantiator;
+
+    private transient MethodInvoker factoryMethodInvoker;
+
     @Override
     public Class<?> getBeanClass() {
         return this.clazz;
@@ -108,6 +134,7 @@ public class DefaultBeanDefinition implements BeanDefinition {
     @Override
     public void setConstructor(Constructor<?> constructor) {
         this.constructor = constructor;
+        this.constructorInstantiator = null;
     }
 
     @Override
@@ -117,7 +144,8 @@ public class DefaultBeanDefinition implements BeanDefinition {
 
     @Override
     public void setFactoryMethod(Method factoryMethod) {
-        this.method = method;
+        this.method = factoryMethod;
+        this.factoryMethodInvoker = null;
     }
 
     @Override
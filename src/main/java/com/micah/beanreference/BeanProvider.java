@@ -0,0 +1,16 @@
+package com.micah.beanreference;
+
+/**
+ * Handle to a Bean created on demand
+ * @author micah
+ * @create 2026-10-18 15:40
+ **/
+@FunctionalInterface
+public interface BeanProvider<T> {
+
+    /**
+     * Get the Bean, created by the first call for singletons
+     * @return Bean
+     */
+    T getObject() throws Exception;
+}
@@ -0,0 +1,84 @@
+package com.micah.beanreference;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.factory.BeanFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * BeanProvider of a LazyBeanReference. The factory creates a singleton exactly once, so the
+ * provider only publishes it through a volatile field and never locks.
+ * @author micah
+ * @create 2026-10-18 15:40
+ **/
+public final class LazyBeanProvider implements BeanProvider<Object> {
+
+    private final BeanFactory beanFactory;
+
+    private final BeanDefinitionRegistry registry;
+
+    private final String beanName;
+
+    private volatile Object instance;
+
+    public LazyBeanProvider(BeanFactory beanFactory, BeanDefinitionRegistry registry, String beanName) {
+        this.beanFactory = beanFactory;
+        this.registry = registry;
+        this.beanName = beanName;
+    }
+
+    /**
+     * Create the value injected for a lazy reference
+     * @param reference lazy reference
+     * @param beanFactory factory creating the target Bean
+     * @param registry registry to check the scope of the target Bean
+     * @return BeanProvider or interface proxy, whose equals, hashCode and toString don't create the Bean
+     */
+    public static Object forReference(LazyBeanReference reference, BeanFactory beanFactory, BeanDefinitionRegistry registry) {
+        LazyBeanProvider provider = new LazyBeanProvider(beanFactory, registry, reference.getBeanName());
+        Class<?> proxyInterface = reference.getProxyInterface();
+        if (proxyInterface == null) {
+            return provider;
+        }
+        return Proxy.newProxyInstance(proxyInterface.getClassLoader(), new Class<?>[]{proxyInterface}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Lazy proxy of [" + reference.getBeanName() + "]";
+                    default:
+                        break;
+                }
+            }
+            try {
+                return method.invoke(provider.getObject(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @Override
+    public Object getObject() throws Exception {
+        Object value = this.instance;
+        if (value != null) {
+            return value;
+        }
+        value = beanFactory.getBean(beanName);
+        BeanDefinition bd = registry.getBeanDefinition(beanName);
+        if (bd != null && bd.isSingleton()) {
+            this.instance = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyBeanProvider [" + beanName + "]";
+    }
+}
@@ -0,0 +1,32 @@
+package com.micah.beanreference;
+
+/**
+ * Reference resolved on first use. Without interface the injected value is a BeanProvider,
+ * with interface it's a proxy of that interface creating the target Bean on its first call.
+ * @author micah
+ * @create 2026-10-18 15:40
+ **/
+public class LazyBeanReference extends BeanReference {
+
+    private Class<?> proxyInterface;
+
+    public LazyBeanReference(String beanName) {
+        super(beanName);
+    }
+
+    public LazyBeanReference(String beanName, Class<?> proxyInterface) {
+        super(beanName);
+        if (proxyInterface != null && !proxyInterface.isInterface()) {
+            throw new IllegalArgumentException(proxyInterface.getName() + " is not an interface");
+        }
+        this.proxyInterface = proxyInterface;
+    }
+
+    /**
+     * Get the interface of the injected proxy
+     * @return interface, null to inject a BeanProvider
+     */
+    public Class<?> getProxyInterface() {
+        return proxyInterface;
+    }
+}
@@ -0,0 +1,253 @@
+package com.micah.convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Convert the injected values to the types of the constructor parameters, factory method
+ * parameters and properties they are injected into. The converter of a (source type, target
+ * type) pair is resolved once, by searching the registered converters along the source type's
+ * superclasses and interfaces, and cached. Primitive targets share the converters of their
+ * wrapper types, and a value already of the wrapper type is passed on as it is, without being
+ * unboxed and boxed again.
+ * <p>Registered by default: String to the primitive, boxed, BigInteger, BigDecimal and enum types,
+ * between the boxed number types when the value fits, and numbers, booleans and characters to String.
+ * @author micah
+ * @create 2026-10-19 02:10
+ **/
+public class ConversionService {
+
+    private static final Converter<Object, Object> IDENTITY = source -> source;
+
+    //cached for pairs without converter, never returned
+    private static final Converter<Object, Object> NO_CONVERTER = source -> {
+        throw new IllegalStateException("no converter");
+    };
+
+    //ConcurrentHashMap to store <source type, <target type, registered converter>>
+    private final Map<Class<?>, Map<Class<?>, Converter<Object, Object>>> converters = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <source type, <target type, resolved converter or NO_CONVERTER>>
+    private final Map<Class<?>, Map<Class<?>, Converter<Object, Object>>> resolved = new ConcurrentHashMap<>();
+
+    //bumped by every registration, lets the caches built on canConvert notice new converters
+    private final AtomicInteger modificationCount = new AtomicInteger();
+
+    public ConversionService() {
+        addConverter(String.class, Boolean.class, ConversionService::toBoolean);
+        addConverter(String.class, Character.class, source -> {
+            if (source.length() != 1) {
+                throw new IllegalArgumentException("\"" + source + "\" isn't a single character");
+            }
+            return source.charAt(0);
+        });
+        addConverter(String.class, Byte.class, source -> Byte.valueOf(source.trim()));
+        addConverter(String.class, Short.class, source -> Short.valueOf(source.trim()));
+        addConverter(String.class, Integer.class, source -> Integer.valueOf(source.trim()));
+        addConverter(String.class, Long.class, source -> Long.valueOf(source.trim()));
+        addConverter(String.class, Float.class, source -> Float.valueOf(source.trim()));
+        addConverter(String.class, Double.class, source -> Double.valueOf(source.trim()));
+        addConverter(String.class, BigInteger.class, source -> new BigInteger(source.trim()));
+        addConverter(String.class, BigDecimal.class, source -> new BigDecimal(source.trim()));
+
+        addConverter(Number.class, Byte.class, source -> (byte) integral(source, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        addConverter(Number.class, Short.class, source -> (short) integral(source, Short.MIN_VALUE, Short.MAX_VALUE));
+        addConverter(Number.class, Integer.class, source -> (int) integral(source, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        addConverter(Number.class, Long.class, source -> integral(source, Long.MIN_VALUE, Long.MAX_VALUE));
+        addConverter(Number.class, Float.class, Number::floatValue);
+        addConverter(Number.class, Double.class, Number::doubleValue);
+        addConverter(Number.class, BigInteger.class, source -> BigInteger.valueOf(integral(source, Long.MIN_VALUE, Long.MAX_VALUE)));
+        addConverter(Number.class, BigDecimal.class, source -> new BigDecimal(source.toString()));
+
+        addConverter(Number.class, String.class, Object::toString);
+        addConverter(Boolean.class, String.class, Object::toString);
+        addConverter(Character.class, String.class, Object::toString);
+    }
+
+    /**
+     * Register a converter, used for the source type and its subtypes
+     * @param sourceType
+     * @param targetType primitive types register for their wrapper types
+     * @param converter
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        converters.computeIfAbsent(wrap(sourceType), k -> new ConcurrentHashMap<>())
+                .put(wrap(targetType), (Converter<Object, Object>) converter);
+        //a new converter may be closer to the source type than a resolved one
+        resolved.clear();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Get the number of converters registered so far, a cached answer of canConvert is stale
+     * once it changes
+     * @return modification count
+     */
+    public int getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * check a value of the source type can be converted, without converting it
+     * @param sourceType class of the value, null for a null value
+     * @param targetType
+     * @return true or false
+     */
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        if (sourceType == null) {
+            return !targetType.isPrimitive();
+        }
+        return getConverter(sourceType, targetType) != null;
+    }
+
+    /**
+     * Convert a value, a value of the target type is returned as it is
+     * @param value
+     * @param targetType
+     * @return converted value
+     * @throws Exception if there is no converter or the value can't be converted
+     */
+    public Object convert(Object value, Class<?> targetType) throws Exception {
+        if (value == null) {
+            if (targetType.isPrimitive()) {
+                throw new Exception("null can't be converted to " + targetType.getName());
+            }
+            return null;
+        }
+        Class<?> target = wrap(targetType);
+        if (target.isInstance(value)) {
+            return value;
+        }
+        Converter<Object, Object> converter = getConverter(value.getClass(), target);
+        if (converter == null) {
+            throw new Exception("no converter from " + value.getClass().getName() + " to " + targetType.getName());
+        }
+        try {
+            return converter.convert(value);
+        } catch (Exception e) {
+            throw new Exception("can't convert \"" + value + "\" to " + targetType.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the converter of a pair of types, resolved once
+     * @param sourceType
+     * @param targetType
+     * @return converter, identity if the source type is assignable, null if there is none
+     */
+    public Converter<Object, Object> getConverter(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, Converter<Object, Object>> byTarget = resolved.get(sourceType);
+        if (byTarget == null) {
+            byTarget = resolved.computeIfAbsent(sourceType, k -> new ConcurrentHashMap<>());
+        }
+        Converter<Object, Object> converter = byTarget.get(targetType);
+        if (converter == null) {
+            converter = resolve(wrap(sourceType), wrap(targetType));
+            byTarget.put(targetType, converter);
+        }
+        return converter == NO_CONVERTER ? null : converter;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Converter<Object, Object> resolve(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            return IDENTITY;
+        }
+        //the closest registered source type wins, superclasses before their interfaces
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        pending.add(sourceType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!seen.add(type)) {
+                continue;
+            }
+            Map<Class<?>, Converter<Object, Object>> byTarget = converters.get(type);
+            Converter<Object, Object> converter = byTarget == null ? null : byTarget.get(targetType);
+            if (converter != null) {
+                return converter;
+            }
+            if (type.getSuperclass() != null) {
+                pending.add(type.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        if (sourceType == String.class && targetType.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) targetType;
+            return source -> Enum.valueOf(enumType, ((String) source).trim());
+        }
+        return NO_CONVERTER;
+    }
+
+    /**
+     * Get the wrapper of a primitive type
+     * @param type
+     * @return wrapper type, the type itself if it isn't primitive
+     */
+    public static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Void.class;
+    }
+
+    private static Boolean toBoolean(String source) {
+        String value = source.trim();
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("\"" + source + "\" isn't true or false");
+    }
+
+    /**
+     * the value of a number as long, if it is integral and within the range
+     */
+    private static long integral(Number source, long min, long max) {
+        long value;
+        if (source instanceof BigDecimal) {
+            value = ((BigDecimal) source).longValueExact();
+        } else if (source instanceof BigInteger) {
+            value = ((BigInteger) source).longValueExact();
+        } else if (source instanceof Double || source instanceof Float) {
+            double d = source.doubleValue();
+            value = (long) d;
+            if (value != d) {
+                throw new ArithmeticException(source + " isn't integral");
+            }
+        } else {
+            value = source.longValue();
+        }
+        if (value < min || value > max) {
+            throw new ArithmeticException(source + " is out of range");
+        }
+        return value;
+    }
+}
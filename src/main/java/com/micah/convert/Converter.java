@@ -0,0 +1,17 @@
+package com.micah.convert;
+
+/**
+ * Convert a value of type S into type T
+ * @author micah
+ * @create 2026-10-19 02:10
+ **/
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * @param source value to convert, never null
+     * @return converted value
+     * @throws Exception if the value can't be represented as T
+     */
+    T convert(S source) throws Exception;
+}
@@ -0,0 +1,281 @@
+package com.micah.dependency;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reference graph of the registered Bean definitions. An edge goes from a Bean to every Bean it
+ * needs to be created: the factory Bean and the BeanReferences in constructor args and property
+ * values, also inside lists and maps. Lazy references are no edges, their target is created on
+ * first use, but they're still checked for missing definitions.
+ * @author micah
+ * @create 2026-10-18 13:00
+ **/
+public class DependencyGraph {
+
+    //<beanName, names of the Beans it depends on>
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    //<beanName, names of the Beans depending on it>
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+
+    //<beanName, referenced names without bean definition>
+    private final Map<String, Set<String>> missingReferences = new LinkedHashMap<>();
+
+    //topological order known when the graph was restored, null for a built graph
+    private List<String> knownOrder;
+
+    /**
+     * Build the graph of the bean definitions
+     * @param definitions bean definitions by name
+     * @return dependency graph
+     */
+    public static DependencyGraph build(Map<String, BeanDefinition> definitions) {
+        return build(definitions, bd -> Collections.emptySet());
+    }
+
+    /**
+     * Build the graph of the bean definitions with the references not written in the definitions,
+     * e.g. of annotated members
+     * @param definitions bean definitions by name
+     * @param additionalReferences names of the other Beans a definition needs
+     * @return dependency graph
+     */
+    public static DependencyGraph build(Map<String, BeanDefinition> definitions,
+                                        Function<BeanDefinition, Set<String>> additionalReferences) {
+        DependencyGraph graph = new DependencyGraph();
+        for (Map.Entry<String, BeanDefinition> entry : definitions.entrySet()) {
+            graph.dependencies.put(entry.getKey(), new LinkedHashSet<>());
+            graph.dependents.put(entry.getKey(), new LinkedHashSet<>());
+        }
+        for (Map.Entry<String, BeanDefinition> entry : definitions.entrySet()) {
+            String beanName = entry.getKey();
+            Set<String> references = referencedBeanNames(entry.getValue(), false);
+            references.addAll(additionalReferences.apply(entry.getValue()));
+            for (String reference : references) {
+                if (definitions.containsKey(reference)) {
+                    graph.dependencies.get(beanName).add(reference);
+                    graph.dependents.get(reference).add(beanName);
+                }
+            }
+            for (String reference : referencedBeanNames(entry.getValue(), true)) {
+                if (!definitions.containsKey(reference)) {
+                    graph.missingReferences.computeIfAbsent(beanName, k -> new LinkedHashSet<>()).add(reference);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Restore a graph checked before, e.g. saved in a startup snapshot. No cycle or missing
+     * reference is looked for, topologicalOrder returns the given order.
+     * @param orderedDependencies names of the Beans each Bean depends on, in topological order
+     * @return dependency graph
+     */
+    public static DependencyGraph restore(Map<String, Set<String>> orderedDependencies) {
+        DependencyGraph graph = new DependencyGraph();
+        for (String beanName : orderedDependencies.keySet()) {
+            graph.dependencies.put(beanName, new LinkedHashSet<>());
+            graph.dependents.put(beanName, new LinkedHashSet<>());
+        }
+        for (Map.Entry<String, Set<String>> entry : orderedDependencies.entrySet()) {
+            for (String dependency : entry.getValue()) {
+                graph.dependencies.get(entry.getKey()).add(dependency);
+                graph.dependents.get(dependency).add(entry.getKey());
+            }
+        }
+        graph.knownOrder = new ArrayList<>(orderedDependencies.keySet());
+        return graph;
+    }
+
+    /**
+     * Collect the names of the Beans a definition references
+     * @param bd bean definition
+     * @param includeLazy whether lazy references are collected
+     * @return referenced bean names
+     */
+    public static Set<String> referencedBeanNames(BeanDefinition bd, boolean includeLazy) {
+        Set<String> names = new LinkedHashSet<>();
+        if (StringUtils.isNotBlank(bd.getFactoryBeanName())) {
+            names.add(bd.getFactoryBeanName());
+        }
+        if (bd.getConstructorArg() != null) {
+            collectReferences(bd.getConstructorArg(), includeLazy, names);
+        }
+        if (bd.getPropertyKeyValue() != null) {
+            collectReferences(bd.getPropertyKeyValue().values(), includeLazy, names);
+        }
+        return names;
+    }
+
+    private static void collectReferences(Collection<?> values, boolean includeLazy, Set<String> names) {
+        for (Object value : values) {
+            if (value instanceof BeanReference) {
+                if (includeLazy || !(value instanceof LazyBeanReference)) {
+                    names.add(((BeanReference) value).getBeanName());
+                }
+            } else if (value instanceof Collection) {
+                collectReferences((Collection<?>) value, includeLazy, names);
+            } else if (value instanceof Map) {
+                collectReferences(((Map<?, ?>) value).values(), includeLazy, names);
+            }
+        }
+    }
+
+    public Set<String> getBeanNames() {
+        return Collections.unmodifiableSet(dependencies.keySet());
+    }
+
+    public Set<String> getDependencies(String beanName) {
+        Set<String> names = dependencies.get(beanName);
+        return names == null ? Collections.emptySet() : Collections.unmodifiableSet(names);
+    }
+
+    public Set<String> getDependents(String beanName) {
+        Set<String> names = dependents.get(beanName);
+        return names == null ? Collections.emptySet() : Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Get the references to Beans without definition
+     * @return referenced names by referencing bean name
+     */
+    public Map<String, Set<String>> getMissingReferences() {
+        return Collections.unmodifiableMap(missingReferences);
+    }
+
+    /**
+     * Find all circular dependencies with Tarjan's strongly connected components algorithm,
+     * iterative so deep graphs don't overflow the stack
+     * @return bean names of every cycle, a strongly connected component of more than one Bean
+     * or a Bean referencing itself
+     */
+    public List<List<String>> findCycles() {
+        String[] names = dependencies.keySet().toArray(new String[0]);
+        Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+        int[][] edges = new int[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            Set<String> targets = dependencies.get(names[i]);
+            edges[i] = new int[targets.size()];
+            int j = 0;
+            for (String target : targets) {
+                edges[i][j++] = ids.get(target);
+            }
+        }
+
+        int[] index = new int[names.length];
+        int[] lowLink = new int[names.length];
+        boolean[] onStack = new boolean[names.length];
+        Arrays.fill(index, -1);
+        int[] stack = new int[names.length];
+        int stackSize = 0;
+        //call stack of the depth first search: node and position in its edges
+        int[] callNode = new int[names.length];
+        int[] callEdge = new int[names.length];
+        int counter = 0;
+        List<List<String>> cycles = new ArrayList<>();
+
+        for (int root = 0; root < names.length; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            index[root] = lowLink[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int node = callNode[depth];
+                if (callEdge[depth] < edges[node].length) {
+                    int next = edges[node][callEdge[depth]++];
+                    if (index[next] == -1) {
+                        index[next] = lowLink[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        depth++;
+                        callNode[depth] = next;
+                        callEdge[depth] = 0;
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                    continue;
+                }
+                if (lowLink[node] == index[node]) {
+                    List<String> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component.add(names[member]);
+                    } while (member != node);
+                    if (component.size() > 1 || dependencies.get(names[node]).contains(names[node])) {
+                        Collections.reverse(component);
+                        cycles.add(component);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Order the Beans so every Bean comes after the Beans it depends on
+     * @return bean names in creation order
+     * @throws Exception if some Beans depend on each other circularly
+     */
+    public List<String> topologicalOrder() throws Exception {
+        if (knownOrder != null) {
+            return new ArrayList<>(knownOrder);
+        }
+        Map<String, Integer> pending = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            pending.put(entry.getKey(), entry.getValue().size());
+            if (entry.getValue().isEmpty()) {
+                ready.add(entry.getKey());
+            }
+        }
+        List<String> order = new ArrayList<>(dependencies.size());
+        while (!ready.isEmpty()) {
+            String beanName = ready.poll();
+            order.add(beanName);
+            for (String dependent : dependents.get(beanName)) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < dependencies.size()) {
+            Set<String> circular = new LinkedHashSet<>(dependencies.keySet());
+            circular.removeAll(order);
+            throw new Exception("Detect Circular dependency, these beans can't be ordered : " + circular);
+        }
+        return order;
+    }
+}
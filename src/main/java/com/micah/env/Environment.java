@@ -0,0 +1,211 @@
+package com.micah.env;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Layered property sources, searched from the first to the last, and the resolution of ${...}
+ * placeholders against them. Values may contain placeholders too. Every change of the sources
+ * increments the version, so values resolved before can be cached and compared with it.
+ * @author micah
+ * @create 2026-10-19 01:40
+ **/
+public class Environment {
+
+    public static final String SYSTEM_PROPERTIES = "systemProperties";
+
+    public static final String SYSTEM_ENVIRONMENT = "systemEnvironment";
+
+    //sources in search order, rarely changed and read on every lookup
+    private final List<PropertySource> sources = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    //ConcurrentHashMap to store <property key, compiled template of its value>, only keys whose value
+    //has placeholders, emptied by every change so it never outgrows the current sources
+    private final Map<String, ValueTemplate> valueTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Environment with the system properties before the environment variables
+     */
+    public Environment() {
+        this(MapPropertySource.systemProperties(), MapPropertySource.systemEnvironment());
+    }
+
+    /**
+     * Environment with the given sources in search order
+     * @param sources
+     */
+    public Environment(PropertySource... sources) {
+        for (PropertySource source : sources) {
+            addLast(source);
+        }
+    }
+
+    /**
+     * Add a source searched before all others, replacing the source of the same name
+     * @param source
+     */
+    public synchronized void addFirst(PropertySource source) {
+        sources.removeIf(existing -> existing.getName().equals(source.getName()));
+        sources.add(0, source);
+        changed();
+    }
+
+    /**
+     * Add a source searched after all others, replacing the source of the same name
+     * @param source
+     */
+    public synchronized void addLast(PropertySource source) {
+        sources.removeIf(existing -> existing.getName().equals(source.getName()));
+        sources.add(source);
+        changed();
+    }
+
+    /**
+     * Add a properties file searched after all other sources
+     * @param file UTF-8 properties file
+     */
+    public void addPropertiesFile(Path file) throws IOException {
+        addLast(MapPropertySource.fromFile(file));
+    }
+
+    /**
+     * Replace a source keeping its position, for example with a reloaded file
+     * @param source replacing the source of the same name
+     * @return false if there is no source of that name
+     */
+    public synchronized boolean replace(PropertySource source) {
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).getName().equals(source.getName())) {
+                sources.set(i, source);
+                changed();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove a source
+     * @param name source name
+     * @return false if there is no source of that name
+     */
+    public synchronized boolean remove(String name) {
+        boolean removed = sources.removeIf(source -> source.getName().equals(name));
+        if (removed) {
+            changed();
+        }
+        return removed;
+    }
+
+    public List<PropertySource> getPropertySources() {
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Mark the values resolved so far as outdated. Called by every change of the sources, and to
+     * be called after a source changed its values in place.
+     */
+    public void changed() {
+        valueTemplates.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return number of changes, compared by the caches of resolved values
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get a property of the first source having it, placeholders in the value resolved
+     * @param key property key
+     * @return value, null if no source has the key
+     * @throws Exception if a placeholder of the value can't be resolved
+     */
+    public String getProperty(String key) throws Exception {
+        return getProperty(key, new HashSet<>());
+    }
+
+    /**
+     * Get a property of the first source having it, placeholders in the value resolved
+     * @param key property key
+     * @param defaultValue returned if no source has the key
+     * @return value
+     */
+    public String getProperty(String key, String defaultValue) throws Exception {
+        String value = getProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    String getProperty(String key, Set<String> resolving) throws Exception {
+        String value = null;
+        for (PropertySource source : sources) {
+            value = source.getProperty(key);
+            if (value != null) {
+                break;
+            }
+        }
+        if (!PlaceholderTemplate.hasPlaceholder(value)) {
+            return value;
+        }
+        if (!resolving.add(key)) {
+            throw new Exception("circular placeholder reference ${" + key + "} through " + resolving);
+        }
+        try {
+            ValueTemplate template = valueTemplates.get(key);
+            if (template == null || !template.value.equals(value)) {
+                //a source changing its values in place without calling changed()
+                template = new ValueTemplate(value, PlaceholderTemplate.compile(value));
+                valueTemplates.put(key, template);
+            }
+            return template.template.render(this, resolving);
+        } finally {
+            resolving.remove(key);
+        }
+    }
+
+    /**
+     * Resolve the placeholders of a String, compiled on every call. Callers resolving the same
+     * String repeatedly keep its PlaceholderTemplate, like the compiled Bean args and properties.
+     * @param text
+     * @return text with the placeholders replaced
+     * @throws Exception if a placeholder can't be resolved
+     */
+    public String resolvePlaceholders(String text) throws Exception {
+        if (!PlaceholderTemplate.hasPlaceholder(text)) {
+            return text;
+        }
+        return PlaceholderTemplate.compile(text).render(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Environment" + sources;
+    }
+
+    /**
+     * Template compiled from the value of a property
+     */
+    private static final class ValueTemplate {
+
+        private final String value;
+
+        private final PlaceholderTemplate template;
+
+        ValueTemplate(String value, PlaceholderTemplate template) {
+            this.value = value;
+            this.template = template;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.micah.env;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * PropertySource backed by a map. The map isn't copied, so a source meant to be changed should be
+ * replaced in its Environment instead, which invalidates the resolved placeholders.
+ * @author micah
+ * @create 2026-10-19 01:40
+ **/
+public class MapPropertySource implements PropertySource {
+
+    private final String name;
+
+    private final Map<String, ?> properties;
+
+    public MapPropertySource(String name, Map<String, ?> properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    /**
+     * Snapshot of the system properties, values set later need a new snapshot
+     * @return source named systemProperties
+     */
+    public static MapPropertySource systemProperties() {
+        Map<String, String> snapshot = new HashMap<>();
+        Properties properties = System.getProperties();
+        for (String key : properties.stringPropertyNames()) {
+            snapshot.put(key, properties.getProperty(key));
+        }
+        return new MapPropertySource(Environment.SYSTEM_PROPERTIES, Collections.unmodifiableMap(snapshot));
+    }
+
+    /**
+     * The environment variables, which can't change while the JVM runs
+     * @return source named systemEnvironment
+     */
+    public static MapPropertySource systemEnvironment() {
+        return new MapPropertySource(Environment.SYSTEM_ENVIRONMENT, System.getenv());
+    }
+
+    /**
+     * Load a UTF-8 properties file
+     * @param file properties file
+     * @return source named by the file path
+     */
+    public static MapPropertySource fromFile(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        return new MapPropertySource(file.toString(), Collections.unmodifiableMap(values));
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        Object value = properties.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "MapPropertySource[" + name + "]";
+    }
+}
@@ -0,0 +1,166 @@
+package com.micah.env;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A String with ${key} or ${key:default} placeholders, parsed once into literal and placeholder
+ * parts so rendering it only looks up the keys. Defaults may contain placeholders themselves,
+ * text without a closing brace is kept literally.
+ * @author micah
+ * @create 2026-10-19 01:40
+ **/
+public final class PlaceholderTemplate {
+
+    private static final String PREFIX = "${";
+
+    private static final char SUFFIX = '}';
+
+    private static final char SEPARATOR = ':';
+
+    private final String text;
+
+    //String literals and Placeholders in order
+    private final Object[] parts;
+
+    private PlaceholderTemplate(String text, Object[] parts) {
+        this.text = text;
+        this.parts = parts;
+    }
+
+    /**
+     * check a String has a placeholder to compile, without compiling it
+     * @param text
+     * @return true or false
+     */
+    public static boolean hasPlaceholder(String text) {
+        return text != null && text.contains(PREFIX);
+    }
+
+    /**
+     * Parse a String into a template
+     * @param text
+     * @return template, without placeholder parts if the text has none
+     */
+    public static PlaceholderTemplate compile(String text) {
+        List<Object> parts = new ArrayList<>();
+        int start = 0;
+        int prefix;
+        while ((prefix = text.indexOf(PREFIX, start)) >= 0) {
+            int suffix = findSuffix(text, prefix + PREFIX.length());
+            if (suffix < 0) {
+                break;
+            }
+            if (prefix > start) {
+                parts.add(text.substring(start, prefix));
+            }
+            parts.add(placeholder(text.substring(prefix + PREFIX.length(), suffix)));
+            start = suffix + 1;
+        }
+        if (start < text.length()) {
+            parts.add(text.substring(start));
+        }
+        return new PlaceholderTemplate(text, parts.toArray());
+    }
+
+    /**
+     * index of the brace closing the placeholder, skipping nested placeholders
+     */
+    private static int findSuffix(String text, int from) {
+        int depth = 0;
+        for (int i = from; i < text.length(); i++) {
+            if (text.startsWith(PREFIX, i)) {
+                depth++;
+                i++;
+            } else if (text.charAt(i) == SUFFIX) {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    private static Placeholder placeholder(String content) {
+        //the key ends at the first separator outside of a nested placeholder
+        int depth = 0;
+        for (int i = 0; i < content.length(); i++) {
+            if (content.startsWith(PREFIX, i)) {
+                depth++;
+                i++;
+            } else if (content.charAt(i) == SUFFIX) {
+                depth--;
+            } else if (content.charAt(i) == SEPARATOR && depth == 0) {
+                return new Placeholder(content.substring(0, i).trim(), compile(content.substring(i + 1)));
+            }
+        }
+        return new Placeholder(content.trim(), null);
+    }
+
+    /**
+     * check the template has placeholders, a template without is its text
+     * @return true or false
+     */
+    public boolean hasPlaceholders() {
+        for (Object part : parts) {
+            if (part instanceof Placeholder) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the placeholders by the values of the Environment, their defaults if the keys are missing
+     * @param environment
+     * @return rendered String
+     * @throws Exception if a key without default is missing or the values refer to each other
+     */
+    public String render(Environment environment) throws Exception {
+        return render(environment, new HashSet<>());
+    }
+
+    String render(Environment environment, Set<String> resolving) throws Exception {
+        if (parts.length == 1 && parts[0] instanceof String) {
+            return (String) parts[0];
+        }
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        for (Object part : parts) {
+            if (part instanceof String) {
+                result.append((String) part);
+                continue;
+            }
+            Placeholder placeholder = (Placeholder) part;
+            String value = environment.getProperty(placeholder.key, resolving);
+            if (value == null) {
+                if (placeholder.defaultValue == null) {
+                    throw new Exception("can't resolve placeholder ${" + placeholder.key + "} in \"" + text + "\"");
+                }
+                value = placeholder.defaultValue.render(environment, resolving);
+            }
+            result.append(value);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static final class Placeholder {
+
+        private final String key;
+
+        //null if the key is required
+        private final PlaceholderTemplate defaultValue;
+
+        Placeholder(String key, PlaceholderTemplate defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
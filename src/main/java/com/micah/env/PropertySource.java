@@ -0,0 +1,21 @@
+package com.micah.env;
+
+/**
+ * Named source of String properties, one layer of an Environment
+ * @author micah
+ * @create 2026-10-19 01:40
+ **/
+public interface PropertySource {
+
+    /**
+     * @return name identifying the source in its Environment
+     */
+    String getName();
+
+    /**
+     * Get a property value
+     * @param key property key
+     * @return value, null if the source doesn't have the key
+     */
+    String getProperty(String key);
+}
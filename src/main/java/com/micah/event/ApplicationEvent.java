@@ -0,0 +1,30 @@
+package com.micah.event;
+
+import java.util.EventObject;
+
+/**
+ * Event published through the bean factory to the listeners of its type
+ * @author micah
+ * @create 2026-10-19 01:00
+ **/
+public abstract class ApplicationEvent extends EventObject {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long timestamp;
+
+    /**
+     * @param source object the event happened on, can't be null
+     */
+    public ApplicationEvent(Object source) {
+        super(source);
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * @return time in milliseconds the event was created
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
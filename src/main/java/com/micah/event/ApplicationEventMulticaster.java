@@ -0,0 +1,202 @@
+package com.micah.event;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatch events to the listeners of their type. Listeners are kept in a copy-on-write list, as
+ * they are rarely added and read on every event, and the listeners of each event class are
+ * resolved once and cached until the next listener is added or removed, so publishing doesn't
+ * look at every listener. Listeners are called on the publishing thread, and an exception of one
+ * is thrown to the publisher, unless a task executor is set: then each event is dispatched to its
+ * listeners in one task and their exceptions are logged.
+ * @author micah
+ * @create 2026-10-19 01:00
+ **/
+public class ApplicationEventMulticaster {
+
+    private static final Log log = LogFactory.getLog(ApplicationEventMulticaster.class);
+
+    private static final ApplicationListener<?>[] NO_LISTENERS = new ApplicationListener<?>[0];
+
+    //listeners in the order they were added
+    private final List<ListenerRegistration> registrations = new CopyOnWriteArrayList<>();
+
+    //ConcurrentHashMap to store <event class, listeners of it>, replaced as a whole when the listeners change
+    private volatile Map<Class<?>, ApplicationListener<?>[]> listenerCache = new ConcurrentHashMap<>();
+
+    //executor dispatching the events, null to dispatch on the publishing thread
+    private volatile Executor taskExecutor;
+
+    /**
+     * Add a listener of the event type declared by its class
+     * @param listener
+     */
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        addApplicationListener(resolveEventType(listener.getClass()), listener);
+    }
+
+    /**
+     * Add a listener of an event type, needed for lambdas whose event type can't be resolved
+     * @param eventType class of the events, subclasses included
+     * @param listener
+     */
+    public void addApplicationListener(Class<? extends ApplicationEvent> eventType, ApplicationListener<?> listener) {
+        registrations.add(new ListenerRegistration(eventType, listener));
+        //a lookup running on the old cache may still store into it, but never into the new one
+        listenerCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Remove all registrations of a listener
+     * @param listener
+     * @return true if it was registered
+     */
+    public boolean removeApplicationListener(ApplicationListener<?> listener) {
+        boolean removed = registrations.removeIf(registration -> registration.listener == listener);
+        if (removed) {
+            listenerCache = new ConcurrentHashMap<>();
+        }
+        return removed;
+    }
+
+    /**
+     * Get the listeners of an event class, in the order they were added
+     * @param eventClass class of the event
+     * @return listeners
+     */
+    public List<ApplicationListener<?>> getApplicationListeners(Class<? extends ApplicationEvent> eventClass) {
+        List<ApplicationListener<?>> listeners = new ArrayList<>();
+        for (ApplicationListener<?> listener : retrieveListeners(eventClass)) {
+            listeners.add(listener);
+        }
+        return listeners;
+    }
+
+    /**
+     * Set the executor dispatching the events, for example a boundedExecutor
+     * @param taskExecutor executor, null to dispatch on the publishing thread
+     */
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    public Executor getTaskExecutor() {
+        return this.taskExecutor;
+    }
+
+    /**
+     * Dispatch an event to its listeners
+     * @param event
+     */
+    public void multicastEvent(ApplicationEvent event) {
+        ApplicationListener<?>[] listeners = retrieveListeners(event.getClass());
+        if (listeners.length == 0) {
+            return;
+        }
+        Executor executor = this.taskExecutor;
+        if (executor == null) {
+            for (ApplicationListener<?> listener : listeners) {
+                invokeListener(listener, event);
+            }
+            return;
+        }
+        executor.execute(() -> {
+            for (ApplicationListener<?> listener : listeners) {
+                try {
+                    invokeListener(listener, event);
+                } catch (RuntimeException e) {
+                    log.error("listener " + listener + " failed on " + event, e);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void invokeListener(ApplicationListener listener, ApplicationEvent event) {
+        listener.onApplicationEvent(event);
+    }
+
+    private ApplicationListener<?>[] retrieveListeners(Class<?> eventClass) {
+        Map<Class<?>, ApplicationListener<?>[]> cache = this.listenerCache;
+        ApplicationListener<?>[] listeners = cache.get(eventClass);
+        if (listeners == null) {
+            List<ApplicationListener<?>> matching = new ArrayList<>();
+            for (ListenerRegistration registration : registrations) {
+                if (registration.eventType.isAssignableFrom(eventClass)) {
+                    matching.add(registration.listener);
+                }
+            }
+            listeners = matching.isEmpty() ? NO_LISTENERS : matching.toArray(NO_LISTENERS);
+            cache.put(eventClass, listeners);
+        }
+        return listeners;
+    }
+
+    /**
+     * Resolve the event type a listener class declares with the type argument of ApplicationListener
+     * @param listenerClass class implementing ApplicationListener
+     * @return event type, ApplicationEvent if the type argument isn't a class
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends ApplicationEvent> resolveEventType(Class<?> listenerClass) {
+        for (Class<?> c = listenerClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Type type : c.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType
+                        && ((ParameterizedType) type).getRawType() == ApplicationListener.class) {
+                    Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+                    if (argument instanceof Class) {
+                        return (Class<? extends ApplicationEvent>) argument;
+                    }
+                    if (argument instanceof ParameterizedType) {
+                        return (Class<? extends ApplicationEvent>) ((ParameterizedType) argument).getRawType();
+                    }
+                }
+            }
+        }
+        return ApplicationEvent.class;
+    }
+
+    /**
+     * Create an executor for high event rates: a fixed number of daemon threads and a bounded
+     * queue. When the queue is full the publisher dispatches the event itself, which slows
+     * publishing down instead of dropping events or queueing without limit.
+     * @param threads number of threads
+     * @param queueCapacity number of events waiting for a thread
+     * @return executor, shut down by its owner
+     */
+    public static ThreadPoolExecutor boundedExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, "event-multicaster-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static final class ListenerRegistration {
+
+        private final Class<? extends ApplicationEvent> eventType;
+
+        private final ApplicationListener<?> listener;
+
+        ListenerRegistration(Class<? extends ApplicationEvent> eventType, ApplicationListener<?> listener) {
+            this.eventType = eventType;
+            this.listener = listener;
+        }
+    }
+}
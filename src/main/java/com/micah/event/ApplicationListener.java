@@ -0,0 +1,19 @@
+package com.micah.event;
+
+import java.util.EventListener;
+
+/**
+ * Listener of the events of type E and its subclasses. Beans implementing it are detected from
+ * their definitions and registered with the bean factory.
+ * @author micah
+ * @create 2026-10-19 01:00
+ **/
+@FunctionalInterface
+public interface ApplicationListener<E extends ApplicationEvent> extends EventListener {
+
+    /**
+     * Handle an event, on the publishing thread unless the multicaster has an executor
+     * @param event published event
+     */
+    void onApplicationEvent(E event);
+}
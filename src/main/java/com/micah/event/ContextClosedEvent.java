@@ -0,0 +1,15 @@
+package com.micah.event;
+
+/**
+ * Published when the bean factory shuts down, before any singleton is destroyed
+ * @author micah
+ * @create 2026-10-19 01:00
+ **/
+public class ContextClosedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContextClosedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,15 @@
+package com.micah.event;
+
+/**
+ * Published when refresh() has created all singletons
+ * @author micah
+ * @create 2026-10-19 01:00
+ **/
+public class ContextRefreshedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContextRefreshedEvent(Object source) {
+        super(source);
+    }
+}
@@ -1,5 +1,7 @@
 package com.micah.factory;
 
+import java.util.Map;
+
 /**
  * Bean factory interface
  * @author micah
@@ -14,4 +16,26 @@ public interface BeanFactory {
      */
     Object getBean(String beanName) throws Exception;;
 
+    /**
+     * Get the only Bean of a type
+     * @param type class or interface of the Bean
+     * @return Bean
+     * @throws Exception if no Bean or more than one Bean has the type
+     */
+    <T> T getBean(Class<T> type) throws Exception;
+
+    /**
+     * Get all Beans of a type
+     * @param type class or interface of the Beans
+     * @return Beans by bean name
+     */
+    <T> Map<String, T> getBeansOfType(Class<T> type) throws Exception;
+
+    /**
+     * Get the names of all Beans of a type
+     * @param type class or interface of the Beans
+     * @return bean names
+     */
+    String[] getBeanNamesForType(Class<?> type);
+
 }
@@ -0,0 +1,93 @@
+package com.micah.factory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of closing a Bean factory: the destroy methods which failed, which ran longer than
+ * the per-bean timeout, and the Beans left undestroyed when the overall deadline passed
+ * @author micah
+ * @create 2026-10-18 18:40
+ **/
+public class ShutdownReport {
+
+    private final Map<String, Throwable> failedBeans = new LinkedHashMap<>();
+
+    private final Set<String> slowBeans = new LinkedHashSet<>();
+
+    private final Set<String> undestroyedBeans = new LinkedHashSet<>();
+
+    private int destroyedCount;
+
+    private long elapsedMillis;
+
+    public synchronized void destroyed(String beanName) {
+        destroyedCount++;
+    }
+
+    public synchronized void failed(String beanName, Throwable cause) {
+        failedBeans.put(beanName, cause);
+    }
+
+    public synchronized void slow(String beanName) {
+        slowBeans.add(beanName);
+    }
+
+    public synchronized void undestroyed(String beanName) {
+        undestroyedBeans.add(beanName);
+    }
+
+    public synchronized void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Get the Beans whose destroy method threw
+     * @return causes by bean name
+     */
+    public synchronized Map<String, Throwable> getFailedBeans() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failedBeans));
+    }
+
+    /**
+     * Get the Beans whose destroy method didn't finish within the per-bean timeout, the Beans
+     * they depend on were destroyed without waiting any longer
+     * @return bean names
+     */
+    public synchronized Set<String> getSlowBeans() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(slowBeans));
+    }
+
+    /**
+     * Get the Beans which weren't destroyed before the overall deadline
+     * @return bean names
+     */
+    public synchronized Set<String> getUndestroyedBeans() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(undestroyedBeans));
+    }
+
+    public synchronized int getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    public synchronized long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * check every destroy method finished in time without exception
+     * @return true or false
+     */
+    public synchronized boolean isClean() {
+        return failedBeans.isEmpty() && slowBeans.isEmpty() && undestroyedBeans.isEmpty();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "destroyed " + destroyedCount + " beans in " + elapsedMillis + "ms, failed: " + failedBeans.keySet()
+                + ", slow: " + slowBeans + ", not destroyed before deadline: " + undestroyedBeans;
+    }
+}
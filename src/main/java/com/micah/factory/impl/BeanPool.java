@@ -0,0 +1,235 @@
+package com.micah.factory.impl;
+
+import com.micah.beanreference.BeanProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of the instances of one pooled Bean. Idle instances are kept in lock-free stripes,
+ * a thread checks out from and returns to the stripe picked by its id first and steals from the
+ * other stripes only when its own is empty, so threads on different cores rarely touch the same
+ * deque. Instances idle longer than the idle timeout are destroyed down to the minimum idle count.
+ * Checked out instances are leased by identity, only an instance checked out from this pool and
+ * not returned yet can be given back.
+ * @author micah
+ * @create 2026-10-18 17:10
+ **/
+final class BeanPool {
+
+    private final String beanName;
+
+    private final int minIdle;
+
+    private final int maxSize;
+
+    private final long maxIdleNanos;
+
+    private final BeanProvider<Object> creator;
+
+    private final Consumer<Object> destroyer;
+
+    private final ConcurrentLinkedDeque<IdleInstance>[] stripes;
+
+    private final int mask;
+
+    //instances created and not destroyed yet, idle or checked out
+    private final AtomicInteger size = new AtomicInteger();
+
+    //ConcurrentHashMap to store the leases of the checked out instances
+    private final ConcurrentHashMap<Lease, Boolean> leases = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextEviction;
+
+    @SuppressWarnings("unchecked")
+    BeanPool(String beanName, int minIdle, int maxSize, long maxIdleMillis,
+             BeanProvider<Object> creator, Consumer<Object> destroyer) {
+        this.beanName = beanName;
+        this.maxSize = Math.max(1, maxSize);
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxSize));
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+        this.creator = creator;
+        this.destroyer = destroyer;
+        int count = 1;
+        while (count < Runtime.getRuntime().availableProcessors()) {
+            count <<= 1;
+        }
+        this.stripes = (ConcurrentLinkedDeque<IdleInstance>[]) new ConcurrentLinkedDeque<?>[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.mask = count - 1;
+        this.nextEviction = new AtomicLong(System.nanoTime() + maxIdleNanos);
+    }
+
+    /**
+     * Create instances until the minimum idle count is reached
+     */
+    void fill() throws Exception {
+        int idle = idleCount();
+        while (idle < minIdle && reserve()) {
+            stripes[idle & mask].offerFirst(new IdleInstance(create(), System.nanoTime()));
+            idle++;
+        }
+    }
+
+    /**
+     * Take an idle instance, or create one while the pool is below its maximum size
+     * @return instance
+     * @throws Exception if all instances are checked out or creating one failed
+     */
+    Object checkout() throws Exception {
+        evictIfDue(System.nanoTime());
+        int home = stripe();
+        for (int i = 0; i <= mask; i++) {
+            IdleInstance idle = stripes[(home + i) & mask].pollFirst();
+            if (idle != null) {
+                return lease(idle.instance);
+            }
+        }
+        if (reserve()) {
+            return lease(create());
+        }
+        throw new Exception("pool of bean [" + beanName + "] exhausted, all " + maxSize + " instances are checked out");
+    }
+
+    /**
+     * End the lease of a checked out instance, it must then be released or discarded
+     * @param instance
+     * @throws Exception if the instance wasn't checked out from this pool or is already returned
+     */
+    void checkin(Object instance) throws Exception {
+        if (instance == null || leases.remove(new Lease(instance)) == null) {
+            throw new Exception("instance isn't checked out from the pool of bean [" + beanName + "], unknown or already returned");
+        }
+    }
+
+    /**
+     * Give a checked in and reset instance back, most recently returned instances are checked out first
+     * @param instance
+     */
+    void release(Object instance) {
+        long now = System.nanoTime();
+        stripes[stripe()].offerFirst(new IdleInstance(instance, now));
+        evictIfDue(now);
+    }
+
+    /**
+     * Drop an instance which can't be reused
+     * @param instance
+     */
+    void discard(Object instance) {
+        size.decrementAndGet();
+        destroyer.accept(instance);
+    }
+
+    /**
+     * Destroy all idle instances, checked out instances are left to their users
+     */
+    void clear() {
+        for (ConcurrentLinkedDeque<IdleInstance> stripe : stripes) {
+            IdleInstance idle;
+            while ((idle = stripe.pollLast()) != null) {
+                discard(idle.instance);
+            }
+        }
+    }
+
+    int idleCount() {
+        int count = 0;
+        for (ConcurrentLinkedDeque<IdleInstance> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private Object lease(Object instance) {
+        leases.put(new Lease(instance), Boolean.TRUE);
+        return instance;
+    }
+
+    private void evictIfDue(long now) {
+        long next = nextEviction.get();
+        if (now - next >= 0 && nextEviction.compareAndSet(next, now + maxIdleNanos)) {
+            evictIdle(now);
+        }
+    }
+
+    private void evictIdle(long now) {
+        int idle = idleCount();
+        for (ConcurrentLinkedDeque<IdleInstance> stripe : stripes) {
+            //the oldest instances are at the tail of each stripe
+            IdleInstance oldest;
+            while (idle > minIdle && (oldest = stripe.peekLast()) != null && now - oldest.since >= maxIdleNanos) {
+                if (stripe.removeLastOccurrence(oldest)) {
+                    discard(oldest.instance);
+                    idle--;
+                }
+            }
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private Object create() throws Exception {
+        try {
+            return creator.getObject();
+        } catch (Exception | Error e) {
+            size.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private int stripe() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+
+    private static final class IdleInstance {
+
+        private final Object instance;
+
+        private final long since;
+
+        IdleInstance(Object instance, long since) {
+            this.instance = instance;
+            this.since = since;
+        }
+    }
+
+    //identity key, a Bean may override equals and hashCode
+    private static final class Lease {
+
+        private final Object instance;
+
+        Lease(Object instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Lease && ((Lease) o).instance == instance;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(instance);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.micah.factory.impl;
+
+import com.micah.beandefinition.BeanDefinition;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index from every superclass and interface to the names of the Beans of that type. The type of a
+ * Bean is predicted from its definition when it's registered: the bean class, or the return type
+ * of its static or instance factory method. Beans created by a factory Bean which isn't registered
+ * yet are indexed as soon as the factory Bean is.
+ * @author micah
+ * @create 2026-10-18 15:00
+ **/
+final class BeanTypeIndex {
+
+    //ConcurrentHashMap to store <type, names of the Beans assignable to it>
+    private final Map<Class<?>, Set<String>> namesByType = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <beanName, predicted type>
+    private final Map<String, Class<?>> typeByName = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <factory bean name, names of the Beans waiting for its type>
+    private final Map<String, Set<String>> waitingForFactory = new ConcurrentHashMap<>();
+
+    private final Map<String, BeanDefinition> definitions;
+
+    BeanTypeIndex(Map<String, BeanDefinition> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Index a newly registered or replaced definition, and the Beans its factory creates
+     * @param beanName
+     * @param bd bean definition
+     */
+    synchronized void register(String beanName, BeanDefinition bd) {
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(beanName);
+        if (remove(beanName)) {
+            //a replaced factory Bean may change the types of the Beans it creates
+            for (Map.Entry<String, BeanDefinition> entry : definitions.entrySet()) {
+                if (beanName.equals(entry.getValue().getFactoryBeanName()) && remove(entry.getKey())) {
+                    pending.add(entry.getKey());
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            BeanDefinition definition = definitions.get(name);
+            if (definition == null || typeByName.containsKey(name)) {
+                continue;
+            }
+            Class<?> type = predictType(name, definition);
+            if (type == null) {
+                continue;
+            }
+            typeByName.put(name, type);
+            for (Class<?> superType : superTypes(type)) {
+                namesByType.computeIfAbsent(superType, k -> ConcurrentHashMap.newKeySet()).add(name);
+            }
+            Set<String> waiting = waitingForFactory.remove(name);
+            if (waiting != null) {
+                pending.addAll(waiting);
+            }
+        }
+    }
+
+    /**
+     * Get the names of the Beans assignable to a type
+     * @param type
+     * @return bean names, a live read-only view
+     */
+    Set<String> getBeanNames(Class<?> type) {
+        if (type == Object.class) {
+            return Collections.unmodifiableSet(definitions.keySet());
+        }
+        Set<String> names = namesByType.get(type);
+        return names == null ? Collections.emptySet() : Collections.unmodifiableSet(names);
+    }
+
+    private boolean remove(String beanName) {
+        for (Set<String> waiting : waitingForFactory.values()) {
+            waiting.remove(beanName);
+        }
+        Class<?> type = typeByName.remove(beanName);
+        if (type != null) {
+            for (Class<?> superType : superTypes(type)) {
+                Set<String> names = namesByType.get(superType);
+                if (names != null) {
+                    names.remove(beanName);
+                }
+            }
+        }
+        return type != null;
+    }
+
+    private Class<?> predictType(String beanName, BeanDefinition bd) {
+        Class<?> beanClass = bd.getBeanClass();
+        if (beanClass != null) {
+            if (StringUtils.isBlank(bd.getStaticCreateBeanMethodName())) {
+                return beanClass;
+            }
+            return factoryMethodType(beanClass, bd.getStaticCreateBeanMethodName(), true);
+        }
+        Class<?> factoryType = typeByName.get(bd.getFactoryBeanName());
+        if (factoryType == null) {
+            waitingForFactory.computeIfAbsent(bd.getFactoryBeanName(), k -> ConcurrentHashMap.newKeySet()).add(beanName);
+            return null;
+        }
+        return factoryMethodType(factoryType, bd.getCreateBeanMethodName(), false);
+    }
+
+    /**
+     * the common return type of the public factory methods with this name, null if they differ
+     */
+    private static Class<?> factoryMethodType(Class<?> type, String methodName, boolean isStatic) {
+        Class<?> returnType = null;
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(methodName) && Modifier.isStatic(method.getModifiers()) == isStatic) {
+                if (returnType != null && returnType != method.getReturnType()) {
+                    return null;
+                }
+                returnType = method.getReturnType();
+            }
+        }
+        return returnType == null || returnType.isPrimitive() ? null : returnType;
+    }
+
+    private static Set<Class<?>> superTypes(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current == Object.class || !types.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            Collections.addAll(pending, current.getInterfaces());
+        }
+        return types;
+    }
+}
@@ -1,9 +1,46 @@
 package com.micah.factory.impl;
 
+import com.micah.aop.Advisor;
+import com.micah.aop.AopProxies;
+import com.micah.aop.AopProxyCreator;
+import com.micah.aop.MethodInterceptor;
+import com.micah.aop.Pointcut;
+import com.micah.aot.BeanRegistrar;
 import com.micah.beandefinition.BeanDefinition;
 import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beandefinition.BeanDefinitionValidationException;
 import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import com.micah.convert.ConversionService;
+import com.micah.dependency.DependencyGraph;
+import com.micah.env.Environment;
+import com.micah.env.PlaceholderTemplate;
+import com.micah.event.ApplicationEvent;
+import com.micah.event.ApplicationEventMulticaster;
+import com.micah.event.ApplicationListener;
+import com.micah.event.ContextClosedEvent;
+import com.micah.event.ContextRefreshedEvent;
 import com.micah.factory.BeanFactory;
+import com.micah.factory.ShutdownReport;
+import com.micah.injection.InjectionMetadata;
+import com.micah.injection.InjectionPlan;
+import com.micah.injection.ValueResolver;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.ExecutableResolver;
+import com.micah.instantiation.InstantiationStrategy;
+import com.micah.jfr.BeanEvents;
+import com.micah.instantiation.MethodHandleInstantiationStrategy;
+import com.micah.instantiation.MethodInvoker;
+import com.micah.processor.BeanPostProcessor;
+import com.micah.processor.BeanPostProcessorChain;
+import com.micah.reader.PropertiesBeanDefinitionReader;
+import com.micah.reader.XmlBeanDefinitionReader;
+import com.micah.scan.ClassPathComponentScanner;
+import com.micah.scope.Scope;
+import com.micah.scope.ThreadScope;
+import com.micah.snapshot.StartupSnapshot;
+import com.micah.startup.BeanCreationStep;
+import com.micah.startup.StartupRecorder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -11,11 +48,22 @@ import org.apache.commons.logging.LogFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Bean factory implementation
@@ -32,9 +80,316 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
     //ConcurrentHashMap to store <beanName, Instance>
     private Map<String, Object> beanMap = new ConcurrentHashMap<>();
 
+    //index from superclasses and interfaces to bean names
+    private BeanTypeIndex typeIndex = new BeanTypeIndex(bdMap);
+
     //used to avoid Circular dependency
     private ThreadLocal<Set<String>> initialedBeans = new ThreadLocal<>();
 
+    //graph of the definitions checked by validate(), null after any registration
+    private volatile DependencyGraph validatedGraph;
+
+    //ConcurrentHashMap to store <beanName, singleton creation in flight>
+    private Map<String, SingletonCreation> singletonsInCreation = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <thread, singleton creation it waits for>
+    private Map<Thread, SingletonCreation> waitingCreations = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <beanName, compiled property injection>
+    private Map<String, InjectionPlan> injectionPlans = new ConcurrentHashMap<>();
+
+    //resolves the ${...} placeholders of String args and property values
+    private volatile Environment environment = new Environment();
+
+    //ConcurrentHashMap to store <beanName, compiled placeholders and lazy references of the constructor args>
+    private Map<String, CompiledArgs> compiledArgs = new ConcurrentHashMap<>();
+
+    //converts the args and property values to the parameter and property types
+    private volatile ConversionService conversionService = new ConversionService();
+
+    //chooses the constructors and factory methods, memoized per class and arg types
+    private volatile ExecutableResolver executableResolver = new ExecutableResolver(conversionService);
+
+    //strategy calling constructors, factory methods, init and destroy methods
+    private volatile InstantiationStrategy instantiationStrategy = new MethodHandleInstantiationStrategy();
+
+    //ConcurrentHashMap to store <bean class, <method name, bound init or destroy method>>
+    private Map<Class<?>, Map<String, MethodInvoker>> lifecycleInvokers = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <bean class, scanned @Autowired members>
+    private Map<Class<?>, InjectionMetadata> injectionMetadata = new ConcurrentHashMap<>();
+
+    //processors in the order they were added, rarely changed and read on every creation
+    private List<BeanPostProcessor> postProcessors = new CopyOnWriteArrayList<>();
+
+    //ConcurrentHashMap to store <beanName, processors applying to its Beans>
+    private Map<String, BeanPostProcessorChain> postProcessorChains = new ConcurrentHashMap<>();
+
+    //proxies the advised Beans, added with the first advisor
+    private AopProxyCreator aopProxyCreator;
+
+    //dispatches the published events to the listeners
+    private ApplicationEventMulticaster eventMulticaster = new ApplicationEventMulticaster();
+
+    //ConcurrentHashMap to store <beanName, listener Bean added to the multicaster>
+    private Map<String, ApplicationListener<?>> listenerBeans = new ConcurrentHashMap<>();
+
+    //false after any registration, until the listener Beans are detected again
+    private volatile boolean listenerBeansDetected;
+
+    //ConcurrentHashMap to store <beanName, pool of the pooled Bean>
+    private Map<String, BeanPool> pools = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <scope name, Scope> of the scopes besides singleton, prototype and pooled
+    private Map<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    //dependencies resolved by getBeanAsync for the Bean created on this thread, each handed out once
+    private ThreadLocal<Map<String, Object>> asyncDependencies = new ThreadLocal<>();
+
+    //executor creating Beans for getBeanAsync
+    private volatile Executor asyncExecutor = ForkJoinPool.commonPool();
+
+    //how long close() waits for one destroy method before going on with the Beans it depends on
+    private volatile long destroyTimeoutMillis = 10000L;
+
+    //how long close() waits for all destroy methods
+    private volatile long shutdownTimeoutMillis = 60000L;
+
+    //records the Bean creations when set, null by default
+    private volatile StartupRecorder startupRecorder;
+
+    public DefaultBeanFactory() {
+        scopes.put(BeanDefinition.SCOPE_THREAD, new ThreadScope());
+    }
+
+    /**
+     * Register a custom scope, Beans whose definition uses the scope name are got through it
+     * @param scopeName scope name, can't be singleton, prototype or pooled
+     * @param scope
+     */
+    public void registerScope(String scopeName, Scope scope) {
+        if (StringUtils.isBlank(scopeName) || scope == null) {
+            log.error("scope name can't be blank and Scope can't be null : " + scopeName);
+            return;
+        }
+        if (BeanDefinition.SCOPE_SINGLETON.equals(scopeName) || BeanDefinition.SCOPE_PROTOTYPE.equals(scopeName)
+                || BeanDefinition.SCOPE_POOLED.equals(scopeName)) {
+            log.error("built-in scope [" + scopeName + "] can't be replaced");
+            return;
+        }
+        scopes.put(scopeName, scope);
+    }
+
+    public Scope getRegisteredScope(String scopeName) {
+        return scopes.get(scopeName);
+    }
+
+    /**
+     * Set the strategy used to call constructors, factory methods, init and destroy methods
+     * @param instantiationStrategy strategy, MethodHandleInstantiationStrategy by default
+     */
+    public void setInstantiationStrategy(InstantiationStrategy instantiationStrategy) {
+        if (instantiationStrategy == null) {
+            log.error("InstantiationStrategy can't be null");
+            return;
+        }
+        this.instantiationStrategy = instantiationStrategy;
+        this.lifecycleInvokers.clear();
+        this.injectionMetadata.clear();
+        //bound by the previous strategy
+        for (BeanDefinition bd : bdMap.values()) {
+            bd.setConstructorInstantiator(null);
+            bd.setFactoryMethodInvoker(null);
+        }
+    }
+
+    public InstantiationStrategy getInstantiationStrategy() {
+        return this.instantiationStrategy;
+    }
+
+    /**
+     * Set the executor creating Beans for getBeanAsync
+     * @param asyncExecutor executor, the common fork-join pool by default
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        if (asyncExecutor == null) {
+            log.error("async Executor can't be null");
+            return;
+        }
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    /**
+     * Set the Environment resolving the placeholders, the values compiled against the previous
+     * one are dropped. Changes of the Environment's sources are picked up without calling this.
+     * @param environment environment, system properties and environment variables by default
+     */
+    public void setEnvironment(Environment environment) {
+        if (environment == null) {
+            log.error("Environment can't be null");
+            return;
+        }
+        this.environment = environment;
+        injectionPlans.clear();
+        compiledArgs.clear();
+    }
+
+    public Environment getEnvironment() {
+        return this.environment;
+    }
+
+    /**
+     * Set the service converting the injected values, the property injections compiled with the
+     * previous one are dropped
+     * @param conversionService service, with the default converters by default
+     */
+    public void setConversionService(ConversionService conversionService) {
+        if (conversionService == null) {
+            log.error("ConversionService can't be null");
+            return;
+        }
+        this.conversionService = conversionService;
+        this.executableResolver = new ExecutableResolver(conversionService);
+        injectionPlans.clear();
+    }
+
+    public ConversionService getConversionService() {
+        return this.conversionService;
+    }
+
+    /**
+     * Add a processor hooking into the creation of the Beans of its target types from now on.
+     * Processors registered as Beans are added by refresh().
+     * @param processor
+     */
+    public void addBeanPostProcessor(BeanPostProcessor processor) {
+        if (processor == null) {
+            log.error("BeanPostProcessor can't be null");
+            return;
+        }
+        postProcessors.add(processor);
+        postProcessorChains.clear();
+    }
+
+    public List<BeanPostProcessor> getBeanPostProcessors() {
+        return Collections.unmodifiableList(postProcessors);
+    }
+
+    /**
+     * Advise the interface methods matched by the pointcut. The Beans created from now on with
+     * an advised method are handed out as JDK dynamic proxies of all their interfaces, so they
+     * must be looked up by interface, not by class.
+     * @param pointcut selects the Beans and methods
+     * @param interceptor advice around the calls
+     */
+    public synchronized void addAdvisor(Pointcut pointcut, MethodInterceptor interceptor) {
+        if (aopProxyCreator == null) {
+            aopProxyCreator = new AopProxyCreator();
+            addBeanPostProcessor(aopProxyCreator);
+        }
+        aopProxyCreator.addAdvisor(new Advisor(pointcut, interceptor));
+        //the target types of the proxy creator changed
+        postProcessorChains.clear();
+    }
+
+    /**
+     * Add a listener of the event type declared by its class.
+     * Singleton Beans implementing ApplicationListener are added when the first event is published.
+     * @param listener
+     */
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        if (listener == null) {
+            log.error("ApplicationListener can't be null");
+            return;
+        }
+        eventMulticaster.addApplicationListener(listener);
+    }
+
+    /**
+     * Get the multicaster of the events, to set an executor dispatching them asynchronously
+     * @return multicaster
+     */
+    public ApplicationEventMulticaster getEventMulticaster() {
+        return this.eventMulticaster;
+    }
+
+    /**
+     * Publish an event to the listeners of its type, detecting the listener Beans registered since
+     * the last event first
+     * @param event
+     */
+    public void publishEvent(ApplicationEvent event) throws Exception {
+        if (event == null) {
+            log.error("ApplicationEvent can't be null");
+            return;
+        }
+        if (!listenerBeansDetected) {
+            detectListenerBeans();
+        }
+        eventMulticaster.multicastEvent(event);
+    }
+
+    /**
+     * add the singleton Beans implementing ApplicationListener which aren't added yet
+     * @throws Exception
+     */
+    private void detectListenerBeans() throws Exception {
+        synchronized (listenerBeans) {
+            if (listenerBeansDetected) {
+                return;
+            }
+            //set first, a registration while detecting has to detect again
+            listenerBeansDetected = true;
+            for (String beanName : typeIndex.getBeanNames(ApplicationListener.class)) {
+                BeanDefinition bd = bdMap.get(beanName);
+                if (listenerBeans.containsKey(beanName) || bd == null) {
+                    continue;
+                }
+                if (!bd.isSingleton()) {
+                    log.info("listener bean [" + beanName + "] isn't a singleton and isn't added");
+                    continue;
+                }
+                ApplicationListener<?> listener = (ApplicationListener<?>) doGetBean(beanName);
+                //the class of an AOP proxy doesn't declare the event type
+                eventMulticaster.addApplicationListener(ApplicationEventMulticaster.resolveEventType(
+                        AopProxies.getTarget(listener).getClass()), listener);
+                listenerBeans.put(beanName, listener);
+            }
+        }
+    }
+
+    /**
+     * Record the timing of the Bean creations from now on, null to stop recording
+     * @param startupRecorder recorder
+     */
+    public void setStartupRecorder(StartupRecorder startupRecorder) {
+        this.startupRecorder = startupRecorder;
+    }
+
+    public StartupRecorder getStartupRecorder() {
+        return this.startupRecorder;
+    }
+
+    public void setDestroyTimeoutMillis(long destroyTimeoutMillis) {
+        this.destroyTimeoutMillis = destroyTimeoutMillis;
+    }
+
+    public long getDestroyTimeoutMillis() {
+        return this.destroyTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return this.shutdownTimeoutMillis;
+    }
+
     @Override
     public void registerBeanDefinition(BeanDefinition beanDefinition, String beanName) {
 
@@ -55,7 +410,27 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
             return;
         }
 
-        bdMap.put(beanName, beanDefinition);
+        BeanDefinition replacedDefinition = bdMap.put(beanName, beanDefinition);
+        typeIndex.register(beanName, beanDefinition);
+        validatedGraph = null;
+        //compiled plans may hold resolved references to the replaced definition
+        injectionPlans.clear();
+        compiledArgs.remove(beanName);
+        postProcessorChains.remove(beanName);
+        ApplicationListener<?> replacedListener = listenerBeans.remove(beanName);
+        if (replacedListener != null) {
+            eventMulticaster.removeApplicationListener(replacedListener);
+        }
+        listenerBeansDetected = false;
+        BeanPool replaced = pools.remove(beanName);
+        if (replaced != null) {
+            replaced.clear();
+        }
+        //e.g. the slot of a thread scoped Bean
+        Scope replacedScope = replacedDefinition == null ? null : scopes.get(replacedDefinition.getScope());
+        if (replacedScope != null) {
+            replacedScope.removeBeanDefinition(beanName, replacedDefinition);
+        }
     }
 
     @Override
@@ -78,61 +453,303 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
      * @return get the bean by using constructor, static factory method or factory bean
      */
     public Object doGetBean(String beanName) throws Exception {
-        if (!beanMap.containsKey(beanName)) {
-            log.info("[" + beanName + "] doesn't exists");
+        Object instance = beanMap.get(beanName);
+
+        if (instance != null) {
+            return instance;
         }
 
-        // record the Bean being created
-        Set<String> beans = this.initialedBeans.get();
-        if (beans == null) {
-            beans = new HashSet<>();
-            this.initialedBeans.set(beans);
+        //already got by getBeanAsync, don't create it again
+        Map<String, Object> resolved = asyncDependencies.get();
+        if (resolved != null && resolved.containsKey(beanName)) {
+            return resolved.remove(beanName);
         }
 
-        // detect circular dependency
-        if (beans.contains(beanName)) {
-            throw new Exception("Detect " + beanName + " has Circular dependency : " + beans);
+        //check bean definition exists or not
+        if (!this.bdMap.containsKey(beanName)) {
+            log.info("doesn't exist ：[" + beanName + "] beandefinition, will create");
         }
 
-        beans.add(beanName);
+        BeanDefinition bd = this.bdMap.get(beanName);
 
-        Object instance = beanMap.get(beanName);
+        if (bd != null && bd.isSingleton()) {
+            return getSingleton(beanName, bd);
+        }
+        //nothing would give an instance got or injected here back, each use would hold it forever
+        if (bd != null && bd.isPooled()) {
+            throw new Exception("[" + beanName + "] is a pooled bean, check it out with checkoutBean and give it back with returnBean");
+        }
+        if (bd != null && !bd.isPrototype()) {
+            Scope scope = scopes.get(bd.getScope());
+            if (scope == null) {
+                throw new Exception("doesn't exist scope [" + bd.getScope() + "] of bean [" + beanName + "]");
+            }
+            return scope.get(beanName, bd, () -> createBean(beanName, bd));
+        }
+        return createBean(beanName, bd);
+    }
+
+    /**
+     * Check out an instance of a pooled Bean, it must be given back by returnBean after use
+     * @param beanName
+     * @return idle or newly created instance
+     * @throws Exception if the Bean isn't pooled or all its instances are checked out
+     */
+    public Object checkoutBean(String beanName) throws Exception {
+        BeanDefinition bd = this.bdMap.get(beanName);
+        if (bd == null || !bd.isPooled()) {
+            throw new Exception("[" + beanName + "] isn't a pooled bean");
+        }
+        return getPool(beanName, bd).checkout();
+    }
+
+    /**
+     * Give a checked out instance back to its pool. The reset method runs first, an instance
+     * whose reset fails is destroyed instead of reused.
+     * @param beanName
+     * @param instance checked out by checkoutBean
+     * @throws Exception if the instance wasn't checked out from the pool or is already returned
+     */
+    public void returnBean(String beanName, Object instance) throws Exception {
+        BeanPool pool = pools.get(beanName);
+        if (pool == null) {
+            throw new Exception("[" + beanName + "] has no pool to return to");
+        }
+        pool.checkin(instance);
+        BeanDefinition bd = this.bdMap.get(beanName);
+        if (StringUtils.isNotBlank(bd.getBeanResetMethodName())) {
+            try {
+                //a proxy may not expose the reset method
+                Object target = AopProxies.getTarget(instance);
+                lifecycleInvoker(target.getClass(), bd.getBeanResetMethodName()).invoke(target, null);
+            } catch (Exception e) {
+                log.error("execute bean [" + beanName + "] reset method exception, instance discarded", e);
+                pool.discard(instance);
+                return;
+            }
+        }
+        pool.release(instance);
+    }
+
+    /**
+     * get the pool of a pooled Bean, the first caller fills it up to the minimum idle instances
+     * @param beanName
+     * @param BeanDefinition
+     * @return pool
+     */
+    private BeanPool getPool(String beanName, BeanDefinition bd) throws Exception {
+        BeanPool pool = pools.get(beanName);
+        if (pool != null) {
+            return pool;
+        }
+        BeanPool created = new BeanPool(beanName, bd.getPoolMinIdle(), bd.getPoolMaxSize(), bd.getPoolMaxIdleMillis(),
+                () -> createBean(beanName, bd), instance -> doDestroy(beanName, bd, instance));
+        pool = pools.putIfAbsent(beanName, created);
+        if (pool != null) {
+            return pool;
+        }
+        created.fill();
+        return created;
+    }
+
+    /**
+     * create the singleton exactly once, concurrent callers wait for the creation in flight
+     * @param beanName
+     * @param BeanDefinition
+     * @return singleton instance
+     */
+    private Object getSingleton(String beanName, BeanDefinition bd) throws Exception {
+        SingletonCreation creation = new SingletonCreation(Thread.currentThread());
+        SingletonCreation inFlight = singletonsInCreation.putIfAbsent(beanName, creation);
+        if (inFlight != null) {
+            return awaitSingleton(beanName, inFlight);
+        }
+        createSingleton(beanName, bd, creation, null);
+        return creation.getNow(null);
+    }
+
+    /**
+     * create the singleton of the creation taken over by the current thread. With pendingInits
+     * the creation completes and the singleton is published only when its async init methods have.
+     * @param beanName
+     * @param BeanDefinition
+     * @param creation owned by the current thread
+     * @param pendingInits collects the async init methods, null to wait for them
+     */
+    private void createSingleton(String beanName, BeanDefinition bd, SingletonCreation creation,
+                                 List<CompletableFuture<?>> pendingInits) throws Exception {
+        Object instance;
+        try {
+            //another thread may have finished between the cache check and taking over the creation
+            instance = beanMap.get(beanName);
+            if (instance == null) {
+                instance = createBean(beanName, bd, pendingInits);
+            }
+        } catch (Exception | Error e) {
+            creation.completeExceptionally(e);
+            singletonsInCreation.remove(beanName, creation);
+            throw e;
+        }
+        if (pendingInits == null || pendingInits.isEmpty()) {
+            publishSingleton(beanName, creation, instance);
+            return;
+        }
+        //the owner thread is done, the creation only waits for the init methods now
+        creation.owner = null;
+        Object created = instance;
+        CompletableFuture.allOf(pendingInits.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((v, e) -> publishSingleton(beanName, creation, created));
+    }
 
+    private void publishSingleton(String beanName, SingletonCreation creation, Object instance) {
         if (instance != null) {
-            return instance;
+            beanMap.put(beanName, instance);
         }
+        creation.complete(instance);
+        singletonsInCreation.remove(beanName, creation);
+    }
 
-        //check bean definition exists or not
-        if (!this.bdMap.containsKey(beanName)) {
-            log.info("doesn't exist ：[" + beanName + "] beandefinition, will create");
+    /**
+     * wait for the singleton another creation is building
+     * @param beanName
+     * @param creation in flight
+     * @return singleton instance
+     */
+    private Object awaitSingleton(String beanName, SingletonCreation inFlight) throws Exception {
+        Thread current = Thread.currentThread();
+        if (inFlight.owner == current) {
+            throw new Exception("Detect " + beanName + " has Circular dependency : " + singletonsOwnedBy(current));
+        }
+        waitingCreations.put(current, inFlight);
+        try {
+            //the owners waiting for each other back to this thread would never finish
+            SingletonCreation next = inFlight;
+            for (int i = 0; next != null && i <= waitingCreations.size(); i++) {
+                Thread owner = next.owner;
+                if (owner == null) {
+                    //only waiting for async init methods
+                    break;
+                }
+                if (owner == current) {
+                    throw new Exception("Detect " + beanName + " has Circular dependency across threads : "
+                            + singletonsOwnedBy(current) + " -> " + beanName);
+                }
+                next = waitingCreations.get(owner);
+            }
+            return inFlight.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof Exception ? (Exception) cause : e;
+        } finally {
+            waitingCreations.remove(current, inFlight);
         }
+    }
 
-        BeanDefinition bd = this.bdMap.get(beanName);
+    private Set<String> singletonsOwnedBy(Thread owner) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Map.Entry<String, SingletonCreation> entry : singletonsInCreation.entrySet()) {
+            if (entry.getValue().owner == owner) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
 
-        Class<?> beanClass = bd.getBeanClass();
+    /**
+     * create a new instance of the bean
+     * @param beanName
+     * @param BeanDefinition
+     * @return instance
+     */
+    private Object createBean(String beanName, BeanDefinition bd) throws Exception {
+        return createBean(beanName, bd, null);
+    }
 
-        //choose the specific method to create bean
-        if (beanClass != null) {
-            if (StringUtils.isBlank(bd.getStaticCreateBeanMethodName())) {
-                instance = this.createBeanByConstructor(bd);
-            } else {
-                instance = this.createBeanByStaticFactoryMethod(bd);
+    /**
+     * create a new instance of the bean
+     * @param beanName
+     * @param BeanDefinition
+     * @param pendingInits collects the CompletableFutures returned by async init methods, null to wait for them
+     * @return instance
+     */
+    private Object createBean(String beanName, BeanDefinition bd, List<CompletableFuture<?>> pendingInits) throws Exception {
+        // a validated graph has no cycle, only track the Beans being created otherwise, or the ones
+        // whose @Autowired edges the graph can't see
+        Set<String> beans = null;
+        if (validatedGraph == null || !hasKnownEdges(bd)) {
+            // record the Bean being created
+            beans = this.initialedBeans.get();
+            if (beans == null) {
+                beans = new HashSet<>();
+                this.initialedBeans.set(beans);
             }
-        } else {
-            instance = createBeanByFactoryMethod(bd);
+
+            // detect circular dependency
+            if (beans.contains(beanName)) {
+                throw new Exception("Detect " + beanName + " has Circular dependency : " + beans);
+            }
+
+            beans.add(beanName);
         }
 
+        //only a null check when not recording
+        StartupRecorder recorder = this.startupRecorder;
+        BeanCreationStep step = recorder == null ? null : recorder.start(beanName);
+        boolean failed = true;
+        Object instance;
+        try {
+            Class<?> beanClass = bd.getBeanClass();
+
+            //choose the specific method to create bean
+            Object event = BeanEvents.begin(BeanEvents.INSTANTIATION);
+            if (beanClass != null) {
+                if (StringUtils.isBlank(bd.getStaticCreateBeanMethodName())) {
+                    instance = this.createBeanByConstructor(beanName, bd, step);
+                } else {
+                    instance = this.createBeanByStaticFactoryMethod(beanName, bd, step);
+                }
+            } else {
+                instance = createBeanByFactoryMethod(beanName, bd, step);
+            }
+            BeanEvents.commit(event, beanName, bd);
 
-        this.doInit(bd, instance);
+            //add @Autowired and properties dependency into the raw instance, before a processor may wrap it
+            event = BeanEvents.begin(BeanEvents.PROPERTY_INJECTION);
+            this.injectAutowiredMembers(bd, instance);
+            this.parsePropertyValues(beanName, bd, instance);
+            BeanEvents.commit(event, beanName, bd);
+            if (step != null) {
+                step.injected();
+            }
 
-        //add properties dependency
-        this.parsePropertyValues(bd, instance);
+            //null unless a processor targets the Bean
+            BeanPostProcessorChain chain = postProcessorChain(beanName, instance);
+            if (chain != null) {
+                instance = chain.applyBeforeInitialization(instance, beanName);
+            }
 
-        //Bean creation done and remove beanName from set
-        beans.remove(beanName);
+            event = BeanEvents.begin(BeanEvents.INIT);
+            this.doInit(beanName, bd, instance, pendingInits);
+            BeanEvents.commit(event, beanName, bd);
+            if (step != null) {
+                step.initialized();
+            }
 
-        if (instance != null && bd.isSingleton()) {
-            beanMap.put(beanName, instance);
+            if (chain != null) {
+                instance = chain.applyAfterInitialization(instance, beanName);
+            }
+            failed = false;
+        } finally {
+            //Bean creation done and remove beanName from set
+            if (beans != null) {
+                beans.remove(beanName);
+            }
+            if (step != null) {
+                recorder.end(step, failed);
+            }
         }
 
         return instance;
@@ -140,22 +757,27 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
 
     /**
      * parse constructor arguments
+     * @param beanName
      * @param constructorArgs
      * @return Object Array to store structor args
      */
-    private Object[] parseConstructorArgs(List constructorArgs) throws Exception {
+    private Object[] parseConstructorArgs(String beanName, List constructorArgs) throws Exception {
 
         if (constructorArgs==null || constructorArgs.size()==0) {
             return null;
         }
 
+        //null unless a String arg has placeholders or an arg is a lazy reference
+        ValueResolver[] compiled = compiledArgs(beanName, constructorArgs);
         Object[] args = new Object[constructorArgs.size()];
         for (int i = 0; i < constructorArgs.size(); i++) {
             Object arg = constructorArgs.get(i);
             Object value = null;
-            if (arg instanceof BeanReference) {
-                String beanName = ((BeanReference) arg).getBeanName();
-                value = this.doGetBean(beanName);
+            if (compiled != null && compiled[i] != null) {
+                //the provider or proxy of a lazy reference is built once and shared by all instances
+                value = compiled[i].resolve();
+            } else if (arg instanceof BeanReference) {
+                value = this.doGetBean(((BeanReference) arg).getBeanName());
             } else if (arg instanceof List) {
                 List<BeanReference> references = (List<BeanReference>) arg;
                 List param = new LinkedList();
@@ -177,241 +799,571 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
     }
 
     /**
-     * match the correct constructor
+     * get the placeholders of the String constructor args and the lazy references, compiled once
+     * per bean definition and again only if the args or the Environment changed
+     * @param beanName
+     * @param constructorArgs
+     * @return resolvers by arg index, null if no arg has placeholders or is a lazy reference
+     */
+    private ValueResolver[] compiledArgs(String beanName, List<?> constructorArgs) {
+        Environment environment = this.environment;
+        CompiledArgs compiled = compiledArgs.get(beanName);
+        if (compiled == null || compiled.source != constructorArgs || compiled.environment != environment) {
+            ValueResolver[] resolvers = null;
+            for (int i = 0; i < constructorArgs.size(); i++) {
+                Object arg = constructorArgs.get(i);
+                if (arg instanceof LazyBeanReference
+                        || (arg instanceof String && PlaceholderTemplate.hasPlaceholder((String) arg))) {
+                    if (resolvers == null) {
+                        resolvers = new ValueResolver[constructorArgs.size()];
+                    }
+                    resolvers[i] = ValueResolver.of(arg, this, this, environment);
+                }
+            }
+            compiled = new CompiledArgs(constructorArgs, environment, resolvers);
+            compiledArgs.put(beanName, compiled);
+        }
+        return compiled.resolvers;
+    }
+
+    /**
+     * match the correct constructor, kept in the bean definition while the args fit it and
+     * resolved once per class and arg types otherwise
      * @param BeanDefinition
      * @param constructor args
      * @return the correct constructor
      */
     private Constructor<?> matchConstructor(BeanDefinition bd, Object[] args) throws Exception {
         if (args == null) {
-            return bd.getBeanClass().getConstructor(null);
-        }
-        //If already store in Beandefinition, will return
-        if (bd.getConstructor() != null)
-            return bd.getConstructor();
-
-        int len = args.length;
-        Class[] param = new Class[len];
-        //Get constructor parameters 
-        for (int i = 0; i < len; i++) {
-            param[i] = args[i].getClass();
-        }
-        //match the constructor
-        Constructor constructor = null;
-        try {
-            constructor = bd.getBeanClass().getConstructor(param);
-        } catch (Exception e) {
-            //in order to continue the program, here only catch the exception
+            Constructor<?> constructor = bd.getConstructor();
+            if (constructor == null || constructor.getParameterCount() != 0) {
+                constructor = bd.getBeanClass().getConstructor();
+                bd.setConstructor(constructor);
+            }
+            return constructor;
         }
-        if (constructor != null) {
+        //If already store in Beandefinition and the args fit, will return
+        Constructor<?> constructor = bd.getConstructor();
+        if (constructor != null && executableResolver.isApplicable(constructor, args)) {
             return constructor;
         }
+        constructor = executableResolver.resolveConstructor(bd.getBeanClass(), args);
+        //kept for the next instances and the startup snapshot
+        bd.setConstructor(constructor);
+        return constructor;
+    }
 
-        //continue to match constructor
-        List<Constructor> firstFilterAfter = new LinkedList<>();
-        Constructor[] constructors = bd.getBeanClass().getConstructors();
-        //match by parameter numbers
-        for (Constructor cons:constructors) {
-            if (cons.getParameterCount() == len) {
-                firstFilterAfter.add(cons);
-            }
-        }
-
-        if (firstFilterAfter.size() == 1) {
-            return firstFilterAfter.get(0);
+    /**
+     * get the processors applying to the Bean, selected once per bean definition and again
+     * only if the created class changed
+     * @param beanName
+     * @param instance
+     * @return chain or null if no processor targets the Bean
+     */
+    private BeanPostProcessorChain postProcessorChain(String beanName, Object instance) {
+        if (postProcessors.isEmpty()) {
+            return null;
         }
-        if (firstFilterAfter.size() == 0) {
-            log.error("doesn't exist corresponding constructor: " + args);
-            throw new Exception("doesn't exist corresponding constructor: " + args);
+        BeanPostProcessorChain chain = postProcessorChains.get(beanName);
+        if (chain == null || !chain.isSelectedFor(instance.getClass())) {
+            chain = BeanPostProcessorChain.select(instance.getClass(), postProcessors);
+            postProcessorChains.put(beanName, chain);
         }
-        //match by parameter type
-        boolean isMatch = true;
-        for (int i = 0; i < firstFilterAfter.size(); i++){
-            Class[] types = firstFilterAfter.get(i).getParameterTypes();
-            for (int j = 0; j < types.length; j++){
-                if (types[j].isAssignableFrom(args[j].getClass())) {
-                    isMatch = false;
-                    break;
-                }
-            }
-            if (isMatch) {
-                //prototype bean definition set constructor
-                if (bd.isPrototype()) {
-                    bd.setConstructor(firstFilterAfter.get(i));
-                }
-                return firstFilterAfter.get(i);
+        return chain.isEmpty() ? null : chain;
+    }
+
+    /**
+     * Get the @Autowired members of a class, scanned once and shared by all its instances
+     * @param beanClass
+     * @return injection metadata
+     */
+    public InjectionMetadata getInjectionMetadata(Class<?> beanClass) throws Exception {
+        InjectionMetadata metadata = injectionMetadata.get(beanClass);
+        if (metadata == null) {
+            metadata = InjectionMetadata.forClass(beanClass, instantiationStrategy);
+            InjectionMetadata scanned = injectionMetadata.putIfAbsent(beanClass, metadata);
+            if (scanned != null) {
+                metadata = scanned;
             }
         }
-        //can't match
-        throw new Exception("doesn't exist corresponding constructor: " + args);
+        return metadata;
     }
 
     /**
-     * parse properties value
+     * inject the @Autowired fields and methods of the instance
      * @param BeanDefinition
-     * @param specific instance
-     * @return
+     * @param instance
      */
-    private void parsePropertyValues(BeanDefinition bd, Object instance) throws Exception {
-        Map<String, Object> propertyKeyValue = bd.getPropertyKeyValue();
-        if (propertyKeyValue == null || propertyKeyValue.size() == 0) {
-            return ;
+    private void injectAutowiredMembers(BeanDefinition bd, Object instance) throws Exception {
+        //generated definitions are wired by their registrar, their classes aren't scanned
+        if (bd.getInstantiator() != null) {
+            return;
         }
-        Class<?> aClass = instance.getClass();
-        Set<Map.Entry<String, Object>> entries = propertyKeyValue.entrySet();
-        for (Map.Entry<String, Object> entry:entries) {
-            //Get the specific field info
-            Field field = aClass.getDeclaredField(entry.getKey());
-            //Set access permission to true
-            field.setAccessible(true);
-            Object arg = entry.getValue();
-            Object value = null;
-            if (arg instanceof BeanReference) {
-                String beanName = ((BeanReference) arg).getBeanName();
-                value = this.doGetBean(beanName);
-            } else if (arg instanceof List) {
-                List param = parseListArg((List) arg);
-                value = param;
-            } else if (arg instanceof Map) {
-                //todo handle map
-            } else if (arg instanceof Properties) {
-                //todo handle properties
-            } else {
-                value = arg;
-            }
-            field.set(instance, value);
+        InjectionMetadata metadata = getInjectionMetadata(instance.getClass());
+        if (!metadata.isEmpty()) {
+            metadata.inject(instance, this::resolveDependency);
         }
     }
 
     /**
-     * used in parsePropertyValues for field type is List
-     * @param original arg list
-     * @return parsed arg list
+     * get the Bean injected for an @Autowired field or parameter: the Bean named with @Ref, the
+     * only Bean of the type, or the Bean of the type named like the field or parameter
+     * @param dependency
+     * @return Bean or null for an optional dependency
      */
-    private List parseListArg(List arg) throws Exception {
-        List param = new LinkedList();
-        for (Object value:arg) {
-            Object res = new Object();
-            if (arg instanceof BeanReference) {
-                String beanName = ((BeanReference) value).getBeanName();
-                res = this.doGetBean(beanName);
-            } else if (arg instanceof List) {
-                res = parseListArg(arg);
-            } else if (arg instanceof Map) {
-                //todo handle map
-            } else if (arg instanceof Properties) {
-                //todo handle properties
-            } else {
-                res = arg;
+    private Object resolveDependency(InjectionMetadata.Dependency dependency) throws Exception {
+        String beanName = autowiredBeanName(dependency);
+        if (beanName != null) {
+            return doGetBean(beanName);
+        }
+        if (dependency.isRequired()) {
+            Set<String> names = typeIndex.getBeanNames(dependency.getType());
+            throw new Exception(names.isEmpty() ? "doesn't exist bean to inject into " + dependency
+                    : "more than one bean to inject into " + dependency + " : " + names);
+        }
+        return null;
+    }
+
+    /**
+     * @return name of the Bean injected for the dependency, null if there is none or it's ambiguous
+     */
+    private String autowiredBeanName(InjectionMetadata.Dependency dependency) {
+        if (dependency.getBeanName() != null) {
+            return dependency.isRequired() || bdMap.containsKey(dependency.getBeanName()) ? dependency.getBeanName() : null;
+        }
+        Set<String> names = typeIndex.getBeanNames(dependency.getType());
+        if (names.size() == 1) {
+            return names.iterator().next();
+        }
+        return dependency.getName() != null && names.contains(dependency.getName()) ? dependency.getName() : null;
+    }
+
+    /**
+     * whether the dependency graph holds all the edges of a Bean, the @Autowired members of the
+     * Beans of factory methods are only known once they're created
+     * @param bd
+     * @return false if a cycle through the Bean may be missing from the graph
+     */
+    private boolean hasKnownEdges(BeanDefinition bd) {
+        return bd.getInstantiator() != null
+                || (bd.getBeanClass() != null && StringUtils.isBlank(bd.getStaticCreateBeanMethodName()));
+    }
+
+    /**
+     * names of the Beans the @Autowired members of a constructor-created Bean need, used as edges
+     * of the dependency graph. Beans of factory methods are left out, their class is only known
+     * once they're created.
+     * @param bd
+     * @return bean names
+     */
+    private Set<String> autowiredBeanNames(BeanDefinition bd) {
+        if (!hasKnownEdges(bd) || bd.getInstantiator() != null) {
+            return Collections.emptySet();
+        }
+        InjectionMetadata metadata;
+        try {
+            metadata = getInjectionMetadata(bd.getBeanClass());
+        } catch (Exception e) {
+            //reported when the Bean is created
+            return Collections.emptySet();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (InjectionMetadata.Dependency dependency : metadata.getDependencies()) {
+            String beanName = autowiredBeanName(dependency);
+            if (beanName != null) {
+                names.add(beanName);
             }
-            param.add(res);
         }
-        return param;
+        return names;
     }
 
     /**
-     * run init method for the instance
+     * parse properties value by running the compiled injection plan of the bean
+     * @param beanName
+     * @param BeanDefinition
+     * @param specific instance
+     * @return
+     */
+    private void parsePropertyValues(String beanName, BeanDefinition bd, Object instance) throws Exception {
+        Map<String, Object> propertyKeyValue = bd.getPropertyKeyValue();
+        if (propertyKeyValue == null || propertyKeyValue.size() == 0) {
+            return ;
+        }
+        InjectionPlan plan = injectionPlans.get(beanName);
+        //compile once, again only if the definition or the created class changed
+        if (plan == null || !plan.isCompiledFor(instance.getClass(), propertyKeyValue)) {
+            plan = InjectionPlan.compile(instance.getClass(), propertyKeyValue, bd.getPropertyAccessors(), this, this,
+                    environment, conversionService);
+            injectionPlans.put(beanName, plan);
+        }
+        plan.inject(instance);
+    }
+
+    /**
+     * run init method for the instance, an init method returning a CompletionStage is async
+     * @param beanName
      * @param BeanDefinition
      * @param instance
+     * @param pendingInits collects the async init, null to wait for it
      * @return
      */
-    private void doInit(BeanDefinition bd, Object instance) {
-        Class<?> beanClass = instance.getClass();
+    private void doInit(String beanName, BeanDefinition bd, Object instance, List<CompletableFuture<?>> pendingInits) {
         if (StringUtils.isNotBlank(bd.getBeanInitMethodName())) {
             try {
-                Method method = beanClass.getMethod(bd.getBeanInitMethodName(), null);
-                method.invoke(instance, null);
+                MethodInvoker initInvoker = bd.getInitInvoker();
+                if (initInvoker == null) {
+                    initInvoker = lifecycleInvoker(instance.getClass(), bd.getBeanInitMethodName());
+                }
+                Object result = initInvoker.invoke(instance, null);
+                if (result instanceof CompletionStage) {
+                    CompletableFuture<?> init = ((CompletionStage<?>) result).toCompletableFuture();
+                    if (pendingInits == null) {
+                        init.join();
+                    } else {
+                        //failed async init is only logged, like the synchronous one
+                        pendingInits.add(init.exceptionally(e -> {
+                            log.error("execute bean [" + beanName + "] async init method exception", e);
+                            return null;
+                        }));
+                    }
+                }
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
     }
 
+    /**
+     * get the bound no-arg init or destroy method, looked up once per bean class
+     * @param beanClass
+     * @param methodName
+     * @return bound method
+     */
+    private MethodInvoker lifecycleInvoker(Class<?> beanClass, String methodName) throws Exception {
+        Map<String, MethodInvoker> invokers = lifecycleInvokers.get(beanClass);
+        if (invokers == null) {
+            invokers = lifecycleInvokers.computeIfAbsent(beanClass, k -> new ConcurrentHashMap<>());
+        }
+        MethodInvoker invoker = invokers.get(methodName);
+        if (invoker == null) {
+            invoker = instantiationStrategy.bind(beanClass.getMethod(methodName));
+            invokers.put(methodName, invoker);
+        }
+        return invoker;
+    }
+
     /**
      * creat Bean by using constructor
+     * @param beanName
      * @param Bean definition
+     * @param recorded step or null
      * @return instance
      */
-    private Object createBeanByConstructor(BeanDefinition bd) {
-        Object instance = null;
-        try {
-            //parse constructor parameters
-            List<?> constructorArg = bd.getConstructorArg();
-            Object[] objects = parseConstructorArgs(constructorArg);
-            //match constructor parameters
-            Constructor<?> constructor = matchConstructor(bd, objects);
-            if (constructor != null) {
-                instance = constructor.newInstance(objects);
-            } else {
-                instance = bd.getBeanClass().newInstance();
+    private Object createBeanByConstructor(String beanName, BeanDefinition bd, BeanCreationStep step) throws Exception {
+        //parse constructor parameters
+        List<?> constructorArg = bd.getConstructorArg();
+        Object[] objects = parseConstructorArgs(beanName, constructorArg);
+        if (step != null) {
+            step.dependenciesResolved();
+        }
+        Object instance;
+        InjectionMetadata metadata;
+        //pre-bound instantiator doesn't need constructor matching
+        if (bd.getInstantiator() != null) {
+            instance = bd.getInstantiator().newInstance(objects);
+        } else if (objects == null && (metadata = getInjectionMetadata(bd.getBeanClass())).hasConstructor()) {
+            //configured args win over the @Autowired constructor
+            objects = metadata.resolveConstructorArgs(this::resolveDependency);
+            if (step != null) {
+                step.dependenciesResolved();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            instance = metadata.newInstance(objects);
+        } else {
+            //bound with the matched constructor by the first instance
+            BeanInstantiator instantiator = bd.getConstructorInstantiator();
+            Constructor<?> constructor = bd.getConstructor();
+            if (instantiator == null || constructor == null) {
+                //match constructor parameters
+                Object event = BeanEvents.begin(BeanEvents.CONSTRUCTOR_MATCHING);
+                constructor = matchConstructor(bd, objects);
+                BeanEvents.commit(event, beanName, bd);
+                instantiator = instantiationStrategy.bind(constructor);
+                bd.setConstructorInstantiator(instantiator);
+            }
+            convertArgs(constructor.getParameterTypes(), objects);
+            instance = instantiator.newInstance(objects);
+        }
+        if (step != null) {
+            step.instantiated();
         }
         return instance;
     }
 
     /**
      * create Bean by using factory method
+     * @param beanName
      * @param Bean defintion
+     * @param recorded step or null
      * @return instance
      */
-    private Object createBeanByFactoryMethod(BeanDefinition bd) {
-        Object instance = null;
-        try {
-            //Get factory object
-            Object factory = doGetBean(bd.getFactoryBeanName());
-            List<?> constructorArg = bd.getConstructorArg();
-            if (constructorArg != null && constructorArg.size() > 0) {
-                Object[] args = parseConstructorArgs(constructorArg);
-                Class[] paramTypes = new Class[args.length];
-                int j = 0;
-                for (Object p : args) {
-                    paramTypes[j++] = p.getClass();
-                }
-                //Get create bean method with args
-                Method method = factory.getClass().getMethod(bd.getCreateBeanMethodName(), paramTypes);
-                instance = method.invoke(factory, args);
-            } else {
-                //Get create bean method without args
-                Method method = factory.getClass().getMethod(bd.getCreateBeanMethodName());
-                instance = method.invoke(factory, null);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    private Object createBeanByFactoryMethod(String beanName, BeanDefinition bd, BeanCreationStep step) throws Exception {
+        //Get factory object
+        Object factory = doGetBean(bd.getFactoryBeanName());
+        Object[] args = parseConstructorArgs(beanName, bd.getConstructorArg());
+        if (step != null) {
+            step.dependenciesResolved();
+        }
+        Method method = bd.getFactoryMethod();
+        MethodInvoker invoker = bd.getFactoryMethodInvoker();
+        //a factory Bean of another class, e.g. a prototype, needs its method matched again
+        if (invoker == null || method == null || !method.getDeclaringClass().isInstance(factory)) {
+            method = matchFactoryMethod(bd, factory.getClass(), bd.getCreateBeanMethodName(), args, false);
+            invoker = instantiationStrategy.bind(method);
+            bd.setFactoryMethodInvoker(invoker);
+        }
+        convertArgs(method.getParameterTypes(), args);
+        Object instance = invoker.invoke(factory, args);
+        if (step != null) {
+            step.instantiated();
         }
         return instance;
     }
 
     /**
      * create Bean by using static factory method
+     * @param beanName
      * @param Bean definition
+     * @param recorded step or null
      * @return instance
      */
-    private Object createBeanByStaticFactoryMethod(BeanDefinition bd) {
-        Object instance = null;
+    private Object createBeanByStaticFactoryMethod(String beanName, BeanDefinition bd, BeanCreationStep step) throws Exception {
+        Class<?> beanClass = bd.getBeanClass();
+        Object[] args = parseConstructorArgs(beanName, bd.getConstructorArg());
+        if (step != null) {
+            step.dependenciesResolved();
+        }
+        Method method = bd.getFactoryMethod();
+        MethodInvoker invoker = bd.getFactoryMethodInvoker();
+        if (invoker == null || method == null) {
+            method = matchFactoryMethod(bd, beanClass, bd.getStaticCreateBeanMethodName(), args, true);
+            invoker = instantiationStrategy.bind(method);
+            bd.setFactoryMethodInvoker(invoker);
+        }
+        convertArgs(method.getParameterTypes(), args);
+        Object instance = invoker.invoke(null, args);
+        if (step != null) {
+            step.instantiated();
+        }
+        return instance;
+    }
+
+    /**
+     * match the factory method, kept in the bean definition while the args fit it and resolved
+     * once per class, name and arg types otherwise
+     * @param BeanDefinition
+     * @param class declaring the factory method
+     * @param factory method name
+     * @param parsed args
+     * @param isStatic true for a static factory method
+     * @return the factory method
+     */
+    private Method matchFactoryMethod(BeanDefinition bd, Class<?> type, String methodName, Object[] args,
+                                      boolean isStatic) throws Exception {
+        Method method = bd.getFactoryMethod();
+        if (method != null && method.getName().equals(methodName) && method.getDeclaringClass().isAssignableFrom(type)
+                && executableResolver.isApplicable(method, args)) {
+            return method;
+        }
+        method = executableResolver.resolveFactoryMethod(type, methodName, isStatic, args);
+        bd.setFactoryMethod(method);
+        return method;
+    }
+
+    /**
+     * convert the args to the parameter types in place
+     * @param parameterTypes of the matched constructor or factory method
+     * @param args parsed args, may be null
+     */
+    private void convertArgs(Class<?>[] parameterTypes, Object[] args) throws Exception {
+        if (args == null) {
+            return;
+        }
+        for (int i = 0; i < args.length; i++) {
+            args[i] = conversionService.convert(args[i], parameterTypes[i]);
+        }
+    }
+
+    /**
+     * Register the Bean definitions of all BeanRegistrars generated at build time
+     * @param classLoader class loader to find the generated registrars
+     * @return number of registrars found
+     */
+    public int loadAotBeanDefinitions(ClassLoader classLoader) throws Exception {
+        int count = 0;
+        for (BeanRegistrar registrar : ServiceLoader.load(BeanRegistrar.class, classLoader)) {
+            registrar.registerBeanDefinitions(this);
+            count++;
+        }
+        log.info("registered Bean definitions of " + count + " generated BeanRegistrars");
+        return count;
+    }
+
+    /**
+     * Register the Bean definitions of all BeanRegistrars visible to the context class loader
+     * @return number of registrars found
+     */
+    public int loadAotBeanDefinitions() throws Exception {
+        return loadAotBeanDefinitions(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Register a Bean definition for every @Component class under the base packages, found with
+     * the component index or by parsing the class files of the context class loader
+     * @param basePackages packages searched including their sub packages
+     * @return number of registered Bean definitions
+     */
+    public int scanComponents(String... basePackages) throws Exception {
+        return new ClassPathComponentScanner(this, Thread.currentThread().getContextClassLoader()).scan(basePackages);
+    }
+
+    /**
+     * Stream the Bean definitions of an XML or properties file into this factory
+     * @param file definition file ending with .xml or .properties
+     * @return number of registered Bean definitions
+     */
+    public int loadBeanDefinitions(Path file) throws Exception {
+        String fileName = file.getFileName().toString();
+        if (fileName.endsWith(".xml")) {
+            return new XmlBeanDefinitionReader(this).loadBeanDefinitions(file);
+        } else if (fileName.endsWith(".properties")) {
+            return new PropertiesBeanDefinitionReader(this).loadBeanDefinitions(file);
+        }
+        throw new Exception("unsupported definition file " + file + ", expected .xml or .properties");
+    }
+
+    /**
+     * Check the references between all registered Bean definitions once. Every circular dependency
+     * and every reference without bean definition is reported together. Until the next registration,
+     * creating Beans then skips the per-call circular dependency tracking.
+     * @throws BeanDefinitionValidationException if any cycle or missing reference is found
+     */
+    public void validate() throws BeanDefinitionValidationException {
+        DependencyGraph graph = DependencyGraph.build(new HashMap<>(bdMap), this::autowiredBeanNames);
+        List<List<String>> cycles = graph.findCycles();
+        if (!cycles.isEmpty() || !graph.getMissingReferences().isEmpty()) {
+            throw new BeanDefinitionValidationException(cycles, new LinkedHashMap<>(graph.getMissingReferences()));
+        }
+        validatedGraph = graph;
+    }
+
+    /**
+     * Validate the Bean definitions, unless a startup snapshot was loaded, add the
+     * BeanPostProcessors registered as Beans, create all singletons with one thread per processor
+     * and publish a ContextRefreshedEvent
+     */
+    public void refresh() throws Exception {
+        if (validatedGraph == null) {
+            validate();
+        }
+        //processors must be in place before the Beans they target are created
+        for (String beanName : typeIndex.getBeanNames(BeanPostProcessor.class)) {
+            BeanPostProcessor processor = (BeanPostProcessor) doGetBean(beanName);
+            if (!postProcessors.contains(processor)) {
+                addBeanPostProcessor(processor);
+            }
+        }
+        preInstantiateSingletons(Runtime.getRuntime().availableProcessors());
+        publishEvent(new ContextRefreshedEvent(this));
+    }
+
+    /**
+     * Write what was resolved for the registered definitions to a startup snapshot: the
+     * definitions' hashes, the checksums of their class files, the matched constructors and
+     * factory methods of the Beans created so far and the topological order. Best written after
+     * refresh(), when all singletons are created.
+     * @param file snapshot file
+     */
+    public void writeSnapshot(Path file) throws Exception {
+        if (validatedGraph == null) {
+            validate();
+        }
+        StartupSnapshot.write(file, new HashMap<>(bdMap), validatedGraph);
+        log.info("wrote startup snapshot of " + bdMap.size() + " beans to " + file);
+    }
+
+    /**
+     * Load a startup snapshot written on a previous start. If the registered definitions and
+     * their class files match it, the matched constructors and factory methods are set on the
+     * definitions and the saved dependency order is used without validating again.
+     * @param file snapshot file
+     * @return true if the snapshot was applied, false to resolve everything from scratch
+     */
+    public boolean loadSnapshot(Path file) {
         try {
-            Class<?> beanClass = bd.getBeanClass();
-            List<?> constructorArg = bd.getConstructorArg();
-            if (constructorArg != null && constructorArg.size() > 0) {
-                Object[] args = parseConstructorArgs(constructorArg);
-                Class[] paramTypes = new Class[args.length];
-                int j = 0;
-                for (Object p : args) {
-                    paramTypes[j++] = p.getClass();
+            DependencyGraph graph = StartupSnapshot.read(file).apply(new HashMap<>(bdMap));
+            validatedGraph = graph;
+            log.info("loaded startup snapshot of " + graph.getBeanNames().size() + " beans from " + file);
+            return true;
+        } catch (Exception e) {
+            log.info("startup snapshot " + file + " not used, resolving from scratch: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Create all non-lazy singletons eagerly. Beans are started in topological order of the dependency graph
+     * on a fork-join pool, a Bean as soon as all Beans it depends on are created, so independent
+     * Beans are created concurrently and every singleton exactly once.
+     * @param parallelism number of threads creating Beans
+     * @throws Exception on missing references, circular dependencies or failed creations
+     */
+    public void preInstantiateSingletons(int parallelism) throws Exception {
+        DependencyGraph graph = validatedGraph;
+        if (graph == null) {
+            graph = DependencyGraph.build(new HashMap<>(bdMap), this::autowiredBeanNames);
+            if (!graph.getMissingReferences().isEmpty()) {
+                throw new Exception("doesn't exist bean definitions referenced by : " + graph.getMissingReferences());
+            }
+        }
+        List<String> order = graph.topologicalOrder();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<String, CompletableFuture<Void>> created = new HashMap<>();
+            for (String beanName : order) {
+                Set<String> dependencies = graph.getDependencies(beanName);
+                CompletableFuture<?>[] before = new CompletableFuture<?>[dependencies.size()];
+                int i = 0;
+                for (String dependency : dependencies) {
+                    before[i++] = created.get(dependency);
                 }
-                //Get create bean method with args
-                Method method = beanClass.getMethod(bd.getStaticCreateBeanMethodName(), paramTypes);
-                instance = method.invoke(beanClass, args);
-            } else {
-                //Get create bean method without args
-                Method method = beanClass.getMethod(bd.getStaticCreateBeanMethodName());
-                instance = method.invoke(beanClass, null);
+                BeanDefinition bd = bdMap.get(beanName);
+                //prototypes are created by the Beans using them, lazy singletons on first use,
+                //they only pass on the ordering; pools are filled up to their minimum idle instances
+                created.put(beanName, CompletableFuture.allOf(before).thenRunAsync(() -> {
+                    if (bd.isLazyInit()) {
+                        return;
+                    }
+                    try {
+                        if (bd.isSingleton()) {
+                            doGetBean(beanName);
+                        } else if (bd.isPooled()) {
+                            getPool(beanName, bd);
+                        }
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, pool));
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            try {
+                CompletableFuture.allOf(created.values().toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        } finally {
+            pool.shutdown();
         }
-        return instance;
     }
 
     @Override
@@ -419,21 +1371,329 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry,
         return doGetBean(beanName);
     }
 
+    /**
+     * Get the Bean without blocking. The Beans it depends on are got first and concurrently on
+     * the async executor, a Bean is created when all of them have completed and completes itself
+     * when its init method has, async init methods returning a CompletionStage included.
+     * Singletons already being created, synchronously or not, are shared.
+     * @param beanName
+     * @return future completed with the Bean
+     */
+    public CompletableFuture<Object> getBeanAsync(String beanName) {
+        return getBeanAsync(beanName, new LinkedHashSet<>(), new HashMap<>());
+    }
+
+    /**
+     * @param beanName
+     * @param path Beans depending on this one, to detect Circular dependency
+     * @param started futures of the Beans already got by this request
+     */
+    private CompletableFuture<Object> getBeanAsync(String beanName, Set<String> path,
+                                                   Map<String, CompletableFuture<Object>> started) {
+        Object instance = beanMap.get(beanName);
+        if (instance != null) {
+            return CompletableFuture.completedFuture(instance);
+        }
+        BeanDefinition bd = bdMap.get(beanName);
+        if (bd == null) {
+            return failedFuture(new Exception("doesn't exist bean definition of [" + beanName + "]"));
+        }
+        if (bd.isSingleton()) {
+            SingletonCreation inFlight = singletonsInCreation.get(beanName);
+            if (inFlight != null) {
+                //callers can't complete the creation every waiter shares
+                return inFlight.thenApply(value -> value);
+            }
+        }
+        CompletableFuture<Object> future = started.get(beanName);
+        if (future != null) {
+            return future;
+        }
+        if (!path.add(beanName)) {
+            return failedFuture(new Exception("Detect " + beanName + " has Circular dependency : " + path));
+        }
+        Set<String> dependencies = DependencyGraph.referencedBeanNames(bd, false);
+        dependencies.addAll(autowiredBeanNames(bd));
+        Map<String, CompletableFuture<Object>> before = new LinkedHashMap<>();
+        for (String dependency : dependencies) {
+            before.put(dependency, getBeanAsync(dependency, path, started));
+        }
+        path.remove(beanName);
+        future = CompletableFuture.allOf(before.values().toArray(new CompletableFuture<?>[0]))
+                .thenComposeAsync(v -> {
+                    Map<String, Object> resolved = new HashMap<>();
+                    for (Map.Entry<String, CompletableFuture<Object>> dependency : before.entrySet()) {
+                        resolved.put(dependency.getKey(), dependency.getValue().join());
+                    }
+                    return createBeanAsync(beanName, bd, resolved);
+                }, asyncExecutor);
+        started.put(beanName, future);
+        return future;
+    }
+
+    /**
+     * create the Bean whose dependencies are completed, completed when its async init has
+     * @param beanName
+     * @param BeanDefinition
+     * @param resolved the completed dependencies by bean name, used instead of getting them again
+     * @return future completed with the Bean
+     */
+    private CompletableFuture<Object> createBeanAsync(String beanName, BeanDefinition bd, Map<String, Object> resolved) {
+        Map<String, Object> outer = asyncDependencies.get();
+        asyncDependencies.set(resolved);
+        try {
+            List<CompletableFuture<?>> pendingInits = new ArrayList<>();
+            if (bd.isSingleton()) {
+                SingletonCreation creation = new SingletonCreation(Thread.currentThread());
+                SingletonCreation inFlight = singletonsInCreation.putIfAbsent(beanName, creation);
+                if (inFlight != null) {
+                    return inFlight.thenApply(value -> value);
+                }
+                createSingleton(beanName, bd, creation, pendingInits);
+                return creation.thenApply(value -> value);
+            }
+            if (!bd.isPrototype()) {
+                //pooled and scoped Beans are got as usual
+                return CompletableFuture.completedFuture(doGetBean(beanName));
+            }
+            Object instance = createBean(beanName, bd, pendingInits);
+            return CompletableFuture.allOf(pendingInits.toArray(new CompletableFuture<?>[0])).thenApply(v -> instance);
+        } catch (Exception | Error e) {
+            return failedFuture(e);
+        } finally {
+            if (outer == null) {
+                asyncDependencies.remove();
+            } else {
+                asyncDependencies.set(outer);
+            }
+        }
+    }
+
+    private static CompletableFuture<Object> failedFuture(Throwable e) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    @Override
+    public <T> T getBean(Class<T> type) throws Exception {
+        Set<String> names = typeIndex.getBeanNames(type);
+        Iterator<String> iterator = names.iterator();
+        if (!iterator.hasNext()) {
+            throw new Exception("doesn't exist bean of type " + type.getName());
+        }
+        String beanName = iterator.next();
+        if (iterator.hasNext()) {
+            throw new Exception("more than one bean of type " + type.getName() + " : " + names);
+        }
+        return type.cast(doGetBean(beanName));
+    }
+
+    @Override
+    public <T> Map<String, T> getBeansOfType(Class<T> type) throws Exception {
+        Set<String> names = typeIndex.getBeanNames(type);
+        Map<String, T> beans = new LinkedHashMap<>();
+        for (String beanName : names) {
+            beans.put(beanName, type.cast(doGetBean(beanName)));
+        }
+        return beans;
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        return typeIndex.getBeanNames(type).toArray(new String[0]);
+    }
+
     @Override
     public void close() throws IOException {
-        Set<Map.Entry<String, BeanDefinition>> entries = bdMap.entrySet();
-        for (Map.Entry<String, BeanDefinition>  entry: entries) {
-            String beanName = entry.getKey();
-            BeanDefinition beanDefinition = entry.getValue();
-            if (beanDefinition.isSingleton() && StringUtils.isNotBlank(beanDefinition.getBeanDestroyMethodName())) {
-                Object instance = this.beanMap.get(beanName);
-                try {
-                    Method method = instance.getClass().getMethod(beanDefinition.getBeanDestroyMethodName(), null);
-                    method.invoke(instance, null);
-                } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    log.error("execute bean [" + beanName + "] " + beanDefinition + "destroy method exception", e);
+        ShutdownReport report = shutdown();
+        if (report.isClean()) {
+            log.info("bean factory closed, " + report);
+        } else {
+            log.error("bean factory closed with problems, " + report);
+        }
+    }
+
+    /**
+     * Destroy the singletons in reverse dependency order: a Bean once all Beans depending on it
+     * are destroyed, independent Beans in parallel. A destroy method running longer than the
+     * destroy timeout is reported slow and no longer waited for, the Beans not destroyed when the
+     * shutdown timeout has passed are reported and left. Idle pooled instances are destroyed last.
+     * A ContextClosedEvent is published first to the listeners added so far.
+     * @return which Beans failed, were slow or weren't destroyed
+     */
+    public ShutdownReport shutdown() {
+        long start = System.nanoTime();
+        //the listeners are still alive, no singleton is destroyed yet, and none is created to listen
+        try {
+            eventMulticaster.multicastEvent(new ContextClosedEvent(this));
+        } catch (RuntimeException e) {
+            log.error("publish ContextClosedEvent exception", e);
+        }
+        ShutdownReport report = new ShutdownReport();
+        DependencyGraph graph = validatedGraph;
+        if (graph == null) {
+            graph = DependencyGraph.build(new HashMap<>(bdMap), this::autowiredBeanNames);
+        }
+        List<String> order;
+        boolean ordered = true;
+        try {
+            order = graph.topologicalOrder();
+        } catch (Exception e) {
+            log.error("destroy beans without dependency order, " + e.getMessage());
+            order = new ArrayList<>(graph.getBeanNames());
+            ordered = false;
+        }
+
+        //destroy methods mostly wait for connections and files to close, use more threads than processors
+        ForkJoinPool pool = new ForkJoinPool(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bean-destroy-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, CompletableFuture<Void>> destroyed = new LinkedHashMap<>();
+        try {
+            for (int i = order.size() - 1; i >= 0; i--) {
+                String beanName = order.get(i);
+                List<CompletableFuture<Void>> after = new ArrayList<>();
+                if (ordered) {
+                    for (String dependent : graph.getDependents(beanName)) {
+                        after.add(destroyed.get(dependent));
+                    }
+                }
+                destroyed.put(beanName, CompletableFuture.allOf(after.toArray(new CompletableFuture<?>[0]))
+                        .thenCompose(v -> destroySingleton(beanName, report, pool, timer)));
+            }
+            try {
+                CompletableFuture.allOf(destroyed.values().toArray(new CompletableFuture<?>[0]))
+                        .get(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | InterruptedException | ExecutionException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                for (Map.Entry<String, CompletableFuture<Void>> entry : destroyed.entrySet()) {
+                    if (!entry.getValue().isDone() && needsDestroy(entry.getKey())) {
+                        report.undestroyed(entry.getKey());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+            timer.shutdownNow();
+        }
+        //checked out instances are left to their users
+        for (BeanPool beanPool : pools.values()) {
+            beanPool.clear();
+        }
+        report.finish(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * run the destroy method of the singleton on the pool, completed when it's done or timed out
+     * @param beanName
+     * @param report
+     * @param pool running destroy methods
+     * @param timer
+     * @return future
+     */
+    private CompletableFuture<Void> destroySingleton(String beanName, ShutdownReport report,
+                                                     Executor pool, ScheduledExecutorService timer) {
+        if (!needsDestroy(beanName)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        BeanDefinition bd = bdMap.get(beanName);
+        Object instance = beanMap.get(beanName);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture.runAsync(() -> {
+            //the timeout starts with the destroy method, not while it's queued behind other ones
+            ScheduledFuture<?> timeout = timer.schedule(() -> {
+                if (!done.isDone()) {
+                    log.error("bean [" + beanName + "] destroy method exceeds " + destroyTimeoutMillis + "ms");
+                    report.slow(beanName);
+                    done.complete(null);
                 }
+            }, destroyTimeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                invokeDestroy(beanName, bd, instance);
+                report.destroyed(beanName);
+            } catch (Exception e) {
+                log.error("execute bean [" + beanName + "] " + bd + "destroy method exception", e);
+                report.failed(beanName, e);
+            } finally {
+                timeout.cancel(false);
+                done.complete(null);
             }
+        }, pool);
+        return done;
+    }
+
+    private boolean needsDestroy(String beanName) {
+        BeanDefinition bd = bdMap.get(beanName);
+        return bd != null && bd.isSingleton() && StringUtils.isNotBlank(bd.getBeanDestroyMethodName())
+                && beanMap.containsKey(beanName);
+    }
+
+    /**
+     * run destroy method for the instance, exception only logged
+     * @param beanName
+     * @param BeanDefinition
+     * @param instance
+     */
+    private void doDestroy(String beanName, BeanDefinition beanDefinition, Object instance) {
+        try {
+            invokeDestroy(beanName, beanDefinition, instance);
+        } catch (Exception e) {
+            log.error("execute bean [" + beanName + "] " + beanDefinition + "destroy method exception", e);
+        }
+    }
+
+    private void invokeDestroy(String beanName, BeanDefinition beanDefinition, Object instance) throws Exception {
+        if (StringUtils.isBlank(beanDefinition.getBeanDestroyMethodName())) {
+            return;
+        }
+        Object event = BeanEvents.begin(BeanEvents.DESTROY);
+        MethodInvoker destroyInvoker = beanDefinition.getDestroyInvoker();
+        //a proxy may not expose the destroy method
+        Object target = AopProxies.getTarget(instance);
+        if (destroyInvoker == null) {
+            destroyInvoker = lifecycleInvoker(target.getClass(), beanDefinition.getBeanDestroyMethodName());
+        }
+        destroyInvoker.invoke(target, null);
+        BeanEvents.commit(event, beanName, beanDefinition);
+    }
+
+    /**
+     * Singleton creation in flight, completed with the instance once it is created and initialized
+     */
+    private static final class SingletonCreation extends CompletableFuture<Object> {
+
+        //null once the owner only waits for async init methods
+        private volatile Thread owner;
+
+        SingletonCreation(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Placeholders and lazy references of the constructor args of a bean definition, compiled
+     * against one Environment
+     */
+    private static final class CompiledArgs {
+
+        private final List<?> source;
+
+        private final Environment environment;
+
+        //null if no arg has placeholders or is a lazy reference
+        private final ValueResolver[] resolvers;
+
+        CompiledArgs(List<?> source, Environment environment, ValueResolver[] resolvers) {
+            this.source = source;
+            this.environment = environment;
+            this.resolvers = resolvers;
         }
     }
 }
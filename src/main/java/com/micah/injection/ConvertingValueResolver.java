@@ -0,0 +1,73 @@
+package com.micah.injection;
+
+import com.micah.convert.ConversionService;
+import com.micah.convert.Converter;
+
+/**
+ * Convert the resolved value to the property type. The converter of the last source type is kept
+ * until a converter is registered, so the lookup happens once while every resolve still converts,
+ * and no converted value is shared between the Beans it's injected into.
+ * @author micah
+ * @create 2026-10-19 02:10
+ **/
+final class ConvertingValueResolver implements ValueResolver {
+
+    private final ValueResolver resolver;
+
+    private final Class<?> targetType;
+
+    private final Class<?> wrappedType;
+
+    private final ConversionService conversionService;
+
+    private volatile BoundConverter bound;
+
+    ConvertingValueResolver(ValueResolver resolver, Class<?> targetType, ConversionService conversionService) {
+        this.resolver = resolver;
+        this.targetType = targetType;
+        this.wrappedType = ConversionService.wrap(targetType);
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public Object resolve() throws Exception {
+        Object value = resolver.resolve();
+        if (value == null) {
+            return conversionService.convert(null, targetType);
+        }
+        if (wrappedType.isInstance(value)) {
+            return value;
+        }
+        BoundConverter bound = this.bound;
+        int modificationCount = conversionService.getModificationCount();
+        if (bound == null || bound.sourceType != value.getClass() || bound.modificationCount != modificationCount) {
+            Converter<Object, Object> converter = conversionService.getConverter(value.getClass(), wrappedType);
+            if (converter == null) {
+                //throws naming both types
+                return conversionService.convert(value, targetType);
+            }
+            bound = new BoundConverter(value.getClass(), modificationCount, converter);
+            this.bound = bound;
+        }
+        try {
+            return bound.converter.convert(value);
+        } catch (Exception e) {
+            throw new Exception("can't convert \"" + value + "\" to " + targetType.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static final class BoundConverter {
+
+        private final Class<?> sourceType;
+
+        private final int modificationCount;
+
+        private final Converter<Object, Object> converter;
+
+        BoundConverter(Class<?> sourceType, int modificationCount, Converter<Object, Object> converter) {
+            this.sourceType = sourceType;
+            this.modificationCount = modificationCount;
+            this.converter = converter;
+        }
+    }
+}
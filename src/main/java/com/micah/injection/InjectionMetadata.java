@@ -0,0 +1,293 @@
+package com.micah.injection;
+
+import com.micah.annotation.Autowired;
+import com.micah.annotation.Ref;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.InstantiationStrategy;
+import com.micah.instantiation.MethodInvoker;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Autowired members of a class, found by scanning the class hierarchy once. The metadata is
+ * immutable and its constructor and methods are bound up front, so every instance of the class
+ * is created and injected without looking at annotations again.
+ * Superclass members are injected before subclass members, fields before methods.
+ * @author micah
+ * @create 2026-10-18 23:10
+ **/
+public final class InjectionMetadata {
+
+    private static final Dependency[] NO_DEPENDENCIES = new Dependency[0];
+
+    private final Class<?> beanClass;
+
+    //autowired constructor or null
+    private final BeanInstantiator instantiator;
+
+    private final Dependency[] constructorDependencies;
+
+    private final InjectedMember[] members;
+
+    private final List<Dependency> dependencies;
+
+    private InjectionMetadata(Class<?> beanClass, BeanInstantiator instantiator,
+                              Dependency[] constructorDependencies, InjectedMember[] members) {
+        this.beanClass = beanClass;
+        this.instantiator = instantiator;
+        this.constructorDependencies = constructorDependencies;
+        this.members = members;
+        List<Dependency> all = new ArrayList<>(Arrays.asList(constructorDependencies));
+        for (InjectedMember member : members) {
+            all.addAll(Arrays.asList(member.dependencies));
+        }
+        this.dependencies = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Scan a class for @Autowired constructor, fields and methods
+     * @param beanClass class of the bean instances
+     * @param strategy binds the constructor and methods
+     * @return metadata, without members if nothing is annotated
+     * @throws Exception if an annotated member can't be injected
+     */
+    public static InjectionMetadata forClass(Class<?> beanClass, InstantiationStrategy strategy) throws Exception {
+        BeanInstantiator instantiator = null;
+        Dependency[] constructorDependencies = NO_DEPENDENCIES;
+        Constructor<?> autowired = null;
+        for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                if (autowired != null) {
+                    throw new Exception(beanClass.getName() + " has more than one @Autowired constructor");
+                }
+                autowired = constructor;
+            }
+        }
+        if (autowired != null) {
+            constructorDependencies = parameterDependencies(autowired.getParameters(),
+                    autowired.getAnnotation(Autowired.class).required());
+            autowired.setAccessible(true);
+            instantiator = strategy.bind(autowired);
+        }
+
+        //from the class up, so overridden methods are only injected once, in the subclass
+        Deque<List<InjectedMember>> levels = new ArrayDeque<>();
+        Set<String> overridable = new HashSet<>();
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            List<InjectedMember> fields = new ArrayList<>();
+            List<InjectedMember> methods = new ArrayList<>();
+            for (Field field : c.getDeclaredFields()) {
+                Autowired annotation = field.getAnnotation(Autowired.class);
+                if (annotation == null) {
+                    continue;
+                }
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    throw new Exception("@Autowired field " + field + " must not be static or final");
+                }
+                field.setAccessible(true);
+                Ref ref = field.getAnnotation(Ref.class);
+                Dependency dependency = new Dependency(field.getType(), ref == null ? null : ref.value(),
+                        field.getName(), annotation.required());
+                fields.add(new InjectedMember(field.toString(), new Dependency[]{dependency},
+                        (target, args) -> {
+                            field.set(target, args[0]);
+                            return null;
+                        }));
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                String signature = Modifier.isPrivate(method.getModifiers()) ? null
+                        : method.getName() + Arrays.toString(method.getParameterTypes());
+                boolean overridden = signature != null && !overridable.add(signature);
+                Autowired annotation = method.getAnnotation(Autowired.class);
+                if (annotation == null || overridden) {
+                    continue;
+                }
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() == 0) {
+                    throw new Exception("@Autowired method " + method + " must be an instance method with parameters");
+                }
+                method.setAccessible(true);
+                methods.add(new InjectedMember(method.toString(),
+                        parameterDependencies(method.getParameters(), annotation.required()), strategy.bind(method)));
+            }
+            fields.addAll(methods);
+            levels.push(fields);
+        }
+        List<InjectedMember> members = new ArrayList<>();
+        for (List<InjectedMember> level : levels) {
+            members.addAll(level);
+        }
+        return new InjectionMetadata(beanClass, instantiator, constructorDependencies,
+                members.toArray(new InjectedMember[0]));
+    }
+
+    private static Dependency[] parameterDependencies(Parameter[] parameters, boolean required) {
+        Dependency[] dependencies = new Dependency[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Ref ref = parameters[i].getAnnotation(Ref.class);
+            dependencies[i] = new Dependency(parameters[i].getType(), ref == null ? null : ref.value(),
+                    parameters[i].isNamePresent() ? parameters[i].getName() : null, required);
+        }
+        return dependencies;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * check the class has an @Autowired constructor
+     * @return true or false
+     */
+    public boolean hasConstructor() {
+        return instantiator != null;
+    }
+
+    /**
+     * check the class has no @Autowired member at all
+     * @return true or false
+     */
+    public boolean isEmpty() {
+        return instantiator == null && members.length == 0;
+    }
+
+    /**
+     * Get the dependencies of the constructor and all members
+     * @return dependencies
+     */
+    public List<Dependency> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Resolve the arguments of the @Autowired constructor
+     * @param resolver provides the injected Beans
+     * @return constructor args
+     */
+    public Object[] resolveConstructorArgs(DependencyResolver resolver) throws Exception {
+        return resolve(constructorDependencies, resolver);
+    }
+
+    /**
+     * Call the @Autowired constructor
+     * @param args resolved by resolveConstructorArgs
+     * @return new instance
+     */
+    public Object newInstance(Object[] args) throws Exception {
+        return instantiator.newInstance(args);
+    }
+
+    /**
+     * Inject the @Autowired fields and methods of an instance
+     * @param instance bean instance
+     * @param resolver provides the injected Beans
+     */
+    public void inject(Object instance, DependencyResolver resolver) throws Exception {
+        for (InjectedMember member : members) {
+            Object[] args = resolve(member.dependencies, resolver);
+            try {
+                member.invoker.invoke(instance, args);
+            } catch (Exception e) {
+                throw new Exception("can't inject " + member.description + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static Object[] resolve(Dependency[] dependencies, DependencyResolver resolver) throws Exception {
+        Object[] args = new Object[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            args[i] = resolver.resolve(dependencies[i]);
+        }
+        return args;
+    }
+
+    /**
+     * Provide the Bean injected for a dependency
+     */
+    @FunctionalInterface
+    public interface DependencyResolver {
+
+        /**
+         * @param dependency injected field or parameter
+         * @return Bean, or null for an optional dependency without Bean
+         */
+        Object resolve(Dependency dependency) throws Exception;
+    }
+
+    /**
+     * Injected field or parameter
+     */
+    public static final class Dependency {
+
+        private final Class<?> type;
+
+        private final String beanName;
+
+        private final String name;
+
+        private final boolean required;
+
+        Dependency(Class<?> type, String beanName, String name, boolean required) {
+            this.type = type;
+            this.beanName = beanName;
+            this.name = name;
+            this.required = required;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * @return Bean name given with @Ref, null to inject by type
+         */
+        public String getBeanName() {
+            return beanName;
+        }
+
+        /**
+         * @return field or parameter name, null if the parameter names weren't compiled
+         */
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        @Override
+        public String toString() {
+            return (beanName != null ? "bean " + beanName : type.getName()) + (name == null ? "" : " " + name);
+        }
+    }
+
+    private static final class InjectedMember {
+
+        private final String description;
+
+        private final Dependency[] dependencies;
+
+        private final MethodInvoker invoker;
+
+        InjectedMember(String description, Dependency[] dependencies, MethodInvoker invoker) {
+            this.description = description;
+            this.dependencies = dependencies;
+            this.invoker = invoker;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.micah.injection;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beanreference.BeanProvider;
+import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import com.micah.convert.ConversionService;
+import com.micah.env.Environment;
+import com.micah.factory.BeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Property injection compiled once per bean definition, so creating a bean only runs the
+ * pre-resolved accessors instead of looking up fields by reflection every time
+ * @author micah
+ * @create 2026-10-18 09:10
+ **/
+public final class InjectionPlan {
+
+    private final Class<?> beanClass;
+
+    private final Map<String, Object> source;
+
+    private final PropertyAccessor[] accessors;
+
+    private final ValueResolver[] resolvers;
+
+    private InjectionPlan(Class<?> beanClass, Map<String, Object> source,
+                          PropertyAccessor[] accessors, ValueResolver[] resolvers) {
+        this.beanClass = beanClass;
+        this.source = source;
+        this.accessors = accessors;
+        this.resolvers = resolvers;
+    }
+
+    /**
+     * Compile the property values of a bean definition
+     * @param beanClass class of the bean instance
+     * @param propertyKeyValue configured property values
+     * @param boundAccessors pre-bound accessors by property name, may be null
+     * @param beanFactory factory used to get referenced beans
+     * @param registry registry used to check the scope of referenced beans
+     * @return injection plan
+     */
+    public static InjectionPlan compile(Class<?> beanClass, Map<String, Object> propertyKeyValue,
+                                        Map<String, PropertyAccessor> boundAccessors,
+                                        BeanFactory beanFactory, BeanDefinitionRegistry registry) throws NoSuchFieldException {
+        return compile(beanClass, propertyKeyValue, boundAccessors, beanFactory, registry, null, null);
+    }
+
+    /**
+     * Compile the property values of a bean definition, with the placeholders of String values
+     * compiled once into templates and the values converted to the types of typed accessors
+     * @param beanClass class of the bean instance
+     * @param propertyKeyValue configured property values
+     * @param boundAccessors pre-bound accessors by property name, may be null
+     * @param beanFactory factory used to get referenced beans
+     * @param registry registry used to check the scope of referenced beans
+     * @param environment resolves the placeholders, null to take Strings literally
+     * @param conversionService converts the values, null to inject them as they are
+     * @return injection plan
+     */
+    public static InjectionPlan compile(Class<?> beanClass, Map<String, Object> propertyKeyValue,
+                                        Map<String, PropertyAccessor> boundAccessors, BeanFactory beanFactory,
+                                        BeanDefinitionRegistry registry, Environment environment,
+                                        ConversionService conversionService) throws NoSuchFieldException {
+        int size = propertyKeyValue.size();
+        PropertyAccessor[] accessors = new PropertyAccessor[size];
+        ValueResolver[] resolvers = new ValueResolver[size];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : propertyKeyValue.entrySet()) {
+            PropertyAccessor accessor = boundAccessors == null ? null : boundAccessors.get(entry.getKey());
+            accessors[i] = accessor != null ? accessor : PropertyAccessor.forProperty(beanClass, entry.getKey(),
+                    valueType(entry.getValue(), registry), conversionService);
+            resolvers[i] = ValueResolver.of(entry.getValue(), beanFactory, registry, environment);
+            Class<?> propertyType = accessors[i].getPropertyType();
+            if (conversionService != null && propertyType != null) {
+                resolvers[i] = new ConvertingValueResolver(resolvers[i], propertyType, conversionService);
+            }
+            i++;
+        }
+        return new InjectionPlan(beanClass, propertyKeyValue, accessors, resolvers);
+    }
+
+    /**
+     * Get the type of the value injected for a configured value, used to choose between overloaded setters
+     * @param value configured value
+     * @param registry registry to get the class of referenced beans
+     * @return type, null if it's only known once the value is resolved
+     */
+    private static Class<?> valueType(Object value, BeanDefinitionRegistry registry) {
+        if (value instanceof LazyBeanReference) {
+            Class<?> proxyInterface = ((LazyBeanReference) value).getProxyInterface();
+            return proxyInterface != null ? proxyInterface : BeanProvider.class;
+        } else if (value instanceof BeanReference) {
+            BeanDefinition target = registry.getBeanDefinition(((BeanReference) value).getBeanName());
+            return target == null ? null : target.getBeanClass();
+        } else if (value instanceof Properties) {
+            return Properties.class;
+        } else if (value instanceof List) {
+            return List.class;
+        } else if (value instanceof Map) {
+            return Map.class;
+        }
+        return value == null ? null : value.getClass();
+    }
+
+    /**
+     * Check the plan was compiled for this instance class and property map
+     * @param instanceClass class of the bean instance
+     * @param propertyKeyValue configured property values
+     * @return true or false
+     */
+    public boolean isCompiledFor(Class<?> instanceClass, Map<String, Object> propertyKeyValue) {
+        return this.beanClass == instanceClass && this.source == propertyKeyValue;
+    }
+
+    /**
+     * Inject all properties into the instance
+     * @param instance bean instance
+     */
+    public void inject(Object instance) throws Exception {
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i].set(instance, resolvers[i].resolve());
+        }
+    }
+}
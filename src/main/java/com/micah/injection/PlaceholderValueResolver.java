@@ -0,0 +1,48 @@
+package com.micah.injection;
+
+import com.micah.env.Environment;
+import com.micah.env.PlaceholderTemplate;
+
+/**
+ * Resolve a configured String with placeholders. The template is compiled once and the rendered
+ * value is kept until the version of the Environment changes.
+ * @author micah
+ * @create 2026-10-19 01:40
+ **/
+final class PlaceholderValueResolver implements ValueResolver {
+
+    private final PlaceholderTemplate template;
+
+    private final Environment environment;
+
+    private volatile Rendered rendered;
+
+    PlaceholderValueResolver(PlaceholderTemplate template, Environment environment) {
+        this.template = template;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object resolve() throws Exception {
+        //read before rendering, a change while rendering renders again next time
+        long version = environment.getVersion();
+        Rendered current = this.rendered;
+        if (current == null || current.version != version) {
+            current = new Rendered(version, template.render(environment));
+            this.rendered = current;
+        }
+        return current.value;
+    }
+
+    private static final class Rendered {
+
+        private final long version;
+
+        private final String value;
+
+        Rendered(long version, String value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.micah.injection;
+
+import com.micah.convert.ConversionService;
+import com.micah.instantiation.MethodInvoker;
+import com.micah.instantiation.ReflectiveInstantiationStrategy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Pre-resolved write access to a single bean property
+ * @author micah
+ * @create 2026-10-18 09:10
+ **/
+public interface PropertyAccessor {
+
+    /**
+     * Write the value into the property of target
+     * @param target bean instance
+     * @param value resolved value
+     */
+    void set(Object target, Object value) throws Exception;
+
+    /**
+     * Get the type of the property, the injected values are converted to it
+     * @return type, null if unknown and values are set as they are
+     */
+    default Class<?> getPropertyType() {
+        return null;
+    }
+
+    /**
+     * Add the property type to an accessor
+     * @param propertyType type of the field or setter parameter
+     * @param accessor
+     * @return typed accessor
+     */
+    static PropertyAccessor typed(Class<?> propertyType, PropertyAccessor accessor) {
+        return new TypedPropertyAccessor(propertyType, accessor);
+    }
+
+    /**
+     * Resolve the accessor of the property once. The declared field (searched up the class
+     * hierarchy) is preferred, a public single argument setter is the fallback.
+     * @param beanClass class of the bean instance
+     * @param propertyName property name
+     * @return accessor of the property
+     */
+    static PropertyAccessor forProperty(Class<?> beanClass, String propertyName) throws NoSuchFieldException {
+        return forProperty(beanClass, propertyName, null, null);
+    }
+
+    /**
+     * Resolve the accessor of the property once. The declared field (searched up the class
+     * hierarchy) is preferred, a public single argument setter is the fallback. Of overloaded
+     * setters the one fitting the value type best is chosen, whatever the order of getMethods.
+     * @param beanClass class of the bean instance
+     * @param propertyName property name
+     * @param valueType type of the injected value, null if unknown
+     * @param conversionService converts the values, null if they are set as they are
+     * @return accessor of the property
+     */
+    static PropertyAccessor forProperty(Class<?> beanClass, String propertyName, Class<?> valueType,
+                                        ConversionService conversionService) throws NoSuchFieldException {
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(propertyName);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return typed(field.getType(), field::set);
+                }
+            } catch (NoSuchFieldException e) {
+                //continue with the super class
+            }
+        }
+
+        String setterName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        Method setter = Setters.choose(beanClass, setterName, valueType, conversionService);
+        if (setter == null) {
+            throw new NoSuchFieldException(propertyName);
+        }
+        //unwraps the InvocationTargetException, the exception of the setter reaches the caller
+        MethodInvoker invoker = new ReflectiveInstantiationStrategy().bind(setter);
+        return typed(setter.getParameterTypes()[0], (target, value) -> invoker.invoke(target, new Object[]{value}));
+    }
+
+    /**
+     * Accessor knowing the type of its property
+     */
+    final class TypedPropertyAccessor implements PropertyAccessor {
+
+        private final Class<?> propertyType;
+
+        private final PropertyAccessor accessor;
+
+        TypedPropertyAccessor(Class<?> propertyType, PropertyAccessor accessor) {
+            this.propertyType = propertyType;
+            this.accessor = accessor;
+        }
+
+        @Override
+        public void set(Object target, Object value) throws Exception {
+            accessor.set(target, value);
+        }
+
+        @Override
+        public Class<?> getPropertyType() {
+            return propertyType;
+        }
+    }
+}
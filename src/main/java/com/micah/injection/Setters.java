@@ -0,0 +1,77 @@
+package com.micah.injection;
+
+import com.micah.convert.ConversionService;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Choose one of overloaded setters independently of the order of Class.getMethods: the one taking
+ * the value as it is wins, then one the value can be converted to. Between setters of the same
+ * rank the most specific parameter type wins, the type name decides between unrelated types.
+ * @author micah
+ * @create 2026-10-19 13:40
+ **/
+final class Setters {
+
+    private static final int ASSIGNABLE = 0;
+
+    private static final int CONVERTIBLE = 1;
+
+    private static final int UNKNOWN = 2;
+
+    private Setters() {
+    }
+
+    /**
+     * Choose the public one-argument instance setter
+     * @param beanClass
+     * @param setterName
+     * @param valueType type of the injected value, null if unknown
+     * @param conversionService converts the values, null if they are set as they are
+     * @return setter, null if there is none
+     */
+    static Method choose(Class<?> beanClass, String setterName, Class<?> valueType, ConversionService conversionService) {
+        Method chosen = null;
+        int chosenRank = UNKNOWN;
+        for (Method method : beanClass.getMethods()) {
+            if (!method.getName().equals(setterName) || method.getParameterCount() != 1
+                    || Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+            int rank = rank(method.getParameterTypes()[0], valueType, conversionService);
+            if (chosen == null || rank < chosenRank
+                    || (rank == chosenRank && isPreferred(method.getParameterTypes()[0], chosen.getParameterTypes()[0]))) {
+                chosen = method;
+                chosenRank = rank;
+            }
+        }
+        return chosen;
+    }
+
+    private static int rank(Class<?> parameterType, Class<?> valueType, ConversionService conversionService) {
+        if (valueType == null) {
+            return UNKNOWN;
+        }
+        if (ConversionService.wrap(parameterType).isAssignableFrom(valueType)) {
+            return ASSIGNABLE;
+        }
+        return conversionService != null && conversionService.canConvert(valueType, parameterType) ? CONVERTIBLE : UNKNOWN;
+    }
+
+    private static boolean isPreferred(Class<?> parameterType, Class<?> chosenType) {
+        Class<?> wrapped = ConversionService.wrap(parameterType);
+        Class<?> chosenWrapped = ConversionService.wrap(chosenType);
+        if (wrapped == chosenWrapped) {
+            //int before Integer, a null can't be set then but the setter doesn't depend on the order
+            return parameterType.isPrimitive();
+        }
+        if (chosenWrapped.isAssignableFrom(wrapped)) {
+            return true;
+        }
+        if (wrapped.isAssignableFrom(chosenWrapped)) {
+            return false;
+        }
+        return parameterType.getName().compareTo(chosenType.getName()) < 0;
+    }
+}
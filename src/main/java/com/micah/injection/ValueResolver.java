@@ -0,0 +1,138 @@
+package com.micah.injection;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanProvider;
+import com.micah.beanreference.LazyBeanReference;
+import com.micah.env.Environment;
+import com.micah.env.PlaceholderTemplate;
+import com.micah.factory.BeanFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Compiled form of a configured argument or property value
+ * @author micah
+ * @create 2026-10-18 09:10
+ **/
+public interface ValueResolver {
+
+    /**
+     * Produce the value to inject
+     * @return resolved value
+     */
+    Object resolve() throws Exception;
+
+    /**
+     * Compile the configured value into a resolver. Bean references are looked up through the
+     * factory, references to singletons are cached after the first lookup, lazy references share
+     * one provider or proxy, lists and maps are rebuilt with their final size known up front.
+     * @param arg configured value
+     * @param beanFactory factory used to get referenced beans
+     * @param registry registry used to check the scope of referenced beans
+     * @return resolver of the value
+     */
+    static ValueResolver of(Object arg, BeanFactory beanFactory, BeanDefinitionRegistry registry) {
+        return of(arg, beanFactory, registry, null);
+    }
+
+    /**
+     * Compile the configured value into a resolver, Strings with ${...} placeholders are compiled
+     * into templates resolved against the Environment
+     * @param arg configured value
+     * @param beanFactory factory used to get referenced beans
+     * @param registry registry used to check the scope of referenced beans
+     * @param environment resolves the placeholders, null to take Strings literally
+     * @return resolver of the value
+     */
+    static ValueResolver of(Object arg, BeanFactory beanFactory, BeanDefinitionRegistry registry, Environment environment) {
+        if (arg instanceof String && environment != null && PlaceholderTemplate.hasPlaceholder((String) arg)) {
+            PlaceholderTemplate template = PlaceholderTemplate.compile((String) arg);
+            if (template.hasPlaceholders()) {
+                return new PlaceholderValueResolver(template, environment);
+            }
+        } else if (arg instanceof LazyBeanReference) {
+            Object lazy = LazyBeanProvider.forReference((LazyBeanReference) arg, beanFactory, registry);
+            return () -> lazy;
+        } else if (arg instanceof BeanReference) {
+            String beanName = ((BeanReference) arg).getBeanName();
+            BeanDefinition target = registry.getBeanDefinition(beanName);
+            if (target != null && target.isSingleton()) {
+                return new SingletonReferenceResolver(beanFactory, beanName);
+            }
+            return () -> beanFactory.getBean(beanName);
+        } else if (arg instanceof List) {
+            List<?> list = (List<?>) arg;
+            ValueResolver[] elements = new ValueResolver[list.size()];
+            int i = 0;
+            for (Object element : list) {
+                elements[i++] = of(element, beanFactory, registry, environment);
+            }
+            return () -> {
+                List<Object> value = new ArrayList<>(elements.length);
+                for (ValueResolver element : elements) {
+                    value.add(element.resolve());
+                }
+                return value;
+            };
+        } else if (arg instanceof Properties) {
+            Properties properties = (Properties) arg;
+            return () -> {
+                Properties value = new Properties();
+                value.putAll(properties);
+                return value;
+            };
+        } else if (arg instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) arg;
+            Object[] keys = new Object[map.size()];
+            ValueResolver[] values = new ValueResolver[map.size()];
+            Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+            for (int i = 0; i < keys.length; i++) {
+                Map.Entry<?, ?> entry = entries.next();
+                keys[i] = entry.getKey();
+                values[i] = of(entry.getValue(), beanFactory, registry, environment);
+            }
+            return () -> {
+                Map<Object, Object> value = new LinkedHashMap<>((int) (keys.length / 0.75f) + 1);
+                for (int i = 0; i < keys.length; i++) {
+                    value.put(keys[i], values[i].resolve());
+                }
+                return value;
+            };
+        }
+        return () -> arg;
+    }
+
+    /**
+     * Resolve a singleton reference once and hand out the cached instance afterwards
+     */
+    final class SingletonReferenceResolver implements ValueResolver {
+
+        private final BeanFactory beanFactory;
+
+        private final String beanName;
+
+        private volatile Object instance;
+
+        SingletonReferenceResolver(BeanFactory beanFactory, String beanName) {
+            this.beanFactory = beanFactory;
+            this.beanName = beanName;
+        }
+
+        @Override
+        public Object resolve() throws Exception {
+            Object value = this.instance;
+            if (value == null) {
+                value = beanFactory.getBean(beanName);
+                this.instance = value;
+            }
+            return value;
+        }
+    }
+}
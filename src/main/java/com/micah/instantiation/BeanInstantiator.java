@@ -0,0 +1,18 @@
+package com.micah.instantiation;
+
+/**
+ * Constructor bound once by an instantiation strategy
+ * @author micah
+ * @create 2026-10-18 10:20
+ **/
+@FunctionalInterface
+public interface BeanInstantiator {
+
+    /**
+     * Create a new instance
+     * @param args constructor arguments, null or empty for the no-arg constructor
+     * @return instance
+     * @throws Exception thrown by the constructor itself, not wrapped in an InvocationTargetException
+     */
+    Object newInstance(Object[] args) throws Exception;
+}
@@ -0,0 +1,326 @@
+package com.micah.instantiation;
+
+import com.micah.convert.ConversionService;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Choose the public constructor or factory method to call with the configured args. Constructors,
+ * static and instance factory methods follow the same rules: the candidates taking the args as
+ * they are win over the ones needing a conversion, then the candidate with the fewest steps from
+ * the arg types to its parameter types (same type, unboxing, primitive widening, superclasses by
+ * distance) wins, then the most specific. Anything else is ambiguous and fails. The choice is
+ * cached per class, name and arg type signature, so beans of any definition with the same arg
+ * types resolve it once, until a converter is added to the ConversionService.
+ * @author micah
+ * @create 2026-10-19 02:40
+ **/
+public final class ExecutableResolver {
+
+    //the primitive types in widening order, byte to short to int to long to float to double
+    private static final List<Class<?>> WIDENING = Arrays.asList(byte.class, short.class, int.class,
+            long.class, float.class, double.class);
+
+    private final ConversionService conversionService;
+
+    //ConcurrentHashMap to store <class, name and arg types, chosen constructor or method>
+    private final Map<Signature, Resolution> resolved = new ConcurrentHashMap<>();
+
+    public ExecutableResolver(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Choose the public constructor to call with the args
+     * @param type class to instantiate
+     * @param args parsed args, null elements allowed
+     * @return constructor
+     * @throws Exception if none or several equally good constructors match
+     */
+    public Constructor<?> resolveConstructor(Class<?> type, Object[] args) throws Exception {
+        Signature signature = new Signature(type, null, false, argTypes(args));
+        int version = conversionService.getModificationCount();
+        Resolution resolution = resolved.get(signature);
+        if (resolution == null || resolution.version != version) {
+            Executable executable = choose(type, "constructor", Arrays.asList(type.getConstructors()), signature.argTypes);
+            resolution = new Resolution(executable, version);
+            resolved.put(signature, resolution);
+        }
+        return (Constructor<?>) resolution.executable;
+    }
+
+    /**
+     * Choose the public factory method to call with the args
+     * @param type class declaring or inheriting the method
+     * @param methodName
+     * @param isStatic true to choose among the static methods only
+     * @param args parsed args, null elements allowed
+     * @return method
+     * @throws Exception if none or several equally good methods match
+     */
+    public Method resolveFactoryMethod(Class<?> type, String methodName, boolean isStatic, Object[] args) throws Exception {
+        Signature signature = new Signature(type, methodName, isStatic, argTypes(args));
+        int version = conversionService.getModificationCount();
+        Resolution resolution = resolved.get(signature);
+        if (resolution == null || resolution.version != version) {
+            List<Executable> candidates = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(methodName) && !method.isBridge()
+                        && (!isStatic || Modifier.isStatic(method.getModifiers()))) {
+                    candidates.add(method);
+                }
+            }
+            Executable executable = choose(type, "method " + methodName, candidates, signature.argTypes);
+            resolution = new Resolution(executable, version);
+            resolved.put(signature, resolution);
+        }
+        return (Method) resolution.executable;
+    }
+
+    /**
+     * check the args can be passed to a constructor or method chosen before, for example kept in
+     * the bean definition
+     * @param executable
+     * @param args parsed args, may be null
+     * @return true or false
+     */
+    public boolean isApplicable(Executable executable, Object[] args) {
+        int len = args == null ? 0 : args.length;
+        if (executable.getParameterCount() != len) {
+            return false;
+        }
+        Class<?>[] types = executable.getParameterTypes();
+        for (int i = 0; i < len; i++) {
+            Class<?> argType = args[i] == null ? null : args[i].getClass();
+            if (weight(types[i], argType) < 0 && !conversionService.canConvert(argType, types[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?>[] argTypes(Object[] args) {
+        if (args == null) {
+            return new Class<?>[0];
+        }
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return types;
+    }
+
+    private Executable choose(Class<?> type, String description, List<Executable> candidates, Class<?>[] argTypes) throws Exception {
+        List<Executable> best = new ArrayList<>();
+        int bestWeight = Integer.MAX_VALUE;
+        boolean bestConverts = true;
+        for (Executable candidate : candidates) {
+            if (candidate.getParameterCount() != argTypes.length) {
+                continue;
+            }
+            Class<?>[] types = candidate.getParameterTypes();
+            int total = 0;
+            boolean converts = false;
+            for (int i = 0; i < argTypes.length; i++) {
+                int weight = weight(types[i], argTypes[i]);
+                if (weight < 0) {
+                    if (!conversionService.canConvert(argTypes[i], types[i])) {
+                        total = -1;
+                        break;
+                    }
+                    converts = true;
+                } else {
+                    total += weight;
+                }
+            }
+            if (total < 0) {
+                continue;
+            }
+            //no conversion beats any weight, then the lower weight
+            boolean better = best.isEmpty() || (bestConverts && !converts)
+                    || (bestConverts == converts && total < bestWeight);
+            if (better) {
+                best.clear();
+                bestWeight = total;
+                bestConverts = converts;
+            }
+            if (better || (bestConverts == converts && total == bestWeight)) {
+                best.add(candidate);
+            }
+        }
+        if (best.isEmpty()) {
+            throw new Exception("no " + description + " of " + type.getName() + " matches the args " + describe(argTypes));
+        }
+        Executable chosen = mostSpecific(best);
+        if (chosen == null) {
+            throw new Exception("ambiguous " + description + " of " + type.getName() + " for the args "
+                    + describe(argTypes) + ": " + best);
+        }
+        return chosen;
+    }
+
+    /**
+     * the candidate whose parameters are assignable to the parameters of all others, null if none is
+     */
+    private static Executable mostSpecific(List<Executable> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        for (Executable candidate : candidates) {
+            boolean specific = true;
+            for (Executable other : candidates) {
+                if (other != candidate && !assignable(candidate.getParameterTypes(), other.getParameterTypes())) {
+                    specific = false;
+                    break;
+                }
+            }
+            if (specific) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean assignable(Class<?>[] from, Class<?>[] to) {
+        for (int i = 0; i < from.length; i++) {
+            if (weight(to[i], from[i]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Steps to pass an arg to a parameter without conversion: 0 for the same type, 1 to unbox,
+     * 2 to widen a primitive, then 1 + 2 per superclass up to the parameter type
+     * @param parameterType
+     * @param argType class of the arg, null for a null arg
+     * @return steps, -1 if the arg can't be passed as it is
+     */
+    static int weight(Class<?> parameterType, Class<?> argType) {
+        if (argType == null) {
+            return parameterType.isPrimitive() ? -1 : 0;
+        }
+        if (parameterType == argType) {
+            return 0;
+        }
+        if (parameterType.isPrimitive()) {
+            Class<?> primitive = argType.isPrimitive() ? argType : unwrap(argType);
+            if (primitive == parameterType) {
+                return 1;
+            }
+            int from = WIDENING.indexOf(primitive == char.class ? short.class : primitive);
+            int to = WIDENING.indexOf(parameterType);
+            //a char widens like a short, but not to short
+            return from >= 0 && to > from && (primitive != char.class || to > 1) ? 2 : -1;
+        }
+        if (argType.isPrimitive()) {
+            return parameterType.isAssignableFrom(ConversionService.wrap(argType)) ? 1 : -1;
+        }
+        if (!parameterType.isAssignableFrom(argType)) {
+            return -1;
+        }
+        //interfaces count from the topmost superclass still implementing them
+        int distance = 0;
+        for (Class<?> c = argType; c != parameterType && c.getSuperclass() != null
+                && parameterType.isAssignableFrom(c.getSuperclass()); c = c.getSuperclass()) {
+            distance++;
+        }
+        return parameterType.isInterface() ? 2 + 2 * distance : 1 + 2 * distance;
+    }
+
+    private static Class<?> unwrap(Class<?> type) {
+        if (type == Integer.class) {
+            return int.class;
+        } else if (type == Long.class) {
+            return long.class;
+        } else if (type == Boolean.class) {
+            return boolean.class;
+        } else if (type == Double.class) {
+            return double.class;
+        } else if (type == Float.class) {
+            return float.class;
+        } else if (type == Character.class) {
+            return char.class;
+        } else if (type == Short.class) {
+            return short.class;
+        } else if (type == Byte.class) {
+            return byte.class;
+        }
+        return null;
+    }
+
+    private static String describe(Class<?>[] argTypes) {
+        StringBuilder description = new StringBuilder("(");
+        for (int i = 0; i < argTypes.length; i++) {
+            description.append(i == 0 ? "" : ", ").append(argTypes[i] == null ? "null" : argTypes[i].getName());
+        }
+        return description.append(')').toString();
+    }
+
+    /**
+     * Chosen constructor or method, with the modification count of the ConversionService it was chosen with
+     */
+    private static final class Resolution {
+
+        private final Executable executable;
+
+        private final int version;
+
+        Resolution(Executable executable, int version) {
+            this.executable = executable;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Key of a resolution: class, method name or null for constructors, and the arg types
+     */
+    private static final class Signature {
+
+        private final Class<?> type;
+
+        private final String name;
+
+        private final boolean isStatic;
+
+        private final Class<?>[] argTypes;
+
+        private final int hash;
+
+        Signature(Class<?> type, String name, boolean isStatic, Class<?>[] argTypes) {
+            this.type = type;
+            this.name = name;
+            this.isStatic = isStatic;
+            this.argTypes = argTypes;
+            int h = type.hashCode() * 31 + (name == null ? 0 : name.hashCode());
+            this.hash = (h * 31 + (isStatic ? 1 : 0)) * 31 + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return type == other.type && isStatic == other.isStatic && (name == null ? other.name == null : name.equals(other.name))
+                    && Arrays.equals(argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
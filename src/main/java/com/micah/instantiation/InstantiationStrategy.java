@@ -0,0 +1,26 @@
+package com.micah.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Strategy used by the bean factory to call constructors, factory methods and lifecycle methods
+ * @author micah
+ * @create 2026-10-18 10:20
+ **/
+public interface InstantiationStrategy {
+
+    /**
+     * Bind a constructor
+     * @param constructor resolved constructor
+     * @return instantiator calling the constructor
+     */
+    BeanInstantiator bind(Constructor<?> constructor) throws Exception;
+
+    /**
+     * Bind a static or instance method
+     * @param method resolved method
+     * @return invoker calling the method
+     */
+    MethodInvoker bind(Method method) throws Exception;
+}
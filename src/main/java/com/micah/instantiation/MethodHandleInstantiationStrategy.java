@@ -0,0 +1,174 @@
+package com.micah.instantiation;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Default instantiation strategy. No-arg constructors and methods are bound to functional
+ * interfaces generated by LambdaMetafactory, the others to spread MethodHandles. Each
+ * constructor or method is bound once; members which can't be bound fall back to reflection.
+ * Exceptions thrown by the constructor or method reach the caller as they are.
+ * @author micah
+ * @create 2026-10-18 10:20
+ **/
+public class MethodHandleInstantiationStrategy implements InstantiationStrategy {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final MethodType GENERIC_CONSTRUCTOR = MethodType.methodType(Object.class, Object[].class);
+
+    private static final MethodType GENERIC_METHOD = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private Log log = LogFactory.getLog(this.getClass());
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private final ReflectiveInstantiationStrategy fallback = new ReflectiveInstantiationStrategy();
+
+    //ConcurrentHashMap to store <Constructor, BeanInstantiator>
+    private final Map<Constructor<?>, BeanInstantiator> instantiators = new ConcurrentHashMap<>();
+
+    //ConcurrentHashMap to store <Method, MethodInvoker>
+    private final Map<Method, MethodInvoker> invokers = new ConcurrentHashMap<>();
+
+    @Override
+    public BeanInstantiator bind(Constructor<?> constructor) {
+        BeanInstantiator instantiator = instantiators.get(constructor);
+        if (instantiator == null) {
+            instantiator = instantiators.computeIfAbsent(constructor, this::doBind);
+        }
+        return instantiator;
+    }
+
+    @Override
+    public MethodInvoker bind(Method method) {
+        MethodInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = invokers.computeIfAbsent(method, this::doBind);
+        }
+        return invoker;
+    }
+
+    private BeanInstantiator doBind(Constructor<?> constructor) {
+        try {
+            if (constructor.getParameterCount() == 0 && canUseLambda(constructor)) {
+                Supplier<?> supplier = (Supplier<?>) metafactory("get", Supplier.class, MethodType.methodType(Object.class),
+                        lookup.unreflectConstructor(constructor), MethodType.methodType(constructor.getDeclaringClass()));
+                return args -> supplier.get();
+            }
+            constructor.setAccessible(true);
+            MethodHandle handle = lookup.unreflectConstructor(constructor).asFixedArity()
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(GENERIC_CONSTRUCTOR);
+            return args -> {
+                Object[] actualArgs = args == null ? NO_ARGS : args;
+                try {
+                    return (Object) handle.invokeExact(actualArgs);
+                } catch (Throwable e) {
+                    throw ReflectiveInstantiationStrategy.rethrow(e);
+                }
+            };
+        } catch (Throwable e) {
+            log.info("bind constructor " + constructor + " by reflection: " + e);
+            return fallback.bind(constructor);
+        }
+    }
+
+    private MethodInvoker doBind(Method method) {
+        try {
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            if (method.getParameterCount() == 0 && canUseLambda(method)) {
+                return bindLambda(method, isStatic);
+            }
+            method.setAccessible(true);
+            MethodHandle handle = lookup.unreflect(method).asFixedArity();
+            if (isStatic) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle spread = handle.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_METHOD);
+            return (target, args) -> {
+                Object[] actualArgs = args == null ? NO_ARGS : args;
+                try {
+                    return (Object) spread.invokeExact(target, actualArgs);
+                } catch (Throwable e) {
+                    throw ReflectiveInstantiationStrategy.rethrow(e);
+                }
+            };
+        } catch (Throwable e) {
+            log.info("bind method " + method + " by reflection: " + e);
+            return fallback.bind(method);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private MethodInvoker bindLambda(Method method, boolean isStatic) throws Throwable {
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> owner = method.getDeclaringClass();
+        Class<?> returnType = method.getReturnType();
+        if (isStatic) {
+            if (returnType == void.class) {
+                Runnable runnable = (Runnable) metafactory("run", Runnable.class, MethodType.methodType(void.class),
+                        handle, MethodType.methodType(void.class));
+                return (target, args) -> {
+                    runnable.run();
+                    return null;
+                };
+            }
+            Supplier<Object> supplier = (Supplier<Object>) metafactory("get", Supplier.class, MethodType.methodType(Object.class),
+                    handle, MethodType.methodType(wrap(returnType)));
+            return (target, args) -> supplier.get();
+        }
+        if (returnType == void.class) {
+            Consumer<Object> consumer = (Consumer<Object>) metafactory("accept", Consumer.class,
+                    MethodType.methodType(void.class, Object.class), handle, MethodType.methodType(void.class, owner));
+            return (target, args) -> {
+                consumer.accept(target);
+                return null;
+            };
+        }
+        Function<Object, Object> function = (Function<Object, Object>) metafactory("apply", Function.class,
+                MethodType.methodType(Object.class, Object.class), handle, MethodType.methodType(wrap(returnType), owner));
+        return (target, args) -> function.apply(target);
+    }
+
+    private Object metafactory(String name, Class<?> functionalInterface, MethodType samType,
+                               MethodHandle handle, MethodType instantiatedType) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functionalInterface),
+                samType, handle, instantiatedType);
+        return site.getTarget().invoke();
+    }
+
+    /**
+     * The generated lambda class lives in this class' loader and must be able to link the member directly
+     */
+    private boolean canUseLambda(Executable executable) {
+        Class<?> owner = executable.getDeclaringClass();
+        if (!Modifier.isPublic(owner.getModifiers()) || !Modifier.isPublic(executable.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(owner.getName(), false, MethodHandleInstantiationStrategy.class.getClassLoader()) == owner;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
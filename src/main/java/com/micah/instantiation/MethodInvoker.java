@@ -0,0 +1,19 @@
+package com.micah.instantiation;
+
+/**
+ * Factory, init or destroy method bound once by an instantiation strategy
+ * @author micah
+ * @create 2026-10-18 10:20
+ **/
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * Invoke the method
+     * @param target instance to invoke on, ignored for static methods
+     * @param args method arguments, null or empty for no-arg methods
+     * @return method result, null for void methods
+     * @throws Exception thrown by the method itself, not wrapped in an InvocationTargetException
+     */
+    Object invoke(Object target, Object[] args) throws Exception;
+}
@@ -0,0 +1,49 @@
+package com.micah.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Instantiation strategy calling through core reflection, Constructor.newInstance and Method.invoke.
+ * The InvocationTargetException of reflection is unwrapped, the exception thrown by the constructor
+ * or method reaches the caller as it is, like with the other strategies.
+ * @author micah
+ * @create 2026-10-18 10:20
+ **/
+public class ReflectiveInstantiationStrategy implements InstantiationStrategy {
+
+    @Override
+    public BeanInstantiator bind(Constructor<?> constructor) {
+        return args -> {
+            try {
+                return constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw rethrow(e.getTargetException());
+            }
+        };
+    }
+
+    @Override
+    public MethodInvoker bind(Method method) {
+        return (target, args) -> {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw rethrow(e.getTargetException());
+            }
+        };
+    }
+
+    /**
+     * Errors are thrown, exceptions returned to be thrown by the caller, other throwables are wrapped
+     * @param e thrown by a constructor or method
+     * @return exception to throw
+     */
+    static Exception rethrow(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return e instanceof Exception ? (Exception) e : new Exception(e);
+    }
+}
@@ -0,0 +1,28 @@
+package com.micah.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Base of the Flight Recorder events of the Bean factory, the duration is the event's own.
+ * Disabled by default, a recording enables them like any other event, through the settings of
+ * a custom .jfc file, e.g. {@code com.micah.PropertyInjection#enabled=true}, or Recording.enable.
+ * Once enabled, only phases lasting 1 ms or more are recorded unless the threshold is lowered.
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+@Category({"mini-spring", "Beans"})
+@StackTrace(false)
+@Enabled(false)
+@Threshold("1 ms")
+abstract class BeanEvent extends jdk.jfr.Event {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Scope")
+    String scope;
+}
@@ -0,0 +1,58 @@
+package com.micah.jfr;
+
+import com.micah.beandefinition.BeanDefinition;
+
+/**
+ * Emits the Flight Recorder events of the Bean factory. On a JVM without jdk.jfr nothing is
+ * emitted; with it, a disabled event costs a check of the enabled flag of its cached event type,
+ * no event is allocated and the began event is null, so commit does nothing.
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+public final class BeanEvents {
+
+    public static final int INSTANTIATION = 0;
+
+    public static final int CONSTRUCTOR_MATCHING = 1;
+
+    public static final int PROPERTY_INJECTION = 2;
+
+    public static final int INIT = 3;
+
+    public static final int DESTROY = 4;
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    private BeanEvents() {
+    }
+
+    /**
+     * Begin an event if it's enabled
+     * @param kind one of the constants
+     * @return event to commit or null
+     */
+    public static Object begin(int kind) {
+        return AVAILABLE ? JfrBeanEvents.begin(kind) : null;
+    }
+
+    /**
+     * Commit a began event
+     * @param event returned by begin, may be null
+     * @param beanName
+     * @param bd BeanDefinition of the Bean
+     */
+    public static void commit(Object event, String beanName, BeanDefinition bd) {
+        if (event != null) {
+            JfrBeanEvents.commit(event, beanName, bd == null ? null : bd.getScope());
+        }
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, BeanEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.micah.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Running the init method of a Bean
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+@Name("com.micah.BeanInit")
+@Label("Bean Init")
+@Description("Running the init method of a Bean")
+final class BeanInitEvent extends BeanEvent {
+}
@@ -0,0 +1,16 @@
+package com.micah.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Creating a Bean by constructor, static or instance factory method, dependencies included
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+@Name("com.micah.BeanInstantiation")
+@Label("Bean Instantiation")
+@Description("Creating a Bean by constructor, static or instance factory method, dependencies included")
+final class BeanInstantiationEvent extends BeanEvent {
+}
@@ -0,0 +1,16 @@
+package com.micah.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Finding the constructor matching the constructor args of a Bean
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+@Name("com.micah.ConstructorMatching")
+@Label("Constructor Matching")
+@Description("Finding the constructor matching the constructor args of a Bean")
+final class ConstructorMatchingEvent extends BeanEvent {
+}
@@ -0,0 +1,60 @@
+package com.micah.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * Creates the Flight Recorder events, only loaded when jdk.jfr is available
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+final class JfrBeanEvents {
+
+    //indexed by the kind constants of BeanEvents
+    private static final EventType[] TYPES = {
+            EventType.getEventType(BeanInstantiationEvent.class),
+            EventType.getEventType(ConstructorMatchingEvent.class),
+            EventType.getEventType(PropertyInjectionEvent.class),
+            EventType.getEventType(BeanInitEvent.class),
+            EventType.getEventType(BeanDestroyEvent.class)
+    };
+
+    private JfrBeanEvents() {
+    }
+
+    static Object begin(int kind) {
+        //nothing is allocated while no recording enables the event
+        if (!TYPES[kind].isEnabled()) {
+            return null;
+        }
+        BeanEvent event;
+        switch (kind) {
+            case BeanEvents.INSTANTIATION:
+                event = new BeanInstantiationEvent();
+                break;
+            case BeanEvents.CONSTRUCTOR_MATCHING:
+                event = new ConstructorMatchingEvent();
+                break;
+            case BeanEvents.PROPERTY_INJECTION:
+                event = new PropertyInjectionEvent();
+                break;
+            case BeanEvents.INIT:
+                event = new BeanInitEvent();
+                break;
+            default:
+                event = new BeanDestroyEvent();
+                break;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commit(Object started, String beanName, String scope) {
+        BeanEvent event = (BeanEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.beanName = beanName;
+            event.scope = scope;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.micah.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Injecting the property values of a Bean, referenced Beans included
+ * @author micah
+ * @create 2026-10-18 19:40
+ **/
+@Name("com.micah.PropertyInjection")
+@Label("Property Injection")
+@Description("Injecting the property values of a Bean, referenced Beans included")
+final class PropertyInjectionEvent extends BeanEvent {
+}
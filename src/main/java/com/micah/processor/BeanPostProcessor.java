@@ -0,0 +1,41 @@
+package com.micah.processor;
+
+/**
+ * Hook into the creation of the Beans of some types, e.g. to validate, decorate or wrap them.
+ * The factory asks each processor once per bean definition whether it applies, the creation of
+ * Beans no processor targets doesn't run any processor code.
+ * @author micah
+ * @create 2026-10-18 23:40
+ **/
+public interface BeanPostProcessor {
+
+    /**
+     * Get the types of the Beans this processor applies to, a Bean is processed when its class
+     * is assignable to any of them
+     * @return target types, Object for all Beans
+     */
+    default Class<?>[] getTargetTypes() {
+        return new Class<?>[]{Object.class};
+    }
+
+    /**
+     * Called after the Bean is instantiated and its properties and @Autowired members are injected,
+     * before its init method
+     * @param bean instance
+     * @param beanName
+     * @return the Bean to go on with, the given one or a replacement, null to keep the given one
+     */
+    default Object postProcessBeforeInitialization(Object bean, String beanName) throws Exception {
+        return bean;
+    }
+
+    /**
+     * Called after the init method, the returned Bean is the one handed out by the factory
+     * @param bean instance
+     * @param beanName
+     * @return the given Bean or a replacement like a proxy, null to keep the given one
+     */
+    default Object postProcessAfterInitialization(Object bean, String beanName) throws Exception {
+        return bean;
+    }
+}
@@ -0,0 +1,93 @@
+package com.micah.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The BeanPostProcessors applying to one Bean class, selected once per bean definition so
+ * creating a Bean only runs the processors targeting it
+ * @author micah
+ * @create 2026-10-18 23:40
+ **/
+public final class BeanPostProcessorChain {
+
+    private final Class<?> beanClass;
+
+    private final BeanPostProcessor[] processors;
+
+    private BeanPostProcessorChain(Class<?> beanClass, BeanPostProcessor[] processors) {
+        this.beanClass = beanClass;
+        this.processors = processors;
+    }
+
+    /**
+     * Select the processors targeting a Bean class, in their order
+     * @param beanClass class of the bean instance
+     * @param processors all registered processors
+     * @return chain, empty if no processor targets the class
+     */
+    public static BeanPostProcessorChain select(Class<?> beanClass, Collection<BeanPostProcessor> processors) {
+        List<BeanPostProcessor> selected = new ArrayList<>();
+        for (BeanPostProcessor processor : processors) {
+            for (Class<?> type : processor.getTargetTypes()) {
+                if (type.isAssignableFrom(beanClass)) {
+                    selected.add(processor);
+                    break;
+                }
+            }
+        }
+        return new BeanPostProcessorChain(beanClass, selected.toArray(new BeanPostProcessor[0]));
+    }
+
+    /**
+     * Check the chain was selected for this instance class
+     * @param instanceClass class of the bean instance
+     * @return true or false
+     */
+    public boolean isSelectedFor(Class<?> instanceClass) {
+        return this.beanClass == instanceClass;
+    }
+
+    public boolean isEmpty() {
+        return processors.length == 0;
+    }
+
+    public int size() {
+        return processors.length;
+    }
+
+    /**
+     * Run the before-init hooks in order
+     * @param bean instance
+     * @param beanName
+     * @return the Bean to go on with
+     */
+    public Object applyBeforeInitialization(Object bean, String beanName) throws Exception {
+        Object current = bean;
+        for (BeanPostProcessor processor : processors) {
+            Object processed = processor.postProcessBeforeInitialization(current, beanName);
+            if (processed != null) {
+                current = processed;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Run the after-init hooks in order
+     * @param bean instance
+     * @param beanName
+     * @return the Bean handed out
+     */
+    public Object applyAfterInitialization(Object bean, String beanName) throws Exception {
+        Object current = bean;
+        for (BeanPostProcessor processor : processors) {
+            Object processed = processor.postProcessAfterInitialization(current, beanName);
+            if (processed != null) {
+                current = processed;
+            }
+        }
+        return current;
+    }
+}
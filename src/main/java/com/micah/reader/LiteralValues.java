@@ -0,0 +1,64 @@
+package com.micah.reader;
+
+/**
+ * Conversion of the literal values of definition files to the type named next to them
+ * @author micah
+ * @create 2026-10-18 22:30
+ **/
+final class LiteralValues {
+
+    private LiteralValues() {
+    }
+
+    /**
+     * Convert a literal
+     * @param literal text of the value
+     * @param type primitive, boxed or String type name, simple or qualified, null for String
+     * @param location position in the definition file used in error messages
+     * @return converted value
+     */
+    static Object convert(String literal, String type, String location) throws Exception {
+        if (type == null || type.isEmpty()) {
+            return literal;
+        }
+        String simpleName = type.startsWith("java.lang.") ? type.substring("java.lang.".length()) : type;
+        try {
+            switch (simpleName) {
+                case "String":
+                    return literal;
+                case "boolean":
+                case "Boolean":
+                    return Boolean.valueOf(literal.trim());
+                case "byte":
+                case "Byte":
+                    return Byte.valueOf(literal.trim());
+                case "short":
+                case "Short":
+                    return Short.valueOf(literal.trim());
+                case "int":
+                case "Integer":
+                    return Integer.valueOf(literal.trim());
+                case "long":
+                case "Long":
+                    return Long.valueOf(literal.trim());
+                case "float":
+                case "Float":
+                    return Float.valueOf(literal.trim());
+                case "double":
+                case "Double":
+                    return Double.valueOf(literal.trim());
+                case "char":
+                case "Character":
+                    if (literal.length() != 1) {
+                        throw new NumberFormatException("not a single character");
+                    }
+                    return literal.charAt(0);
+                default:
+                    throw new Exception("unsupported value type " + type + " at " + location
+                            + ", only String, primitive and boxed types are supported");
+            }
+        } catch (NumberFormatException e) {
+            throw new Exception("value \"" + literal + "\" at " + location + " isn't a " + type + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.micah.reader;
+
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Load Bean definitions from a properties file line by line, without loading the whole file into
+ * a java.util.Properties. The key is the bean name and, after its last dot, what is defined:
+ * <pre>
+ * b.(class)=com.example.B
+ * b.(scope)=prototype
+ * b.(init-method)=init
+ * b.(destroy-method)=close
+ * b.$0(int)=8080
+ * b.$1(ref)=a
+ * b.name=text
+ * b.d(lazy-ref)=d
+ * </pre>
+ * (lazy-init), (factory-bean), (factory-method) and (static-factory-method) are defined the same way.
+ * Constructor args are indexed from 0, values are Strings unless typed with a primitive or boxed
+ * type, ref or lazy-ref. The lines of a bean must be contiguous: a definition is registered when
+ * the next bean starts, so only one is held while reading.
+ * @author micah
+ * @create 2026-10-18 22:50
+ **/
+public class PropertiesBeanDefinitionReader {
+
+    private static final Log log = LogFactory.getLog(PropertiesBeanDefinitionReader.class);
+
+    private final BeanDefinitionRegistry registry;
+
+    private final ClassLoader classLoader;
+
+    public PropertiesBeanDefinitionReader(BeanDefinitionRegistry registry) {
+        this(registry, Thread.currentThread().getContextClassLoader());
+    }
+
+    public PropertiesBeanDefinitionReader(BeanDefinitionRegistry registry, ClassLoader classLoader) {
+        this.registry = registry;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Load the Bean definitions of a UTF-8 file
+     * @param file properties file
+     * @return number of registered Bean definitions
+     */
+    public int loadBeanDefinitions(Path file) throws Exception {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return loadBeanDefinitions(reader, file.toString());
+        }
+    }
+
+    /**
+     * Load the Bean definitions of a reader, the reader isn't closed
+     * @param reader properties content
+     * @param source name of the content used in error messages
+     * @return number of registered Bean definitions
+     */
+    public int loadBeanDefinitions(Reader reader, String source) throws Exception {
+        long start = System.nanoTime();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+        //names registered from this source, to reject a bean whose lines aren't contiguous
+        Set<String> loaded = new HashSet<>();
+        PendingBean pending = null;
+        StringBuilder logical = new StringBuilder();
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            String trimmed = trimLeading(line);
+            if (logical.length() == 0 && (trimmed.isEmpty() || trimmed.charAt(0) == '#' || trimmed.charAt(0) == '!')) {
+                continue;
+            }
+            if (continues(trimmed)) {
+                logical.append(trimmed, 0, trimmed.length() - 1);
+                continue;
+            }
+            logical.append(trimmed);
+            String location = source + ":" + lineNumber;
+            int separator = separatorIndex(logical);
+            String key = unescape(logical.substring(0, separator).trim(), location);
+            String value = separator < logical.length() ? unescape(valueOf(logical, separator), location) : "";
+            logical.setLength(0);
+
+            //the bean name ends at the last dot before a type, which may be qualified
+            int type = key.indexOf('(');
+            int dot = key.lastIndexOf('.', type < 0 ? key.length() : type);
+            if (dot <= 0 || dot == key.length() - 1) {
+                throw new Exception("key " + key + " at " + location + " must be <bean name>.<attribute, $index or property>");
+            }
+            String beanName = key.substring(0, dot);
+            if (pending == null || !pending.beanName.equals(beanName)) {
+                if (pending != null) {
+                    register(pending, source);
+                    loaded.add(pending.beanName);
+                }
+                if (loaded.contains(beanName)) {
+                    throw new Exception("the lines of bean " + beanName + " aren't contiguous at " + location);
+                }
+                pending = new PendingBean(beanName, location);
+            }
+            define(pending, key.substring(dot + 1), value, location);
+        }
+        if (pending != null) {
+            register(pending, source);
+            loaded.add(pending.beanName);
+        }
+        log.info("loaded " + loaded.size() + " Bean definitions from " + source + " in "
+                + (System.nanoTime() - start) / 1000000 + "ms");
+        return loaded.size();
+    }
+
+    private void define(PendingBean bean, String attribute, String value, String location) throws Exception {
+        DefaultBeanDefinition bd = bean.definition;
+        switch (attribute) {
+            case "(class)":
+                try {
+                    bd.setBeanClass(Class.forName(value.trim(), false, classLoader));
+                } catch (ClassNotFoundException e) {
+                    throw new Exception("class " + value + " not found at " + location, e);
+                }
+                return;
+            case "(scope)":
+                bd.setScope(value.trim());
+                return;
+            case "(lazy-init)":
+                bd.setLazyInit(Boolean.parseBoolean(value.trim()));
+                return;
+            case "(init-method)":
+                bd.setBeanInitMethodName(value.trim());
+                return;
+            case "(destroy-method)":
+                bd.setBeanDestroyMethodName(value.trim());
+                return;
+            case "(factory-bean)":
+                bd.setFactoryBeanName(value.trim());
+                return;
+            case "(factory-method)":
+                bd.setCreateBeanMethodName(value.trim());
+                return;
+            case "(static-factory-method)":
+                bd.setStaticCreateBeanMethodName(value.trim());
+                return;
+            default:
+                break;
+        }
+        String name = attribute;
+        String type = null;
+        int open = attribute.indexOf('(');
+        if (open >= 0) {
+            if (!attribute.endsWith(")")) {
+                throw new Exception("unclosed type in " + attribute + " at " + location);
+            }
+            name = attribute.substring(0, open);
+            type = attribute.substring(open + 1, attribute.length() - 1).trim();
+        }
+        Object converted;
+        if ("ref".equals(type)) {
+            converted = new BeanReference(value.trim());
+        } else if ("lazy-ref".equals(type)) {
+            converted = new LazyBeanReference(value.trim());
+        } else {
+            converted = LiteralValues.convert(value, type, location);
+        }
+        if (name.startsWith("$")) {
+            int index;
+            try {
+                index = Integer.parseInt(name.substring(1));
+            } catch (NumberFormatException e) {
+                throw new Exception("bad constructor arg index " + name + " at " + location);
+            }
+            if (bean.constructorArg.put(index, converted) != null) {
+                throw new Exception("constructor arg " + index + " defined twice at " + location);
+            }
+        } else if (name.isEmpty() || name.startsWith("(")) {
+            throw new Exception("unknown attribute " + attribute + " at " + location);
+        } else {
+            if (bean.values == null) {
+                bean.values = new LinkedHashMap<>();
+            }
+            bean.values.put(name, converted);
+        }
+    }
+
+    private void register(PendingBean bean, String source) throws Exception {
+        if (!bean.constructorArg.isEmpty()) {
+            List<Object> constructorArg = new ArrayList<>(bean.constructorArg.size());
+            for (Map.Entry<Integer, Object> arg : bean.constructorArg.entrySet()) {
+                if (arg.getKey() != constructorArg.size()) {
+                    throw new Exception("constructor arg " + constructorArg.size() + " of bean " + bean.beanName
+                            + " defined from " + bean.location + " is missing");
+                }
+                constructorArg.add(arg.getValue());
+            }
+            bean.definition.setConstructorArg(constructorArg);
+        }
+        bean.definition.setPropertyKeyValue(bean.values);
+        registry.registerBeanDefinition(bean.definition, bean.beanName);
+    }
+
+    /**
+     * Index of the first unescaped '=', ':' or whitespace, the length if there is none
+     */
+    private static int separatorIndex(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '=' || c == ':' || Character.isWhitespace(c)) {
+                return i;
+            }
+        }
+        return line.length();
+    }
+
+    /**
+     * The value after the separator, whitespace around a '=' or ':' is skipped
+     */
+    private static String valueOf(CharSequence line, int separator) {
+        int i = separator;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        if (i < line.length() && (line.charAt(i) == '=' || line.charAt(i) == ':')) {
+            i++;
+        }
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return line.subSequence(i, line.length()).toString();
+    }
+
+    /**
+     * A line ending with an odd number of backslashes continues on the next line
+     */
+    private static boolean continues(String line) {
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static String trimLeading(String line) {
+        int i = 0;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return line.substring(i);
+    }
+
+    private static String unescape(String text, String location) throws IOException {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i == text.length() - 1) {
+                result.append(c);
+                continue;
+            }
+            c = text.charAt(++i);
+            switch (c) {
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 >= text.length()) {
+                        throw new IOException("malformed \\u escape at " + location);
+                    }
+                    try {
+                        result.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("malformed \\u escape at " + location);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Definition of the bean whose lines are being read
+     */
+    private static final class PendingBean {
+
+        private final String beanName;
+
+        private final String location;
+
+        private final DefaultBeanDefinition definition = new DefaultBeanDefinition();
+
+        private final TreeMap<Integer, Object> constructorArg = new TreeMap<>();
+
+        private Map<String, Object> values;
+
+        PendingBean(String beanName, String location) {
+            this.beanName = beanName;
+            this.location = location;
+        }
+    }
+}
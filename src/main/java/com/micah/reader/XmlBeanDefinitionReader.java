@@ -0,0 +1,237 @@
+package com.micah.reader;
+
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load Bean definitions from XML with a StAX stream reader. Each bean element is registered as
+ * soon as its end tag is read, so only one definition is held while reading and the memory used
+ * doesn't grow with the file size.
+ * <pre>
+ * &lt;beans&gt;
+ *     &lt;bean id="b" class="com.example.B" scope="prototype" init-method="init" destroy-method="close"&gt;
+ *         &lt;constructor-arg value="8080" type="int"/&gt;
+ *         &lt;constructor-arg ref="a"/&gt;
+ *         &lt;constructor-arg&gt;&lt;list&gt;&lt;ref bean="c"/&gt;&lt;value&gt;text&lt;/value&gt;&lt;/list&gt;&lt;/constructor-arg&gt;
+ *         &lt;property name="d" ref="d" lazy="true" proxy-interface="java.lang.Runnable"/&gt;
+ *     &lt;/bean&gt;
+ * &lt;/beans&gt;
+ * </pre>
+ * A bean element also takes lazy-init, factory-bean, factory-method and static-factory-method.
+ * @author micah
+ * @create 2026-10-18 22:30
+ **/
+public class XmlBeanDefinitionReader {
+
+    private static final Log log = LogFactory.getLog(XmlBeanDefinitionReader.class);
+
+    private final BeanDefinitionRegistry registry;
+
+    private final ClassLoader classLoader;
+
+    private final XMLInputFactory inputFactory;
+
+    public XmlBeanDefinitionReader(BeanDefinitionRegistry registry) {
+        this(registry, Thread.currentThread().getContextClassLoader());
+    }
+
+    public XmlBeanDefinitionReader(BeanDefinitionRegistry registry, ClassLoader classLoader) {
+        this.registry = registry;
+        this.classLoader = classLoader;
+        this.inputFactory = XMLInputFactory.newInstance();
+        //definition files never need a DTD, and resolving external entities would read arbitrary files
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Load the Bean definitions of a file
+     * @param file XML file
+     * @return number of registered Bean definitions
+     */
+    public int loadBeanDefinitions(Path file) throws Exception {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            return loadBeanDefinitions(in, file.toString());
+        }
+    }
+
+    /**
+     * Load the Bean definitions of a stream, the stream isn't closed
+     * @param in XML content
+     * @param source name of the content used in error messages
+     * @return number of registered Bean definitions
+     */
+    public int loadBeanDefinitions(InputStream in, String source) throws Exception {
+        long start = System.nanoTime();
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(source, in);
+        int count = 0;
+        try {
+            if (reader.nextTag() != XMLStreamConstants.START_ELEMENT || !"beans".equals(reader.getLocalName())) {
+                throw new Exception("root element of " + source + " must be beans");
+            }
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                requireElement(reader, source, "bean");
+                String beanName = reader.getAttributeValue(null, "id");
+                if (beanName == null || beanName.trim().isEmpty()) {
+                    throw new Exception("bean without id at " + location(reader, source));
+                }
+                registry.registerBeanDefinition(readBean(reader, source), beanName);
+                count++;
+            }
+        } catch (XMLStreamException e) {
+            throw new Exception("can't parse " + source + ": " + e.getMessage(), e);
+        } finally {
+            reader.close();
+        }
+        log.info("loaded " + count + " Bean definitions from " + source + " in "
+                + (System.nanoTime() - start) / 1000000 + "ms");
+        return count;
+    }
+
+    /**
+     * Read a bean element, the reader is left on its end tag
+     */
+    private DefaultBeanDefinition readBean(XMLStreamReader reader, String source) throws Exception {
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        String className = reader.getAttributeValue(null, "class");
+        if (className != null) {
+            bd.setBeanClass(loadClass(className, reader, source));
+        }
+        bd.setScope(reader.getAttributeValue(null, "scope"));
+        bd.setLazyInit(Boolean.parseBoolean(reader.getAttributeValue(null, "lazy-init")));
+        bd.setBeanInitMethodName(reader.getAttributeValue(null, "init-method"));
+        bd.setBeanDestroyMethodName(reader.getAttributeValue(null, "destroy-method"));
+        bd.setFactoryBeanName(reader.getAttributeValue(null, "factory-bean"));
+        bd.setCreateBeanMethodName(reader.getAttributeValue(null, "factory-method"));
+        bd.setStaticCreateBeanMethodName(reader.getAttributeValue(null, "static-factory-method"));
+
+        List<Object> constructorArg = null;
+        Map<String, Object> values = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("constructor-arg".equals(reader.getLocalName())) {
+                if (constructorArg == null) {
+                    constructorArg = new ArrayList<>();
+                }
+                constructorArg.add(readValue(reader, source));
+            } else {
+                requireElement(reader, source, "property");
+                String name = reader.getAttributeValue(null, "name");
+                if (name == null || name.isEmpty()) {
+                    throw new Exception("property without name at " + location(reader, source));
+                }
+                if (values == null) {
+                    values = new LinkedHashMap<>();
+                }
+                values.put(name, readValue(reader, source));
+            }
+        }
+        bd.setConstructorArg(constructorArg);
+        bd.setPropertyKeyValue(values);
+        return bd;
+    }
+
+    /**
+     * Read the value of a constructor-arg or property element, given by a value or ref attribute
+     * or by a single nested value, ref or list element. The reader is left on the end tag.
+     */
+    private Object readValue(XMLStreamReader reader, String source) throws Exception {
+        String location = location(reader, source);
+        String value = reader.getAttributeValue(null, "value");
+        if (value != null) {
+            Object converted = LiteralValues.convert(value, reader.getAttributeValue(null, "type"), location);
+            requireEnd(reader, source);
+            return converted;
+        }
+        String ref = reader.getAttributeValue(null, "ref");
+        if (ref != null) {
+            BeanReference reference = reference(ref, reader, source);
+            requireEnd(reader, source);
+            return reference;
+        }
+        if (reader.nextTag() != XMLStreamConstants.START_ELEMENT) {
+            throw new Exception("missing value at " + location);
+        }
+        Object nested = readNestedValue(reader, source);
+        requireEnd(reader, source);
+        return nested;
+    }
+
+    private Object readNestedValue(XMLStreamReader reader, String source) throws Exception {
+        String location = location(reader, source);
+        switch (reader.getLocalName()) {
+            case "value":
+                String type = reader.getAttributeValue(null, "type");
+                return LiteralValues.convert(reader.getElementText(), type, location);
+            case "ref":
+                String beanName = reader.getAttributeValue(null, "bean");
+                if (beanName == null) {
+                    throw new Exception("ref without bean at " + location);
+                }
+                BeanReference reference = reference(beanName, reader, source);
+                requireEnd(reader, source);
+                return reference;
+            case "null":
+                requireEnd(reader, source);
+                return null;
+            case "list":
+                List<Object> list = new ArrayList<>();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    list.add(readNestedValue(reader, source));
+                }
+                return list;
+            default:
+                throw new Exception("unexpected element " + reader.getLocalName() + " at " + location);
+        }
+    }
+
+    private BeanReference reference(String beanName, XMLStreamReader reader, String source) throws Exception {
+        if (!Boolean.parseBoolean(reader.getAttributeValue(null, "lazy"))) {
+            return new BeanReference(beanName);
+        }
+        String proxyInterface = reader.getAttributeValue(null, "proxy-interface");
+        return new LazyBeanReference(beanName, proxyInterface == null ? null : loadClass(proxyInterface, reader, source));
+    }
+
+    private Class<?> loadClass(String className, XMLStreamReader reader, String source) throws Exception {
+        try {
+            return Class.forName(className.trim(), false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new Exception("class " + className + " not found at " + location(reader, source), e);
+        }
+    }
+
+    private static void requireElement(XMLStreamReader reader, String source, String name) throws Exception {
+        if (!name.equals(reader.getLocalName())) {
+            throw new Exception("expected " + name + " but found " + reader.getLocalName() + " at " + location(reader, source));
+        }
+    }
+
+    private static void requireEnd(XMLStreamReader reader, String source) throws Exception {
+        String name = reader.getLocalName();
+        if (reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            throw new Exception("unexpected content in " + name + " at " + location(reader, source));
+        }
+    }
+
+    private static String location(XMLStreamReader reader, String source) {
+        return source + ":" + reader.getLocation().getLineNumber() + ":" + reader.getLocation().getColumnNumber();
+    }
+}
@@ -0,0 +1,446 @@
+package com.micah.scan;
+
+import com.micah.annotation.Component;
+import com.micah.annotation.Ref;
+import com.micah.annotation.Value;
+import com.micah.beandefinition.BeanDefinitionRegistry;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.injection.PropertyAccessor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipException;
+
+/**
+ * Find the classes annotated with @Component under base packages and register a Bean definition
+ * for each of them, wired with @Ref and @Value like the generated BeanRegistrars.
+ * The component index written by BeanRegistrarProcessor is used for the class path roots, directories
+ * or jars, which have one. The class files of the other roots are parsed in parallel without loading
+ * them: directories are walked and jars are memory mapped. Only the found components are loaded.
+ * @author micah
+ * @create 2026-10-18 21:40
+ **/
+public class ClassPathComponentScanner {
+
+    public static final String COMPONENT_INDEX = "META-INF/mini-spring.components";
+
+    private static final Log log = LogFactory.getLog(ClassPathComponentScanner.class);
+
+    private final BeanDefinitionRegistry registry;
+
+    private final ClassLoader classLoader;
+
+    private final ComponentClassReader reader = new ComponentClassReader(Component.class.getName());
+
+    private boolean useIndex = true;
+
+    //class files parsed by the last search, 0 if every root has an index
+    private volatile int parsedClassCount;
+
+    public ClassPathComponentScanner(BeanDefinitionRegistry registry, ClassLoader classLoader) {
+        this.registry = registry;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Set whether the component index of a class path root is used instead of parsing its class files
+     * @param useIndex true by default
+     */
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
+    public int getParsedClassCount() {
+        return parsedClassCount;
+    }
+
+    /**
+     * Register a Bean definition for every component under the base packages
+     * @param basePackages packages searched including their sub packages
+     * @return number of registered Bean definitions
+     */
+    public int scan(String... basePackages) throws Exception {
+        Set<String> classNames = findCandidateClassNames(basePackages);
+        int registered = 0;
+        for (String className : classNames) {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            Component component = clazz.getAnnotation(Component.class);
+            if (component == null) {
+                //stale index entry
+                log.warn(className + " is listed in " + COMPONENT_INDEX + " but isn't annotated with @Component");
+                continue;
+            }
+            String beanName = ComponentRules.beanName(component.value(), clazz.getSimpleName());
+            registry.registerBeanDefinition(createBeanDefinition(clazz, component), beanName);
+            registered++;
+        }
+        log.info("registered " + registered + " components under " + String.join(", ", basePackages)
+                + (parsedClassCount == 0 ? " from the component index" : ", parsed " + parsedClassCount + " class files"));
+        return registered;
+    }
+
+    /**
+     * Find the names of the component classes under the base packages without loading any class
+     * @param basePackages packages searched including their sub packages
+     * @return class names, sorted
+     */
+    public Set<String> findCandidateClassNames(String... basePackages) throws Exception {
+        for (String basePackage : basePackages) {
+            if (basePackage == null || basePackage.trim().isEmpty()) {
+                throw new Exception("base package must not be blank");
+            }
+        }
+        String[] packages = outermostPackages(basePackages);
+        Set<String> classNames = new TreeSet<>();
+        Set<String> indexedRoots = new HashSet<>();
+        if (useIndex) {
+            readIndex(packages, classNames, indexedRoots);
+        }
+        classNames.addAll(parseClassPath(packages, indexedRoots));
+        return classNames;
+    }
+
+    /**
+     * Drop the base packages under another one, e.g. "com.a.b" when "com.a" is searched as well,
+     * so no class file is parsed twice
+     * @param basePackages
+     * @return trimmed base packages, none under another
+     */
+    private static String[] outermostPackages(String[] basePackages) {
+        Set<String> packages = new TreeSet<>();
+        for (String basePackage : basePackages) {
+            packages.add(basePackage.trim());
+        }
+        List<String> outermost = new ArrayList<>(packages.size());
+        for (String basePackage : packages) {
+            //sorted, an enclosing package comes right before the packages under it
+            String last = outermost.isEmpty() ? null : outermost.get(outermost.size() - 1);
+            if (last == null || !basePackage.startsWith(last + ".")) {
+                outermost.add(basePackage);
+            }
+        }
+        return outermost.toArray(new String[0]);
+    }
+
+    /**
+     * Read the component indexes of the class path
+     * @param classNames collects the indexed class names under the base packages
+     * @param indexedRoots collects the class path roots having an index
+     */
+    private void readIndex(String[] basePackages, Set<String> classNames, Set<String> indexedRoots) throws IOException {
+        Enumeration<URL> indexes = classLoader.getResources(COMPONENT_INDEX);
+        while (indexes.hasMoreElements()) {
+            URL index = indexes.nextElement();
+            indexedRoots.add(rootOf(index, COMPONENT_INDEX));
+            try (InputStream in = index.openStream();
+                 BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    String className = line.trim();
+                    if (!className.isEmpty() && !className.startsWith("#") && inPackages(className, basePackages)) {
+                        classNames.add(className);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the class files under the base packages
+     * @param indexedRoots class path roots whose index was read, they aren't parsed
+     * @return component class names
+     */
+    private Set<String> parseClassPath(String[] basePackages, Set<String> indexedRoots) throws Exception {
+        List<ClassSource> sources = new ArrayList<>();
+        Set<String> roots = new LinkedHashSet<>();
+        Map<Path, MappedJar> jars = new HashMap<>();
+        for (String basePackage : basePackages) {
+            String packagePath = basePackage.replace('.', '/');
+            Enumeration<URL> urls = classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                //a class loader may list the same location twice
+                if (!roots.add(url.toString()) || indexedRoots.contains(rootOf(url, packagePath))) {
+                    continue;
+                }
+                if ("file".equals(url.getProtocol())) {
+                    addDirectory(sources, Paths.get(url.toURI()));
+                } else if ("jar".equals(url.getProtocol())) {
+                    addJar(sources, jars, url, packagePath + "/");
+                } else {
+                    log.warn("can't scan " + url + ", unsupported protocol");
+                }
+            }
+        }
+        parsedClassCount = sources.size();
+        Set<String> classNames;
+        try {
+            classNames = sources.parallelStream()
+                    .map(this::parse)
+                    .filter(name -> name != null && inPackages(name, basePackages))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        } catch (UncheckedIOException e) {
+            //other workers may still be reading the mappings, they are left to the collector
+            throw e.getCause();
+        }
+        for (MappedJar jar : jars.values()) {
+            jar.close();
+        }
+        return classNames;
+    }
+
+    private String parse(ClassSource source) {
+        try {
+            return reader.componentClassName(source.read());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            //not a valid class file, the class loader would reject it as well
+            log.warn("can't parse class file " + source + ": " + e);
+            return null;
+        }
+    }
+
+    private void addDirectory(List<ClassSource> sources, Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".class") && Files.isRegularFile(file))
+                    .forEach(file -> sources.add(new ClassSource() {
+                        @Override
+                        public ByteBuffer read() throws IOException {
+                            return ByteBuffer.wrap(Files.readAllBytes(file));
+                        }
+
+                        @Override
+                        public String toString() {
+                            return file.toString();
+                        }
+                    }));
+        }
+    }
+
+    private void addJar(List<ClassSource> sources, Map<Path, MappedJar> jars, URL url, String prefix)
+            throws IOException, URISyntaxException {
+        URL jarUrl = ((JarURLConnection) url.openConnection()).getJarFileURL();
+        if (!"file".equals(jarUrl.getProtocol())) {
+            log.warn("can't scan " + url + ", the jar isn't a local file");
+            return;
+        }
+        Path path = Paths.get(jarUrl.toURI());
+        try {
+            MappedJar jar = jars.get(path);
+            if (jar == null) {
+                jar = MappedJar.open(path);
+                jars.put(path, jar);
+            }
+            MappedJar mapped = jar;
+            for (MappedJar.Entry entry : jar.classEntries(prefix)) {
+                sources.add(new ClassSource() {
+                    @Override
+                    public ByteBuffer read() throws IOException {
+                        return mapped.read(entry);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return path + "!/" + entry.name;
+                    }
+                });
+            }
+        } catch (ZipException e) {
+            log.debug("can't map " + path + ", reading it with JarFile: " + e.getMessage());
+            addJarEntries(sources, path, prefix);
+        }
+    }
+
+    /**
+     * Fallback for the jars MappedJar can't read, e.g. ZIP64 archives or jars over 2 GB: the entries are read up front
+     */
+    private void addJarEntries(List<ClassSource> sources, Path path, String prefix) throws IOException {
+        try (JarFile jarFile = new JarFile(path.toFile())) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                if (entry.getName().startsWith(prefix) && entry.getName().endsWith(".class")) {
+                    byte[] content;
+                    try (InputStream in = jarFile.getInputStream(entry)) {
+                        content = readFully(in);
+                    }
+                    String name = path + "!/" + entry.getName();
+                    sources.add(new ClassSource() {
+                        @Override
+                        public ByteBuffer read() {
+                            return ByteBuffer.wrap(content);
+                        }
+
+                        @Override
+                        public String toString() {
+                            return name;
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the Bean definition of a component, the ComponentRules shared with BeanRegistrarProcessor apply
+     */
+    private DefaultBeanDefinition createBeanDefinition(Class<?> clazz, Component component) throws Exception {
+        if (!Modifier.isPublic(clazz.getModifiers()) || Modifier.isAbstract(clazz.getModifiers())
+                || (clazz.isMemberClass() && !Modifier.isStatic(clazz.getModifiers()))) {
+            throw new Exception("@Component class " + clazz.getName() + " must be public, concrete and top level or static nested");
+        }
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(clazz);
+        bd.setScope(component.scope());
+        if (!component.initMethod().isEmpty()) {
+            bd.setBeanInitMethodName(lifecycleMethod(clazz, component.initMethod(), "init").getName());
+        }
+        if (!component.destroyMethod().isEmpty()) {
+            bd.setBeanDestroyMethodName(lifecycleMethod(clazz, component.destroyMethod(), "destroy").getName());
+        }
+
+        //constructor
+        Constructor<?> constructor = ComponentRules.chooseConstructor(clazz.getName(), Arrays.asList(clazz.getConstructors()),
+                Constructor::getParameterCount, ClassPathComponentScanner::isAnnotated);
+        Parameter[] parameters = constructor.getParameters();
+        if (parameters.length > 0) {
+            List<Object> constructorArg = new ArrayList<>(parameters.length);
+            for (Parameter parameter : parameters) {
+                constructorArg.add(injectedValue(parameter.getAnnotation(Ref.class), parameter.getAnnotation(Value.class),
+                        parameter.getType(), clazz));
+            }
+            bd.setConstructorArg(constructorArg);
+            bd.setConstructor(constructor);
+        }
+
+        //setters
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, PropertyAccessor> accessors = new HashMap<>();
+        for (Method method : clazz.getDeclaredMethods()) {
+            Ref ref = method.getAnnotation(Ref.class);
+            Value value = method.getAnnotation(Value.class);
+            if (ref == null && value == null) {
+                continue;
+            }
+            String property = ComponentRules.propertyName(method.getName());
+            if (property == null || method.getParameterCount() != 1
+                    || !Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+                throw new Exception("@Ref and @Value methods must be public one-argument setters: " + method);
+            }
+            values.put(property, injectedValue(ref, value, method.getParameterTypes()[0], clazz));
+            accessors.put(property, (target, propertyValue) -> method.invoke(target, propertyValue));
+        }
+        if (!values.isEmpty()) {
+            bd.setPropertyKeyValue(values);
+            bd.setPropertyAccessors(accessors);
+        }
+        return bd;
+    }
+
+    private static boolean isAnnotated(Constructor<?> constructor) {
+        for (Parameter parameter : constructor.getParameters()) {
+            if (!parameter.isAnnotationPresent(Ref.class) && !parameter.isAnnotationPresent(Value.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Method lifecycleMethod(Class<?> clazz, String methodName, String kind) throws Exception {
+        try {
+            Method method = clazz.getMethod(methodName);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        } catch (NoSuchMethodException e) {
+            //reported below
+        }
+        throw new Exception(kind + " method " + methodName + " of " + clazz.getName() + " must be a public no-arg instance method");
+    }
+
+    /**
+     * The configured value: a BeanReference for @Ref or the converted literal for @Value
+     */
+    private static Object injectedValue(Ref ref, Value value, Class<?> type, Class<?> clazz) throws Exception {
+        if (ref != null) {
+            return new BeanReference(ref.value());
+        }
+        return ComponentRules.parseValue(value.value(), type, clazz.getName());
+    }
+
+    /**
+     * The class path root a resource was found in, e.g. "file:/app/classes/" or "jar:file:/app/lib.jar!/"
+     */
+    private static String rootOf(URL url, String resource) {
+        String location = url.toString();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        return location.endsWith(resource) ? location.substring(0, location.length() - resource.length()) : location;
+    }
+
+    private static boolean inPackages(String className, String[] basePackages) {
+        for (String basePackage : basePackages) {
+            String prefix = basePackage.trim();
+            if (className.startsWith(prefix) && className.length() > prefix.length() && className.charAt(prefix.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                byte[] larger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, length);
+                buffer = larger;
+            }
+        }
+        byte[] content = new byte[length];
+        System.arraycopy(buffer, 0, content, 0, length);
+        return content;
+    }
+
+    private interface ClassSource {
+
+        ByteBuffer read() throws IOException;
+    }
+}
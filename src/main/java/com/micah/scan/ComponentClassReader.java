@@ -0,0 +1,197 @@
+package com.micah.scan;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads just enough of a class file to tell whether the class is annotated with @Component:
+ * the constant pool, the access flags, the class name and the class attributes. Fields and
+ * methods are skipped, the class is never loaded. Files whose constant pool doesn't mention
+ * the annotation are rejected right after the pool.
+ * @author micah
+ * @create 2026-10-18 21:00
+ **/
+final class ComponentClassReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PUBLIC = 0x0001;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] annotationDescriptor;
+
+    ComponentClassReader(String annotationClassName) {
+        this.annotationDescriptor = ("L" + annotationClassName.replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param classFile class file content, read from its position
+     * @return binary name of the class if it's a public concrete class annotated with the annotation, else null
+     */
+    String componentClassName(ByteBuffer classFile) {
+        ByteBuffer in = classFile.slice();
+        if (in.remaining() < 10 || in.getInt() != MAGIC) {
+            return null;
+        }
+        in.getShort();
+        in.getShort();
+        int count = in.getShort() & 0xffff;
+        int[] offsets = new int[count];
+        int annotationIndex = -1;
+        for (int i = 1; i < count; i++) {
+            int tag = in.get();
+            offsets[i] = in.position();
+            switch (tag) {
+                case 1:
+                    int length = in.getShort() & 0xffff;
+                    if (annotationIndex < 0 && utf8Equals(in, in.position(), length, annotationDescriptor)) {
+                        annotationIndex = i;
+                    }
+                    in.position(in.position() + length);
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.position(in.position() + 2);
+                    break;
+                case 15:
+                    in.position(in.position() + 3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.position(in.position() + 4);
+                    break;
+                case 5:
+                case 6:
+                    in.position(in.position() + 8);
+                    //8 byte constants take two entries
+                    i++;
+                    break;
+                default:
+                    return null;
+            }
+        }
+        if (annotationIndex < 0) {
+            return null;
+        }
+        int access = in.getShort() & 0xffff;
+        int thisClass = in.getShort() & 0xffff;
+        if ((access & ACC_PUBLIC) == 0 || (access & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION)) != 0) {
+            return null;
+        }
+        //super class and interfaces
+        in.getShort();
+        int interfaces = in.getShort() & 0xffff;
+        in.position(in.position() + 2 * interfaces);
+        skipMembers(in);
+        skipMembers(in);
+        int attributes = in.getShort() & 0xffff;
+        for (int i = 0; i < attributes; i++) {
+            int nameIndex = in.getShort() & 0xffff;
+            int length = in.getInt();
+            int end = in.position() + length;
+            if (isUtf8(in, offsets[nameIndex], RUNTIME_VISIBLE_ANNOTATIONS) && hasAnnotation(in, annotationIndex)) {
+                int nameOffset = offsets[in.getShort(offsets[thisClass]) & 0xffff];
+                return utf8(in, nameOffset).replace('/', '.');
+            }
+            in.position(end);
+        }
+        return null;
+    }
+
+    private static void skipMembers(ByteBuffer in) {
+        int members = in.getShort() & 0xffff;
+        for (int i = 0; i < members; i++) {
+            //access flags, name and descriptor
+            in.position(in.position() + 6);
+            int attributes = in.getShort() & 0xffff;
+            for (int j = 0; j < attributes; j++) {
+                in.getShort();
+                int length = in.getInt();
+                in.position(in.position() + length);
+            }
+        }
+    }
+
+    private static boolean hasAnnotation(ByteBuffer in, int annotationIndex) {
+        int annotations = in.getShort() & 0xffff;
+        for (int i = 0; i < annotations; i++) {
+            if ((in.getShort(in.position()) & 0xffff) == annotationIndex) {
+                return true;
+            }
+            skipAnnotation(in);
+        }
+        return false;
+    }
+
+    private static void skipAnnotation(ByteBuffer in) {
+        in.getShort();
+        int pairs = in.getShort() & 0xffff;
+        for (int i = 0; i < pairs; i++) {
+            in.getShort();
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(ByteBuffer in) {
+        int tag = in.get();
+        switch (tag) {
+            case 'e':
+                in.position(in.position() + 4);
+                break;
+            case '@':
+                skipAnnotation(in);
+                break;
+            case '[':
+                int values = in.getShort() & 0xffff;
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                //constants and classes
+                in.position(in.position() + 2);
+                break;
+        }
+    }
+
+    private static boolean isUtf8(ByteBuffer in, int offset, byte[] expected) {
+        return utf8Equals(in, offset + 2, in.getShort(offset) & 0xffff, expected);
+    }
+
+    private static boolean utf8Equals(ByteBuffer in, int start, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (in.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String utf8(ByteBuffer in, int offset) {
+        byte[] bytes = new byte[in.getShort(offset) & 0xffff];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = in.get(offset + 2 + i);
+        }
+        //class names are plain UTF-8 unless they contain a NUL character
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
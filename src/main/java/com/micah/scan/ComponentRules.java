@@ -0,0 +1,127 @@
+package com.micah.scan;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Rules turning a @Component class into a Bean definition, shared by ClassPathComponentScanner
+ * working on loaded classes and BeanRegistrarProcessor working on source elements, so both
+ * register the same Beans.
+ * @author micah
+ * @create 2026-10-19 03:20
+ **/
+public final class ComponentRules {
+
+    private ComponentRules() {
+    }
+
+    /**
+     * Get the Bean name of a component
+     * @param value value of the @Component annotation
+     * @param simpleName simple name of the class
+     * @return the value, or the decapitalized simple name if it's empty
+     */
+    public static String beanName(String value, String simpleName) {
+        return value.isEmpty() ? decapitalize(simpleName) : value;
+    }
+
+    /**
+     * Get the property written by a setter
+     * @param methodName name of a method annotated with @Ref or @Value
+     * @return property name, null if the method isn't named like a setter
+     */
+    public static String propertyName(String methodName) {
+        if (!methodName.startsWith("set") || methodName.length() == 3) {
+            return null;
+        }
+        return decapitalize(methodName.substring(3));
+    }
+
+    /**
+     * Lower case the first character, unless the first two are upper case like in "URL"
+     * @param name
+     * @return decapitalized name
+     */
+    public static String decapitalize(String name) {
+        if (name.isEmpty() || (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0)))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Choose the public constructor whose parameters are all annotated with @Ref or @Value, with
+     * the most parameters; the no-arg constructor qualifies with none
+     * @param className class of the component, for the messages
+     * @param publicConstructors
+     * @param parameterCount
+     * @param annotated whether all parameters of a constructor are annotated
+     * @return chosen constructor
+     * @throws Exception if none or several constructors with as many parameters qualify
+     */
+    public static <C> C chooseConstructor(String className, Collection<C> publicConstructors,
+                                          ToIntFunction<C> parameterCount, Predicate<C> annotated) throws Exception {
+        C chosen = null;
+        boolean ambiguous = false;
+        for (C constructor : publicConstructors) {
+            if (!annotated.test(constructor)) {
+                continue;
+            }
+            int count = parameterCount.applyAsInt(constructor);
+            if (chosen == null || count > parameterCount.applyAsInt(chosen)) {
+                chosen = constructor;
+                ambiguous = false;
+            } else if (count == parameterCount.applyAsInt(chosen)) {
+                ambiguous = true;
+            }
+        }
+        if (chosen == null) {
+            throw new Exception("@Component class " + className
+                    + " needs a public no-arg constructor or one with all parameters annotated with @Ref or @Value");
+        }
+        if (ambiguous) {
+            throw new Exception("@Component class " + className + " has several annotated public constructors with "
+                    + parameterCount.applyAsInt(chosen) + " parameters");
+        }
+        return chosen;
+    }
+
+    /**
+     * Convert the literal of a @Value to the injected value
+     * @param literal
+     * @param type String, a primitive or a boxed type
+     * @param className class of the component, for the messages
+     * @return String or boxed value
+     * @throws Exception if the type isn't supported or the literal doesn't fit it
+     */
+    public static Object parseValue(String literal, Class<?> type, String className) throws Exception {
+        try {
+            if (type == String.class) {
+                return literal;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return Boolean.valueOf(literal);
+            } else if (type == byte.class || type == Byte.class) {
+                return Byte.valueOf(literal);
+            } else if (type == short.class || type == Short.class) {
+                return Short.valueOf(literal);
+            } else if (type == int.class || type == Integer.class) {
+                return Integer.valueOf(literal);
+            } else if (type == long.class || type == Long.class) {
+                return Long.valueOf(literal);
+            } else if (type == float.class || type == Float.class) {
+                return Float.valueOf(literal);
+            } else if (type == double.class || type == Double.class) {
+                return Double.valueOf(literal);
+            } else if (type == char.class || type == Character.class) {
+                if (literal.length() != 1) {
+                    throw new NumberFormatException("not a single character");
+                }
+                return literal.charAt(0);
+            }
+        } catch (NumberFormatException e) {
+            throw new Exception("@Value \"" + literal + "\" in " + className + " isn't a " + type.getName() + ": " + e.getMessage());
+        }
+        throw new Exception("@Value in " + className + " only supports String, primitive and boxed types, not " + type.getName());
+    }
+}
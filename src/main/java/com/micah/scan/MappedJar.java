@@ -0,0 +1,216 @@
+package com.micah.scan;
+
+import com.micah.util.MappedBuffers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Jar file mapped into memory once, its central directory is walked directly so the class entries
+ * under a package can be listed and read without a ZipFile and without copying stored entries.
+ * Reading entries is thread safe, every read works on its own view of the mapping. The mapping
+ * is released by close once the entries are parsed.
+ * ZIP64 archives and jars over 2 GB aren't supported, a ZipException naming the jar is thrown.
+ * @author micah
+ * @create 2026-10-18 21:20
+ **/
+final class MappedJar {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+
+    private static final int END_SIZE = 22;
+
+    private static final int STORED = 0;
+
+    private static final int DEFLATED = 8;
+
+    private final Path path;
+
+    private final MappedByteBuffer mapping;
+
+    private MappedJar(Path path, MappedByteBuffer mapping) {
+        this.path = path;
+        this.mapping = mapping;
+    }
+
+    /**
+     * Map a jar file
+     * @param path
+     * @return mapped jar
+     * @throws ZipException if the jar is over 2 GB, a single mapping can't hold it
+     */
+    static MappedJar open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("can't map " + path + ", " + size + " bytes is over the 2 GB a mapping can hold");
+            }
+            //the mapping stays valid after the channel is closed
+            return new MappedJar(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * List the class file entries whose name starts with the prefix
+     * @param prefix resource path of a package, e.g. "com/micah/", empty for all
+     * @return entries
+     */
+    List<Entry> classEntries(String prefix) throws IOException {
+        ByteBuffer in = view();
+        int end = findEnd(in);
+        int entries = in.getShort(end + 10) & 0xffff;
+        long directorySize = in.getInt(end + 12) & 0xffffffffL;
+        long directoryOffset = in.getInt(end + 16) & 0xffffffffL;
+        if (entries == 0xffff || directorySize == 0xffffffffL || directoryOffset == 0xffffffffL
+                || directoryOffset + directorySize > in.limit()) {
+            throw new ZipException("unsupported or corrupted central directory in " + path);
+        }
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        List<Entry> result = new ArrayList<>();
+        int position = (int) directoryOffset;
+        for (int i = 0; i < entries; i++) {
+            if (in.getInt(position) != CENTRAL_SIGNATURE) {
+                throw new ZipException("bad central directory entry in " + path);
+            }
+            int method = in.getShort(position + 10) & 0xffff;
+            long compressedSize = in.getInt(position + 20) & 0xffffffffL;
+            long size = in.getInt(position + 24) & 0xffffffffL;
+            int nameLength = in.getShort(position + 28) & 0xffff;
+            int extraLength = in.getShort(position + 30) & 0xffff;
+            int commentLength = in.getShort(position + 32) & 0xffff;
+            long localOffset = in.getInt(position + 42) & 0xffffffffL;
+            int name = position + 46;
+            if (nameLength > 6 && nameLength >= prefixBytes.length
+                    && startsWith(in, name, prefixBytes) && isClassFile(in, name, nameLength)) {
+                if (compressedSize == 0xffffffffL || size == 0xffffffffL || localOffset == 0xffffffffL) {
+                    throw new ZipException("ZIP64 entries aren't supported in " + path);
+                }
+                byte[] nameBytes = new byte[nameLength];
+                for (int j = 0; j < nameLength; j++) {
+                    nameBytes[j] = in.get(name + j);
+                }
+                result.add(new Entry(new String(nameBytes, StandardCharsets.UTF_8), method,
+                        (int) compressedSize, (int) size, (int) localOffset));
+            }
+            position = name + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    /**
+     * Read the content of an entry, stored entries are returned as a slice of the mapping
+     * @param entry entry listed by classEntries
+     * @return content
+     */
+    ByteBuffer read(Entry entry) throws IOException {
+        ByteBuffer in = view();
+        int local = entry.localOffset;
+        if (in.getInt(local) != LOCAL_SIGNATURE) {
+            throw new ZipException("bad local header of " + entry.name + " in " + path);
+        }
+        int data = local + 30 + (in.getShort(local + 26) & 0xffff) + (in.getShort(local + 28) & 0xffff);
+        in.limit(data + entry.compressedSize).position(data);
+        if (entry.method == STORED) {
+            return in.slice().order(ByteOrder.BIG_ENDIAN);
+        }
+        if (entry.method != DEFLATED) {
+            throw new ZipException("unsupported compression method " + entry.method + " of " + entry.name + " in " + path);
+        }
+        byte[] compressed = new byte[entry.compressedSize];
+        in.get(compressed);
+        byte[] content = new byte[entry.size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < content.length) {
+                int count = inflater.inflate(content, read, content.length - read);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("truncated entry " + entry.name + " in " + path);
+                }
+                read += count;
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("corrupted entry " + entry.name + " in " + path + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(content);
+    }
+
+    /**
+     * Unmap the jar, neither the jar nor the content returned by read may be used afterwards
+     */
+    void close() {
+        MappedBuffers.unmap(mapping);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    private ByteBuffer view() {
+        return mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private int findEnd(ByteBuffer in) throws ZipException {
+        //the end record is followed by a comment of at most 65535 bytes
+        int lowest = Math.max(0, in.limit() - END_SIZE - 0xffff);
+        for (int position = in.limit() - END_SIZE; position >= lowest; position--) {
+            if (in.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+        throw new ZipException("no end of central directory in " + path);
+    }
+
+    private static boolean startsWith(ByteBuffer in, int start, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (in.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isClassFile(ByteBuffer in, int name, int length) {
+        return in.get(name + length - 6) == '.' && in.get(name + length - 5) == 'c' && in.get(name + length - 4) == 'l'
+                && in.get(name + length - 3) == 'a' && in.get(name + length - 2) == 's' && in.get(name + length - 1) == 's';
+    }
+
+    static final class Entry {
+
+        final String name;
+
+        final int method;
+
+        final int compressedSize;
+
+        final int size;
+
+        final int localOffset;
+
+        Entry(String name, int method, int compressedSize, int size, int localOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localOffset = localOffset;
+        }
+    }
+}
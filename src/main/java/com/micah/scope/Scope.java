@@ -0,0 +1,37 @@
+package com.micah.scope;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beanreference.BeanProvider;
+
+/**
+ * Scope deciding which instance of a Bean getBean returns, registered on the Bean factory
+ * under the scope name used in the Bean definitions
+ * @author micah
+ * @create 2026-10-18 17:50
+ **/
+public interface Scope {
+
+    /**
+     * Get the instance of the Bean in this scope, created by the provider if there's none yet
+     * @param beanName
+     * @param bd BeanDefinition of the Bean
+     * @param creator creates a new, initialized and injected instance
+     * @return Bean
+     */
+    Object get(String beanName, BeanDefinition bd, BeanProvider<Object> creator) throws Exception;
+
+    /**
+     * Remove the instance of the Bean from this scope
+     * @param beanName
+     * @return removed instance or null
+     */
+    Object remove(String beanName);
+
+    /**
+     * Called when the definition of a Bean of this scope is replaced, to drop the state kept for it
+     * @param beanName
+     * @param bd replaced BeanDefinition
+     */
+    default void removeBeanDefinition(String beanName, BeanDefinition bd) {
+    }
+}
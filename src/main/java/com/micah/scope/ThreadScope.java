@@ -0,0 +1,126 @@
+package com.micah.scope;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beanreference.BeanProvider;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scope keeping one instance of the Bean per thread. Every Bean gets a slot the first time it's
+ * requested, each thread stores its instances in an array indexed by slot, so the lookup after
+ * the first one is a read of the slot, a thread local read and an array access. A replaced
+ * definition releases its slot: the instances stored for it are never handed out again and are
+ * overwritten when the slot is reused.
+ * @author micah
+ * @create 2026-10-18 17:50
+ **/
+public class ThreadScope implements Scope {
+
+    //ConcurrentHashMap to store <beanName, slot in the per thread arrays>, filled once per definition
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    //indexes of released slots, reused before new ones are taken
+    private final Queue<Integer> freeIndexes = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<Instances> instances = ThreadLocal.withInitial(Instances::new);
+
+    @Override
+    public Object get(String beanName, BeanDefinition bd, BeanProvider<Object> creator) throws Exception {
+        Slot slot = slotOf(beanName);
+        Instances local = instances.get();
+        Object instance = local.get(slot);
+        if (instance != null) {
+            return instance;
+        }
+        instance = creator.getObject();
+        //creating the instance may have grown the arrays for the Beans it depends on
+        local.set(slot, instance);
+        return instance;
+    }
+
+    @Override
+    public Object remove(String beanName) {
+        Slot slot = slots.get(beanName);
+        return slot == null ? null : instances.get().remove(slot);
+    }
+
+    @Override
+    public void removeBeanDefinition(String beanName, BeanDefinition bd) {
+        Slot slot = slots.remove(beanName);
+        if (slot != null) {
+            instances.get().remove(slot);
+            freeIndexes.add(slot.index);
+        }
+    }
+
+    /**
+     * Drop all instances of the current thread, e.g. when a pooled worker finishes its task
+     */
+    public void clear() {
+        instances.remove();
+    }
+
+    private Slot slotOf(String beanName) {
+        Slot slot = slots.get(beanName);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(beanName, k -> {
+                Integer free = freeIndexes.poll();
+                return new Slot(free == null ? nextIndex.getAndIncrement() : free);
+            });
+        }
+        return slot;
+    }
+
+    /**
+     * Slot of a Bean, a new one is created when its definition is replaced even if the index is reused
+     */
+    private static final class Slot {
+
+        private final int index;
+
+        Slot(int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Instances of one thread with the slot each was stored for, an instance of a released slot
+     * doesn't match the slot reusing its index
+     */
+    private static final class Instances {
+
+        private Slot[] owners = new Slot[0];
+
+        private Object[] values = new Object[0];
+
+        Object get(Slot slot) {
+            return slot.index < owners.length && owners[slot.index] == slot ? values[slot.index] : null;
+        }
+
+        void set(Slot slot, Object instance) {
+            if (slot.index >= owners.length) {
+                int length = Math.max(slot.index + 1, owners.length * 2);
+                owners = Arrays.copyOf(owners, length);
+                values = Arrays.copyOf(values, length);
+            }
+            owners[slot.index] = slot;
+            values[slot.index] = instance;
+        }
+
+        Object remove(Slot slot) {
+            Object instance = get(slot);
+            if (instance != null) {
+                owners[slot.index] = null;
+                values[slot.index] = null;
+            }
+            return instance;
+        }
+    }
+}
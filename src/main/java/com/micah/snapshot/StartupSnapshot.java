@@ -0,0 +1,361 @@
+package com.micah.snapshot;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.dependency.DependencyGraph;
+import com.micah.util.MappedBuffers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of what a Bean factory resolved: for every Bean in topological order a hash
+ * of its definition, a checksum of the class file it's created from, the matched constructor or
+ * factory method and the Beans it depends on. Read through a memory-mapped buffer released once
+ * parsed, so the file can be replaced right after. It only applies when every definition and
+ * class file is unchanged.
+ * @author micah
+ * @create 2026-10-18 20:30
+ **/
+public class StartupSnapshot {
+
+    private static final int MAGIC = 0x4D534E50;
+
+    private static final int VERSION = 1;
+
+    private static final byte NO_MEMBER = 0;
+
+    private static final byte CONSTRUCTOR = 1;
+
+    private static final byte FACTORY_METHOD = 2;
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+                long.class, float.class, double.class}) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    private final List<Entry> entries;
+
+    private StartupSnapshot(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Write the snapshot of the definitions, the file is replaced atomically
+     * @param file snapshot file
+     * @param definitions bean definitions by name
+     * @param graph checked dependency graph of the definitions
+     */
+    public static void write(Path file, Map<String, BeanDefinition> definitions, DependencyGraph graph) throws Exception {
+        Map<Class<?>, Long> checksums = new HashMap<>();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            List<String> order = graph.topologicalOrder();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(order.size());
+            for (String beanName : order) {
+                BeanDefinition bd = definitions.get(beanName);
+                Executable member = resolvedMember(bd);
+                Class<?> source = sourceClass(bd, member);
+                writeString(out, beanName);
+                out.writeLong(fingerprint(bd));
+                writeString(out, source == null ? "" : source.getName());
+                out.writeLong(source == null ? 0L : checksums.computeIfAbsent(source, StartupSnapshot::checksum));
+                if (member instanceof Constructor) {
+                    out.writeByte(CONSTRUCTOR);
+                    writeString(out, member.getDeclaringClass().getName());
+                    writeString(out, "<init>");
+                } else if (member != null) {
+                    out.writeByte(FACTORY_METHOD);
+                    writeString(out, member.getDeclaringClass().getName());
+                    writeString(out, member.getName());
+                } else {
+                    out.writeByte(NO_MEMBER);
+                }
+                if (member != null) {
+                    out.writeInt(member.getParameterCount());
+                    for (Class<?> type : member.getParameterTypes()) {
+                        writeString(out, type.getName());
+                    }
+                }
+                Set<String> dependencies = graph.getDependencies(beanName);
+                out.writeInt(dependencies.size());
+                for (String dependency : dependencies) {
+                    writeString(out, dependency);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot through a memory-mapped buffer, unmapped before returning
+     * @param file snapshot file
+     * @return snapshot
+     * @throws Exception if the file isn't a snapshot of this version
+     */
+    public static StartupSnapshot read(Path file) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return read(file, buffer);
+            } finally {
+                //the entries only hold copies, the mapping would block replacing the file on Windows
+                MappedBuffers.unmap(buffer);
+            }
+        }
+    }
+
+    private static StartupSnapshot read(Path file, ByteBuffer buffer) throws Exception {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new Exception("[" + file + "] isn't a startup snapshot of version " + VERSION);
+        }
+        int count = buffer.getInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Entry entry = new Entry();
+            entry.beanName = readString(buffer);
+            entry.fingerprint = buffer.getLong();
+            entry.sourceClass = readString(buffer);
+            entry.checksum = buffer.getLong();
+            entry.memberKind = buffer.get();
+            if (entry.memberKind != NO_MEMBER) {
+                entry.declaringClass = readString(buffer);
+                entry.memberName = readString(buffer);
+                entry.parameterTypes = new String[buffer.getInt()];
+                for (int j = 0; j < entry.parameterTypes.length; j++) {
+                    entry.parameterTypes[j] = readString(buffer);
+                }
+            }
+            int dependencies = buffer.getInt();
+            entry.dependencies = new LinkedHashSet<>();
+            for (int j = 0; j < dependencies; j++) {
+                entry.dependencies.add(readString(buffer));
+            }
+            entries.add(entry);
+        }
+        return new StartupSnapshot(entries);
+    }
+
+    /**
+     * Check the snapshot against the registered definitions and their class files, then set the
+     * matched constructors and factory methods on the definitions. Nothing is set if any Bean was
+     * added, removed or changed, or any class file changed.
+     * @param definitions bean definitions by name
+     * @return graph in the saved topological order
+     * @throws Exception describing the first difference found
+     */
+    public DependencyGraph apply(Map<String, BeanDefinition> definitions) throws Exception {
+        if (entries.size() != definitions.size()) {
+            throw new Exception("snapshot has " + entries.size() + " beans, " + definitions.size() + " are registered");
+        }
+        Map<String, Long> checksums = new HashMap<>();
+        //by bean name, equal definitions of two Beans each get their member
+        Map<String, Executable> members = new HashMap<>();
+        Map<String, Set<String>> orderedDependencies = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            BeanDefinition bd = definitions.get(entry.beanName);
+            if (bd == null || fingerprint(bd) != entry.fingerprint) {
+                throw new Exception("definition of bean [" + entry.beanName + "] changed");
+            }
+            if (!entry.sourceClass.isEmpty()) {
+                Class<?> source = loadClass(entry.sourceClass, bd);
+                Long checksum = checksums.get(entry.sourceClass);
+                if (checksum == null) {
+                    checksum = checksum(source);
+                    checksums.put(entry.sourceClass, checksum);
+                }
+                if (checksum != entry.checksum) {
+                    throw new Exception("class " + entry.sourceClass + " of bean [" + entry.beanName + "] changed");
+                }
+            }
+            if (entry.memberKind != NO_MEMBER) {
+                members.put(entry.beanName, resolveMember(entry, bd));
+            }
+            orderedDependencies.put(entry.beanName, entry.dependencies);
+        }
+        for (Map.Entry<String, Executable> member : members.entrySet()) {
+            BeanDefinition bd = definitions.get(member.getKey());
+            if (member.getValue() instanceof Constructor) {
+                bd.setConstructor((Constructor<?>) member.getValue());
+            } else {
+                bd.setFactoryMethod((Method) member.getValue());
+            }
+        }
+        return DependencyGraph.restore(orderedDependencies);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Executable resolvedMember(BeanDefinition bd) {
+        if (bd.getFactoryMethod() != null) {
+            return bd.getFactoryMethod();
+        }
+        return bd.getConstructor();
+    }
+
+    /**
+     * the class whose file decides how the Bean is created: the bean class, or the class
+     * declaring the factory method for Beans of a factory Bean
+     */
+    private static Class<?> sourceClass(BeanDefinition bd, Executable member) {
+        if (bd.getBeanClass() != null) {
+            return bd.getBeanClass();
+        }
+        return member == null ? null : member.getDeclaringClass();
+    }
+
+    private static Executable resolveMember(Entry entry, BeanDefinition bd) throws Exception {
+        Class<?> owner = loadClass(entry.declaringClass, bd);
+        Class<?>[] types = new Class<?>[entry.parameterTypes.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> primitive = PRIMITIVES.get(entry.parameterTypes[i]);
+            types[i] = primitive != null ? primitive : loadClass(entry.parameterTypes[i], bd);
+        }
+        if (entry.memberKind == CONSTRUCTOR) {
+            return owner.getConstructor(types);
+        }
+        return owner.getMethod(entry.memberName, types);
+    }
+
+    private static Class<?> loadClass(String name, BeanDefinition bd) throws ClassNotFoundException {
+        ClassLoader loader = bd.getBeanClass() != null ? bd.getBeanClass().getClassLoader()
+                : Thread.currentThread().getContextClassLoader();
+        return Class.forName(name, false, loader);
+    }
+
+    /**
+     * Hash of everything in a definition the resolved metadata depends on: how the Bean is
+     * created, the types of the literal constructor args and the referenced Beans
+     * @param bd bean definition
+     * @return 64 bit FNV-1a hash
+     */
+    static long fingerprint(BeanDefinition bd) {
+        StringBuilder text = new StringBuilder();
+        text.append(bd.getBeanClass() == null ? "" : bd.getBeanClass().getName()).append('|')
+                .append(bd.getFactoryBeanName()).append('|')
+                .append(bd.getCreateBeanMethodName()).append('|')
+                .append(bd.getStaticCreateBeanMethodName()).append('|')
+                .append(bd.getScope()).append('|');
+        if (bd.getConstructorArg() != null) {
+            describe(bd.getConstructorArg(), text);
+        }
+        text.append('|');
+        if (bd.getPropertyKeyValue() != null) {
+            //sorted, the order of a HashMap isn't the same on every start
+            for (Map.Entry<String, Object> property : new TreeMap<>(bd.getPropertyKeyValue()).entrySet()) {
+                text.append(property.getKey()).append('=');
+                describe(Collections.singletonList(property.getValue()), text);
+            }
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : text.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static void describe(Collection<?> values, StringBuilder text) {
+        for (Object value : values) {
+            if (value instanceof BeanReference) {
+                text.append(value.getClass().getSimpleName()).append(':').append(((BeanReference) value).getBeanName());
+            } else if (value instanceof Collection) {
+                text.append('[');
+                describe((Collection<?>) value, text);
+                text.append(']');
+            } else if (value instanceof Map) {
+                text.append('{');
+                describe(((Map<?, ?>) value).values(), text);
+                text.append('}');
+            } else {
+                text.append(value == null ? "null" : value.getClass().getName());
+            }
+            text.append(',');
+        }
+    }
+
+    private static long checksum(Class<?> type) {
+        String resource = type.getName().replace('.', '/') + ".class";
+        ClassLoader loader = type.getClassLoader() != null ? type.getClassLoader() : ClassLoader.getSystemClassLoader();
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                //generated at runtime, nothing to compare
+                return -1L;
+            }
+            CRC32 crc = new CRC32();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                crc.update(chunk, 0, read);
+            }
+            return crc.getValue();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+
+        private String beanName;
+
+        private long fingerprint;
+
+        private String sourceClass;
+
+        private long checksum;
+
+        private byte memberKind;
+
+        private String declaringClass;
+
+        private String memberName;
+
+        private String[] parameterTypes;
+
+        private Set<String> dependencies;
+    }
+}
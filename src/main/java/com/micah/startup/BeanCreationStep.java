@@ -0,0 +1,127 @@
+package com.micah.startup;
+
+/**
+ * Timing of one Bean creation. The phases are measured back to back: resolving the
+ * dependencies (constructor args and factory Bean), instantiation, the init method and the
+ * property injection. Beans created while resolving or injecting are nested steps.
+ * @author micah
+ * @create 2026-10-18 19:10
+ **/
+public class BeanCreationStep {
+
+    private final int id;
+
+    private final int parentId;
+
+    private final int depth;
+
+    private final String beanName;
+
+    private final String threadName;
+
+    private final long startNanos;
+
+    private long markNanos;
+
+    private long endNanos;
+
+    private long dependencyNanos;
+
+    private long instantiationNanos;
+
+    private long initNanos;
+
+    private long injectionNanos;
+
+    private boolean failed;
+
+    BeanCreationStep(int id, BeanCreationStep parent, String beanName, long startNanos) {
+        this.id = id;
+        this.parentId = parent == null ? -1 : parent.id;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+        this.beanName = beanName;
+        this.threadName = Thread.currentThread().getName();
+        this.startNanos = startNanos;
+        this.markNanos = startNanos;
+    }
+
+    public void dependenciesResolved() {
+        dependencyNanos += lap();
+    }
+
+    public void instantiated() {
+        instantiationNanos += lap();
+    }
+
+    public void initialized() {
+        initNanos += lap();
+    }
+
+    public void injected() {
+        injectionNanos += lap();
+    }
+
+    void end(boolean failed) {
+        this.endNanos = System.nanoTime();
+        this.failed = failed;
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - markNanos;
+        markNanos = now;
+        return elapsed;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the id of the Bean creation this one is nested in
+     * @return parent id or -1
+     */
+    public int getParentId() {
+        return parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    public long getDependencyNanos() {
+        return dependencyNanos;
+    }
+
+    public long getInstantiationNanos() {
+        return instantiationNanos;
+    }
+
+    public long getInitNanos() {
+        return initNanos;
+    }
+
+    public long getInjectionNanos() {
+        return injectionNanos;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,131 @@
+package com.micah.startup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in recorder of the Bean creations of a Bean factory. Each thread keeps the stack of the
+ * Beans it's creating, so a step knows the Bean it's nested in. The finished steps can be
+ * exported as a JSON timeline or summarized as the slowest Beans.
+ * @author micah
+ * @create 2026-10-18 19:10
+ **/
+public class StartupRecorder {
+
+    private final long originNanos = System.nanoTime();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final Queue<BeanCreationStep> steps = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<Deque<BeanCreationStep>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Start the step of a Bean creation on the current thread
+     * @param beanName
+     * @return step to mark the phases on
+     */
+    public BeanCreationStep start(String beanName) {
+        Deque<BeanCreationStep> stack = creating.get();
+        BeanCreationStep step = new BeanCreationStep(nextId.getAndIncrement(), stack.peek(), beanName, System.nanoTime());
+        stack.push(step);
+        return step;
+    }
+
+    /**
+     * End the step started last on the current thread
+     * @param step
+     * @param failed whether the creation threw
+     */
+    public void end(BeanCreationStep step, boolean failed) {
+        step.end(failed);
+        Deque<BeanCreationStep> stack = creating.get();
+        stack.remove(step);
+        if (stack.isEmpty()) {
+            creating.remove();
+        }
+        steps.add(step);
+    }
+
+    /**
+     * Get the finished steps ordered by start
+     * @return steps
+     */
+    public List<BeanCreationStep> getSteps() {
+        List<BeanCreationStep> list = new ArrayList<>(steps);
+        list.sort(Comparator.comparingLong(BeanCreationStep::getStartNanos));
+        return list;
+    }
+
+    /**
+     * Export the finished steps, times in milliseconds since the recorder was created
+     * @return JSON array of the steps ordered by start
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (BeanCreationStep step : getSteps()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("\n  {\"id\":").append(step.getId())
+                    .append(",\"parent\":").append(step.getParentId())
+                    .append(",\"depth\":").append(step.getDepth())
+                    .append(",\"bean\":").append(quote(step.getBeanName()))
+                    .append(",\"thread\":").append(quote(step.getThreadName()))
+                    .append(",\"startMs\":").append(millis(step.getStartNanos() - originNanos))
+                    .append(",\"durationMs\":").append(millis(step.getDurationNanos()))
+                    .append(",\"dependencyMs\":").append(millis(step.getDependencyNanos()))
+                    .append(",\"instantiationMs\":").append(millis(step.getInstantiationNanos()))
+                    .append(",\"initMs\":").append(millis(step.getInitNanos()))
+                    .append(",\"injectionMs\":").append(millis(step.getInjectionNanos()))
+                    .append(",\"failed\":").append(step.isFailed())
+                    .append('}');
+        }
+        return json.append(json.length() > 1 ? "\n]" : "]").toString();
+    }
+
+    /**
+     * Summarize the Beans taking the longest to create, nested creations included
+     * @param n number of Beans
+     * @return one line per Bean
+     */
+    public String summary(int n) {
+        List<BeanCreationStep> slowest = getSteps();
+        slowest.sort(Comparator.comparingLong(BeanCreationStep::getDurationNanos).reversed());
+        StringBuilder summary = new StringBuilder("top " + Math.min(n, slowest.size()) + " of "
+                + slowest.size() + " bean creations:");
+        for (int i = 0; i < n && i < slowest.size(); i++) {
+            BeanCreationStep step = slowest.get(i);
+            summary.append(String.format(Locale.ROOT, "%n%10s ms  %s (dependencies %s, instantiation %s, init %s, injection %s)%s",
+                    millis(step.getDurationNanos()), step.getBeanName(), millis(step.getDependencyNanos()),
+                    millis(step.getInstantiationNanos()), millis(step.getInitNanos()), millis(step.getInjectionNanos()),
+                    step.isFailed() ? " failed" : ""));
+        }
+        return summary.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
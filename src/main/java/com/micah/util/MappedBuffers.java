@@ -0,0 +1,68 @@
+package com.micah.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Release file mappings without waiting for the garbage collector. A mapped file can't be
+ * replaced or deleted on Windows while the mapping is alive, and the JDK only unmaps it once the
+ * buffer is collected. The buffer and every view of it must not be used after unmap.
+ * @author micah
+ * @create 2026-10-19 13:10
+ **/
+public final class MappedBuffers {
+
+    //null if neither the Java 9+ nor the Java 8 way is available, the mapping is then left to the collector
+    private static final Unmapper UNMAPPER = unmapper();
+
+    private MappedBuffers() {
+    }
+
+    /**
+     * Unmap the buffer, nothing happens if the JDK doesn't allow it
+     * @param buffer mapping no longer read, neither directly nor through a duplicate or slice
+     */
+    public static void unmap(MappedByteBuffer buffer) {
+        if (UNMAPPER == null || buffer == null) {
+            return;
+        }
+        try {
+            UNMAPPER.unmap(buffer);
+        } catch (Exception e) {
+            //left to the collector
+        }
+    }
+
+    private static Unmapper unmapper() {
+        try {
+            //Java 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (Exception e) {
+            //Java 8, the cleaner of the direct buffer
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object bufferCleaner = cleaner.invoke(buffer);
+                if (bufferCleaner != null) {
+                    clean.invoke(bufferCleaner);
+                }
+            };
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private interface Unmapper {
+
+        void unmap(MappedByteBuffer buffer) throws Exception;
+    }
+}
@@ -3,18 +3,95 @@ import com.micah.bean.Bean2;
 import com.micah.bean.Bean3;
 import com.micah.bean.Bean4;
 import com.micah.bean.Bean5;
+import com.micah.bean.Bean6;
+import com.micah.bean.Bean7;
+import com.micah.bean.Bean9;
+import com.micah.bean.Bean10;
+import com.micah.bean.Bean11;
+import com.micah.bean.Bean12;
+import com.micah.bean.Bean13;
+import com.micah.bean.Bean14;
+import com.micah.bean.Bean15;
+import com.micah.bean.Bean16;
+import com.micah.bean.Bean17;
+import com.micah.bean.Bean18;
+import com.micah.bean.Bean19;
+import com.micah.bean.Bean20;
+import com.micah.bean.Bean21;
+import com.micah.bean.Bean22;
+import com.micah.component.ComponentA;
+import com.micah.component.ComponentB;
+import com.micah.component.ComponentC;
 import com.micah.factory.Bean1Factory;
 import com.micah.factory.Bean2Factory;
 import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.BeanDefinitionValidationException;
 import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.factory.ShutdownReport;
 import com.micah.factory.impl.DefaultBeanFactory;
 import com.micah.beanreference.BeanReference;
+import com.micah.beanreference.LazyBeanReference;
+import com.micah.aop.AopProxies;
+import com.micah.aop.Pointcut;
+import com.micah.convert.ConversionService;
+import com.micah.env.Environment;
+import com.micah.env.MapPropertySource;
+import com.micah.event.ApplicationEvent;
+import com.micah.event.ApplicationEventMulticaster;
+import com.micah.event.ApplicationListener;
+import com.micah.event.ContextClosedEvent;
+import com.micah.event.ContextRefreshedEvent;
+import com.micah.injection.InjectionMetadata;
+import com.micah.processor.BeanPostProcessor;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.ExecutableResolver;
+import com.micah.instantiation.InstantiationStrategy;
+import com.micah.instantiation.MethodHandleInstantiationStrategy;
+import com.micah.instantiation.MethodInvoker;
+import com.micah.instantiation.ReflectiveInstantiationStrategy;
+import com.micah.beanreference.BeanProvider;
+import com.micah.scan.ClassPathComponentScanner;
+import com.micah.scope.Scope;
+import com.micah.startup.BeanCreationStep;
+import com.micah.startup.StartupRecorder;
 import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
 
 
 /**
@@ -124,6 +201,1517 @@ public class MiniSpringTest {
         b2.doSomething();
     }
 
+    @Test
+    public void testPropertyDI() throws Exception {
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        List<Object> args = new ArrayList<>();
+        args.add("bean3c");
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "bean3c");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "bean6");
+        values.put("b3", new BeanReference("bean3c"));
+        List<Object> items = new ArrayList<>();
+        items.add("item");
+        items.add(new BeanReference("bean3c"));
+        values.put("items", items);
+        bd.setPropertyKeyValue(values);
+        factory.registerBeanDefinition(bd, "bean6");
+
+        Bean6 first = (Bean6) factory.getBean("bean6");
+        Bean6 second = (Bean6) factory.getBean("bean6");
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("bean6", second.getName());
+        Assert.assertSame(factory.getBean("bean3c"), second.getB3());
+        Assert.assertEquals(2, second.getItems().size());
+        Assert.assertEquals("item", second.getItems().get(0));
+        Assert.assertSame(second.getB3(), second.getItems().get(1));
+    }
+
+    @Test
+    public void testReflectiveInstantiationStrategy() throws Exception {
+        DefaultBeanFactory reflectiveFactory = new DefaultBeanFactory();
+        reflectiveFactory.setInstantiationStrategy(new ReflectiveInstantiationStrategy());
+
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean2Factory.class);
+        bd.setStaticCreateBeanMethodName("getBean2");
+        List<Object> args = new ArrayList<>();
+        args.add("bean2r");
+        args.add(new BeanReference("bean3r"));
+        bd.setConstructorArg(args);
+        bd.setBeanInitMethodName("init");
+        bd.setBeanDestroyMethodName("destroy");
+        reflectiveFactory.registerBeanDefinition(bd, "bean2r");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        args = new ArrayList<>();
+        args.add("bean3r");
+        bd.setConstructorArg(args);
+        reflectiveFactory.registerBeanDefinition(bd, "bean3r");
+
+        Bean2 b2 = (Bean2) reflectiveFactory.getBean("bean2r");
+        Assert.assertSame(b2, reflectiveFactory.getBean("bean2r"));
+        b2.doSomething();
+        reflectiveFactory.close();
+    }
+
+    @Test
+    public void testInstantiationStrategiesThrowTargetException() throws Exception {
+        for (InstantiationStrategy strategy : Arrays.asList(new MethodHandleInstantiationStrategy(),
+                new ReflectiveInstantiationStrategy())) {
+            try {
+                strategy.bind(Bean20.class.getConstructor()).newInstance(null);
+                Assert.fail("constructor throws");
+            } catch (IOException e) {
+                Assert.assertEquals("no-arg constructor failed", e.getMessage());
+            }
+            try {
+                strategy.bind(Bean20.class.getConstructor(String.class)).newInstance(new Object[]{"named"});
+                Assert.fail("constructor throws");
+            } catch (IOException e) {
+                Assert.assertEquals("named constructor failed", e.getMessage());
+            }
+            try {
+                strategy.bind(Bean20.class.getMethod("create", String.class)).invoke(null, new Object[]{"named"});
+                Assert.fail("factory method throws");
+            } catch (IOException e) {
+                Assert.assertEquals("named factory method failed", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testAotBeanDefinitions() throws Exception {
+        DefaultBeanFactory aotFactory = new DefaultBeanFactory();
+        //generated definitions must never fall back to reflective binding
+        aotFactory.setInstantiationStrategy(new InstantiationStrategy() {
+            @Override
+            public BeanInstantiator bind(Constructor<?> constructor) throws Exception {
+                throw new Exception("reflective constructor " + constructor);
+            }
+
+            @Override
+            public MethodInvoker bind(Method method) throws Exception {
+                throw new Exception("reflective method " + method);
+            }
+        });
+        //the registrars only exist when the test sources were compiled with the aot profile
+        Assume.assumeTrue(aotFactory.loadAotBeanDefinitions() > 0);
+
+        ComponentB b = (ComponentB) aotFactory.getBean("b");
+        ComponentA a = (ComponentA) aotFactory.getBean("componentA");
+
+        Assert.assertNotSame(b, aotFactory.getBean("b"));
+        Assert.assertEquals("componentB", b.getName());
+        Assert.assertEquals(8080, b.getPort());
+        Assert.assertSame(a, b.getA());
+        Assert.assertSame(a, b.getC().getA());
+        Assert.assertTrue(a.isInitialized());
+        aotFactory.close();
+        Assert.assertTrue(a.isDestroyed());
+    }
+
+    @Test
+    public void testPreInstantiateSingletons() throws Exception {
+        DefaultBeanFactory eagerFactory = new DefaultBeanFactory();
+        int count = 60;
+        for (int i = 0; i < count; i++) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean7.class);
+            List<Object> args = new ArrayList<>();
+            args.add("bean7_" + i);
+            bd.setConstructorArg(args);
+            //each Bean depends on up to three earlier ones, a mix of wide and deep chains
+            List<Object> deps = new ArrayList<>();
+            for (int j = i / 2; j < i && deps.size() < 3; j += 1 + i % 4) {
+                deps.add(new BeanReference("bean7_" + j));
+            }
+            Map<String, Object> values = new HashMap<>();
+            values.put("deps", deps);
+            bd.setPropertyKeyValue(values);
+            eagerFactory.registerBeanDefinition(bd, "bean7_" + i);
+        }
+
+        int before = Bean7.CREATED.get();
+        eagerFactory.preInstantiateSingletons(8);
+        Assert.assertEquals(count, Bean7.CREATED.get() - before);
+
+        for (int i = 0; i < count; i++) {
+            Bean7 bean = (Bean7) eagerFactory.getBean("bean7_" + i);
+            for (Bean7 dep : bean.getDeps()) {
+                Assert.assertTrue(dep.getSequence() < bean.getSequence());
+                Assert.assertSame(dep, eagerFactory.getBean(dep.getName()));
+            }
+        }
+        Assert.assertEquals(count, Bean7.CREATED.get() - before);
+    }
+
+    @Test(expected = Exception.class)
+    public void testPreInstantiateCircularSingletons() throws Exception {
+        DefaultBeanFactory eagerFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean4.class);
+        List<Object> args = new ArrayList<>();
+        args.add(new BeanReference("bean5"));
+        bd.setConstructorArg(args);
+        eagerFactory.registerBeanDefinition(bd, "bean4");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean5.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("bean4"));
+        bd.setConstructorArg(args);
+        eagerFactory.registerBeanDefinition(bd, "bean5");
+
+        eagerFactory.preInstantiateSingletons(2);
+    }
+
+    @Test
+    public void testValidateReportsAllProblems() throws Exception {
+        DefaultBeanFactory validatedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean4.class);
+        List<Object> args = new ArrayList<>();
+        args.add(new BeanReference("bean5"));
+        bd.setConstructorArg(args);
+        validatedFactory.registerBeanDefinition(bd, "bean4");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean5.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("bean4"));
+        bd.setConstructorArg(args);
+        validatedFactory.registerBeanDefinition(bd, "bean5");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean2.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("missing"));
+        bd.setConstructorArg(args);
+        validatedFactory.registerBeanDefinition(bd, "bean2");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        Map<String, Object> values = new HashMap<>();
+        values.put("items", Collections.singletonList(new BeanReference("bean6")));
+        bd.setPropertyKeyValue(values);
+        validatedFactory.registerBeanDefinition(bd, "bean6");
+
+        try {
+            validatedFactory.validate();
+            Assert.fail("validate must fail");
+        } catch (BeanDefinitionValidationException e) {
+            Assert.assertEquals(2, e.getCycles().size());
+            Assert.assertTrue(e.getCycles().contains(Arrays.asList("bean4", "bean5"))
+                    || e.getCycles().contains(Arrays.asList("bean5", "bean4")));
+            Assert.assertTrue(e.getCycles().contains(Collections.singletonList("bean6")));
+            Assert.assertEquals(Collections.singleton("missing"), e.getMissingReferences().get("bean2"));
+        }
+    }
+
+    @Test
+    public void testValidatedFactoryDetectsFactoryMethodCycle() throws Exception {
+        DefaultBeanFactory validatedFactory = new DefaultBeanFactory();
+        //the @Autowired edge of a factory method Bean isn't in the graph
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean18.class);
+        bd.setStaticCreateBeanMethodName("create");
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        validatedFactory.registerBeanDefinition(bd, "bean18");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean19.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList(new BeanReference("bean18"))));
+        validatedFactory.registerBeanDefinition(bd, "bean19");
+
+        validatedFactory.validate();
+        try {
+            validatedFactory.getBean("bean18");
+            Assert.fail("prototype cycle must be detected");
+        } catch (Exception e) {
+            //expected, not a StackOverflowError
+        }
+    }
+
+    @Test
+    public void testValidatedFactoryCreatesBeans() throws Exception {
+        DefaultBeanFactory validatedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean2.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> args = new ArrayList<>();
+        args.add("bean2v");
+        args.add(new BeanReference("bean3v"));
+        bd.setConstructorArg(args);
+        validatedFactory.registerBeanDefinition(bd, "bean2v");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        args = new ArrayList<>();
+        args.add("bean3v");
+        bd.setConstructorArg(args);
+        validatedFactory.registerBeanDefinition(bd, "bean3v");
+
+        validatedFactory.refresh();
+        Assert.assertNotSame(validatedFactory.getBean("bean2v"), validatedFactory.getBean("bean2v"));
+    }
+
+    @Test
+    public void testGetBeanByType() throws Exception {
+        DefaultBeanFactory typedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setFactoryBeanName("bean1Factory");
+        bd.setCreateBeanMethodName("getOtherBean1");
+        typedFactory.registerBeanDefinition(bd, "bean1");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean1Factory.class);
+        typedFactory.registerBeanDefinition(bd, "bean1Factory");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean2Factory.class);
+        bd.setStaticCreateBeanMethodName("getBean2");
+        List<Object> args = new ArrayList<>();
+        args.add("bean2t");
+        args.add(new BeanReference("bean3t"));
+        bd.setConstructorArg(args);
+        typedFactory.registerBeanDefinition(bd, "bean2t");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        args = new ArrayList<>();
+        args.add("bean3t");
+        bd.setConstructorArg(args);
+        typedFactory.registerBeanDefinition(bd, "bean3t");
+
+        Assert.assertSame(typedFactory.getBean("bean1"), typedFactory.getBean(Bean1.class));
+        Assert.assertSame(typedFactory.getBean("bean2t"), typedFactory.getBean(Bean2.class));
+        Assert.assertArrayEquals(new String[]{"bean3t"}, typedFactory.getBeanNamesForType(Bean3.class));
+        Assert.assertEquals(0, typedFactory.getBeansOfType(Runnable.class).size());
+        Assert.assertEquals(4, typedFactory.getBeansOfType(Object.class).size());
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        args = new ArrayList<>();
+        args.add("other");
+        bd.setConstructorArg(args);
+        typedFactory.registerBeanDefinition(bd, "otherBean3");
+        Assert.assertEquals(2, typedFactory.getBeansOfType(Bean3.class).size());
+        try {
+            typedFactory.getBean(Bean3.class);
+            Assert.fail("two beans of the type");
+        } catch (Exception e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testLazyBeanReference() throws Exception {
+        DefaultBeanFactory lazyFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean10.class);
+        bd.setLazyInit(true);
+        lazyFactory.registerBeanDefinition(bd, "bean10");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean9.class);
+        Map<String, Object> values = new HashMap<>();
+        values.put("provider", new LazyBeanReference("bean10"));
+        values.put("runnable", new LazyBeanReference("bean10", Runnable.class));
+        bd.setPropertyKeyValue(values);
+        lazyFactory.registerBeanDefinition(bd, "bean9");
+
+        int created = Bean10.CREATED.get();
+        lazyFactory.refresh();
+        Bean9 b9 = (Bean9) lazyFactory.getBean("bean9");
+        Assert.assertEquals(created, Bean10.CREATED.get());
+
+        //Object methods of the proxy don't create the Bean
+        Runnable runnable = b9.getRunnable();
+        Assert.assertTrue(runnable.equals(runnable));
+        Assert.assertFalse(runnable.equals(lazyFactory.getBean("bean9")));
+        Assert.assertEquals(System.identityHashCode(runnable), runnable.hashCode());
+        Assert.assertTrue(runnable.toString().contains("bean10"));
+        Assert.assertEquals(created, Bean10.CREATED.get());
+
+        //the lazy constructor arg is built once for all the prototypes
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean21.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(Arrays.asList(new LazyBeanReference("bean10", Runnable.class)));
+        lazyFactory.registerBeanDefinition(bd, "bean21");
+        Bean21 first = (Bean21) lazyFactory.getBean("bean21");
+        Bean21 second = (Bean21) lazyFactory.getBean("bean21");
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getRunnable(), second.getRunnable());
+        Assert.assertEquals(created, Bean10.CREATED.get());
+
+        int runs = Bean10.RUNS.get();
+        b9.getRunnable().run();
+        b9.getRunnable().run();
+        Assert.assertEquals(created + 1, Bean10.CREATED.get());
+        Assert.assertEquals(runs + 2, Bean10.RUNS.get());
+        Assert.assertSame(lazyFactory.getBean("bean10"), b9.getProvider().getObject());
+        Assert.assertEquals(created + 1, Bean10.CREATED.get());
+    }
+
+    @Test
+    public void testPooledBean() throws Exception {
+        DefaultBeanFactory pooledFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean11.class);
+        bd.setScope(BeanDefinition.SCOPE_POOLED);
+        bd.setPoolMinIdle(1);
+        bd.setPoolMaxSize(2);
+        bd.setBeanResetMethodName("reset");
+        bd.setBeanDestroyMethodName("destroy");
+        pooledFactory.registerBeanDefinition(bd, "bean11");
+
+        int created = Bean11.CREATED.get();
+        pooledFactory.preInstantiateSingletons(2);
+        Assert.assertEquals(created + 1, Bean11.CREATED.get());
+
+        Bean11 first = (Bean11) pooledFactory.checkoutBean("bean11");
+        Bean11 second = (Bean11) pooledFactory.checkoutBean("bean11");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(created + 2, Bean11.CREATED.get());
+        try {
+            pooledFactory.checkoutBean("bean11");
+            Assert.fail("pool is exhausted");
+        } catch (Exception e) {
+            //expected
+        }
+
+        first.getBuffer().append("used");
+        pooledFactory.returnBean("bean11", first);
+        Bean11 again = (Bean11) pooledFactory.checkoutBean("bean11");
+        Assert.assertSame(first, again);
+        Assert.assertEquals(0, again.getBuffer().length());
+
+        pooledFactory.returnBean("bean11", again);
+        pooledFactory.returnBean("bean11", second);
+        //double and unknown returns would hand one instance out twice
+        for (Object returned : Arrays.asList(second, new Bean11())) {
+            try {
+                pooledFactory.returnBean("bean11", returned);
+                Assert.fail("instance isn't checked out");
+            } catch (Exception e) {
+                //expected
+            }
+        }
+        first = (Bean11) pooledFactory.checkoutBean("bean11");
+        second = (Bean11) pooledFactory.checkoutBean("bean11");
+        Assert.assertNotSame(first, second);
+        pooledFactory.returnBean("bean11", first);
+        pooledFactory.returnBean("bean11", second);
+        //getBean and injection would never give an instance back, they're rejected without checking out
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        Map<String, Object> values = new HashMap<>();
+        values.put("items", Collections.singletonList(new BeanReference("bean11")));
+        bd.setPropertyKeyValue(values);
+        pooledFactory.registerBeanDefinition(bd, "poolUser");
+        for (int i = 0; i < 5; i++) {
+            try {
+                pooledFactory.getBean(i % 2 == 0 ? "poolUser" : "bean11");
+                Assert.fail("pooled bean can't be got or injected");
+            } catch (Exception e) {
+                Assert.assertTrue(e.getMessage().contains("checkoutBean"));
+            }
+        }
+        first = (Bean11) pooledFactory.checkoutBean("bean11");
+        second = (Bean11) pooledFactory.checkoutBean("bean11");
+        pooledFactory.returnBean("bean11", first);
+        pooledFactory.returnBean("bean11", second);
+
+        int destroyed = Bean11.DESTROYED.get();
+        pooledFactory.close();
+        Assert.assertEquals(destroyed + 2, Bean11.DESTROYED.get());
+    }
+
+    @Test
+    public void testThreadAndCustomScope() throws Exception {
+        DefaultBeanFactory scopedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_THREAD);
+        scopedFactory.registerBeanDefinition(bd, "threadBean6");
+
+        Object local = scopedFactory.getBean("threadBean6");
+        Assert.assertSame(local, scopedFactory.getBean("threadBean6"));
+        Object other = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scopedFactory.getBean("threadBean6");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        Assert.assertNotSame(local, other);
+
+        //one definition under two names keeps an instance per name
+        scopedFactory.registerBeanDefinition(bd, "otherThreadBean6");
+        Object otherName = scopedFactory.getBean("otherThreadBean6");
+        Assert.assertNotSame(local, otherName);
+        Assert.assertSame(local, scopedFactory.getBean("threadBean6"));
+
+        //a replaced definition drops its slot, the Bean reusing it doesn't see the old instance
+        DefaultBeanDefinition replacement = new DefaultBeanDefinition();
+        replacement.setBeanClass(Bean6.class);
+        replacement.setScope(BeanDefinition.SCOPE_THREAD);
+        scopedFactory.registerBeanDefinition(replacement, "threadBean6");
+        Object replaced = scopedFactory.getBean("threadBean6");
+        Assert.assertNotSame(local, replaced);
+        Assert.assertNotSame(otherName, replaced);
+        Assert.assertSame(replaced, scopedFactory.getBean("threadBean6"));
+        Assert.assertSame(otherName, scopedFactory.getBean("otherThreadBean6"));
+
+        Map<String, Object> conversation = new HashMap<>();
+        scopedFactory.registerScope("conversation", new Scope() {
+            @Override
+            public Object get(String beanName, BeanDefinition bd, BeanProvider<Object> creator) throws Exception {
+                Object instance = conversation.get(beanName);
+                if (instance == null) {
+                    instance = creator.getObject();
+                    conversation.put(beanName, instance);
+                }
+                return instance;
+            }
+
+            @Override
+            public Object remove(String beanName) {
+                return conversation.remove(beanName);
+            }
+        });
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope("conversation");
+        scopedFactory.registerBeanDefinition(bd, "conversationBean6");
+        Object first = scopedFactory.getBean("conversationBean6");
+        Assert.assertSame(first, scopedFactory.getBean("conversationBean6"));
+        conversation.clear();
+        Assert.assertNotSame(first, scopedFactory.getBean("conversationBean6"));
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope("unknown");
+        scopedFactory.registerBeanDefinition(bd, "unknownBean6");
+        try {
+            scopedFactory.getBean("unknownBean6");
+            Assert.fail("scope isn't registered");
+        } catch (Exception e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testGetBeanAsync() throws Exception {
+        DefaultBeanFactory asyncFactory = new DefaultBeanFactory();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        asyncFactory.setAsyncExecutor(executor);
+        for (String name : Arrays.asList("first", "second", "syncBean12")) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean12.class);
+            bd.setBeanInitMethodName("init");
+            asyncFactory.registerBeanDefinition(bd, name);
+        }
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean13.class);
+        Map<String, Object> values = new HashMap<>();
+        values.put("first", new BeanReference("first"));
+        values.put("second", new BeanReference("second"));
+        bd.setPropertyKeyValue(values);
+        asyncFactory.registerBeanDefinition(bd, "bean13");
+
+        try {
+            Bean13 b13 = (Bean13) asyncFactory.getBeanAsync("bean13").get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(b13.getFirst().isReady());
+            Assert.assertTrue(b13.getSecond().isReady());
+            Assert.assertSame(b13.getFirst(), asyncFactory.getBean("first"));
+            Assert.assertSame(b13, asyncFactory.getBeanAsync("bean13").get());
+
+            //synchronous getBean waits for the async init
+            Assert.assertTrue(((Bean12) asyncFactory.getBean("syncBean12")).isReady());
+
+            //a prototype dependency got asynchronously is created once and handed to the Bean
+            bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean10.class);
+            bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            asyncFactory.registerBeanDefinition(bd, "prototype10");
+            bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean6.class);
+            bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            values = new HashMap<>();
+            values.put("items", new ArrayList<>(Collections.singletonList(new BeanReference("prototype10"))));
+            bd.setPropertyKeyValue(values);
+            asyncFactory.registerBeanDefinition(bd, "asyncBean6");
+            int created = Bean10.CREATED.get();
+            Bean6 b6 = (Bean6) asyncFactory.getBeanAsync("asyncBean6").get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(created + 1, Bean10.CREATED.get());
+            Assert.assertTrue(b6.getItems().get(0) instanceof Bean10);
+
+            //the returned future isn't the creation other callers wait for
+            CompletableFuture<Object> returned = asyncFactory.getBeanAsync("bean13");
+            returned.complete("other");
+            Assert.assertSame(b13, asyncFactory.getBeanAsync("bean13").get());
+
+            try {
+                asyncFactory.getBeanAsync("missing").get();
+                Assert.fail("bean definition doesn't exist");
+            } catch (Exception e) {
+                //expected
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOrderedShutdown() throws Exception {
+        DefaultBeanFactory closingFactory = new DefaultBeanFactory();
+        closingFactory.setDestroyTimeoutMillis(100);
+        String[][] beans = {{"repository", null}, {"service", "repository"}, {"controller", "service"},
+                {"slowCache", null}, {"brokenClient", null}};
+        for (String[] bean : beans) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean14.class);
+            bd.setBeanDestroyMethodName("destroy");
+            Map<String, Object> values = new HashMap<>();
+            values.put("name", bean[0]);
+            if (bean[1] != null) {
+                values.put("next", new BeanReference(bean[1]));
+            }
+            if ("slowCache".equals(bean[0])) {
+                values.put("destroyMillis", 500);
+            }
+            if ("brokenClient".equals(bean[0])) {
+                values.put("failOnDestroy", Boolean.TRUE);
+            }
+            bd.setPropertyKeyValue(values);
+            closingFactory.registerBeanDefinition(bd, bean[0]);
+        }
+        closingFactory.preInstantiateSingletons(2);
+
+        Bean14.DESTROYED.clear();
+        ShutdownReport report = closingFactory.shutdown();
+        List<String> destroyed = Bean14.destroyed();
+        Assert.assertTrue(destroyed.indexOf("controller") < destroyed.indexOf("service"));
+        Assert.assertTrue(destroyed.indexOf("service") < destroyed.indexOf("repository"));
+        Assert.assertFalse(report.isClean());
+        Assert.assertEquals(Collections.singleton("slowCache"), report.getSlowBeans());
+        Assert.assertEquals(Collections.singleton("brokenClient"), report.getFailedBeans().keySet());
+        Assert.assertTrue(report.getUndestroyedBeans().isEmpty());
+    }
+
+    @Test
+    public void testStartupRecorder() throws Exception {
+        DefaultBeanFactory recordedFactory = new DefaultBeanFactory();
+        for (String name : Arrays.asList("first", "second")) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean12.class);
+            recordedFactory.registerBeanDefinition(bd, name);
+        }
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean13.class);
+        Map<String, Object> values = new HashMap<>();
+        values.put("first", new BeanReference("first"));
+        values.put("second", new BeanReference("second"));
+        bd.setPropertyKeyValue(values);
+        recordedFactory.registerBeanDefinition(bd, "bean13");
+
+        StartupRecorder recorder = new StartupRecorder();
+        recordedFactory.setStartupRecorder(recorder);
+        recordedFactory.getBean("bean13");
+
+        List<BeanCreationStep> steps = recorder.getSteps();
+        Assert.assertEquals(3, steps.size());
+        BeanCreationStep root = steps.get(0);
+        Assert.assertEquals("bean13", root.getBeanName());
+        Assert.assertEquals(-1, root.getParentId());
+        for (BeanCreationStep nested : steps.subList(1, 3)) {
+            Assert.assertEquals(root.getId(), nested.getParentId());
+            Assert.assertEquals(1, nested.getDepth());
+        }
+        Assert.assertTrue(root.getInjectionNanos() >= steps.get(1).getDurationNanos() + steps.get(2).getDurationNanos());
+        Assert.assertTrue(recorder.toJson().contains("\"bean\":\"second\""));
+        Assert.assertEquals(3, recorder.summary(2).split("\\R").length);
+
+        recordedFactory.setStartupRecorder(null);
+        recordedFactory.registerBeanDefinition(bd, "otherBean13");
+        recordedFactory.getBean("otherBean13");
+        Assert.assertEquals(3, recorder.getSteps().size());
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        DefaultBeanFactory recordedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean14.class);
+        bd.setBeanDestroyMethodName("destroy");
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "recorded");
+        bd.setPropertyKeyValue(values);
+        recordedFactory.registerBeanDefinition(bd, "recordedBean14");
+
+        Path dump = Files.createTempFile("beans", ".jfr");
+        try (Recording recording = new Recording()) {
+            //disabled by default, and the phases of a test Bean are shorter than the default threshold
+            recording.enable("com.micah.BeanInstantiation").withThreshold(Duration.ZERO);
+            recording.enable("com.micah.PropertyInjection").withThreshold(Duration.ZERO);
+            recording.enable("com.micah.BeanDestroy").withThreshold(Duration.ZERO);
+            recording.start();
+            recordedFactory.getBean("recordedBean14");
+            recordedFactory.close();
+            recording.stop();
+            recording.dump(dump);
+
+            List<String> names = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (event.getEventType().getName().startsWith("com.micah.")) {
+                    Assert.assertEquals("recordedBean14", event.getString("beanName"));
+                    Assert.assertEquals(BeanDefinition.SCOPE_SINGLETON, event.getString("scope"));
+                    names.add(event.getEventType().getName());
+                }
+            }
+            Assert.assertTrue(names.containsAll(Arrays.asList("com.micah.BeanInstantiation",
+                    "com.micah.PropertyInjection", "com.micah.BeanDestroy")));
+        }
+        //a recording which doesn't enable them records none
+        try (Recording recording = new Recording()) {
+            recording.start();
+            recordedFactory.registerBeanDefinition(bd, "otherBean14");
+            recordedFactory.getBean("otherBean14");
+            recording.stop();
+            recording.dump(dump);
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                Assert.assertFalse(event.getEventType().getName().startsWith("com.micah."));
+            }
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    public void testStartupSnapshot() throws Exception {
+        Path snapshot = Files.createTempFile("beans", ".snapshot");
+        try {
+            DefaultBeanFactory firstStart = snapshotFactory("bean3s");
+            firstStart.refresh();
+            firstStart.writeSnapshot(snapshot);
+
+            DefaultBeanFactory nextStart = snapshotFactory("bean3s");
+            Assert.assertTrue(nextStart.loadSnapshot(snapshot));
+            Assert.assertEquals(Bean3.class.getConstructor(String.class),
+                    nextStart.getBeanDefinition("bean3s").getConstructor());
+            Assert.assertNotNull(nextStart.getBeanDefinition("bean2s").getFactoryMethod());
+            nextStart.refresh();
+            Assert.assertEquals("bean3s", ((Bean3) nextStart.getBean("bean3s")).getName());
+
+            DefaultBeanFactory changed = snapshotFactory("renamed");
+            Assert.assertFalse(changed.loadSnapshot(snapshot));
+            Assert.assertNull(changed.getBeanDefinition("bean3s").getConstructor());
+
+            //equal definitions of two Beans each get their constructor
+            DefaultBeanFactory twins = new DefaultBeanFactory();
+            for (String beanName : Arrays.asList("twin1", "twin2")) {
+                DefaultBeanDefinition bd = new DefaultBeanDefinition();
+                bd.setBeanClass(Bean3.class);
+                bd.setConstructorArg(new ArrayList<>(Collections.singletonList("twin")));
+                twins.registerBeanDefinition(bd, beanName);
+            }
+            Assert.assertEquals(twins.getBeanDefinition("twin1"), twins.getBeanDefinition("twin2"));
+            twins.refresh();
+            twins.writeSnapshot(snapshot);
+            twins = new DefaultBeanFactory();
+            for (String beanName : Arrays.asList("twin1", "twin2")) {
+                DefaultBeanDefinition bd = new DefaultBeanDefinition();
+                bd.setBeanClass(Bean3.class);
+                bd.setConstructorArg(new ArrayList<>(Collections.singletonList("twin")));
+                twins.registerBeanDefinition(bd, beanName);
+            }
+            Assert.assertTrue(twins.loadSnapshot(snapshot));
+            Assert.assertNotNull(twins.getBeanDefinition("twin1").getConstructor());
+            Assert.assertNotNull(twins.getBeanDefinition("twin2").getConstructor());
+            //the mapping is released, the file can be replaced
+            twins.writeSnapshot(snapshot);
+
+            Files.write(snapshot, new byte[]{1, 2, 3});
+            Assert.assertFalse(snapshotFactory("bean3s").loadSnapshot(snapshot));
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Test
+    public void testComponentScan() throws Exception {
+        DefaultBeanFactory scanFactory = new DefaultBeanFactory();
+        Assert.assertEquals(3, scanFactory.scanComponents("com.micah.component"));
+        ComponentB b = (ComponentB) scanFactory.getBean("b");
+        Assert.assertEquals("componentB", b.getName());
+        Assert.assertEquals(8080, b.getPort());
+        Assert.assertTrue(b.getA().isInitialized());
+        Assert.assertSame(b.getA(), b.getC().getA());
+        Assert.assertNotSame(b, scanFactory.getBean("b"));
+
+        //without the index the class files are parsed
+        Set<String> expected = new TreeSet<>(Arrays.asList(ComponentA.class.getName(),
+                ComponentB.class.getName(), ComponentC.class.getName()));
+        ClassPathComponentScanner scanner = new ClassPathComponentScanner(new DefaultBeanFactory(), getClass().getClassLoader());
+        scanner.setUseIndex(false);
+        Assert.assertEquals(expected, scanner.findCandidateClassNames("com.micah.component"));
+        Assert.assertTrue(scanner.getParsedClassCount() >= 3);
+
+        //a jar with stored and deflated entries, its classes can't even be loaded by the scanning loader
+        Path jar = Files.createTempFile("components", ".jar");
+        Path indexedJar = Files.createTempFile("indexed", ".jar");
+        Path staleJar = Files.createTempFile("stale", ".jar");
+        try {
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                for (String directory : Arrays.asList("com/", "com/micah/", "com/micah/bean/", "com/micah/component/")) {
+                    out.putNextEntry(new JarEntry(directory));
+                    out.closeEntry();
+                }
+                for (Class<?> clazz : Arrays.asList(ComponentA.class, ComponentB.class, ComponentC.class, Bean1.class)) {
+                    byte[] content;
+                    try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[4096];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            bytes.write(buffer, 0, read);
+                        }
+                        content = bytes.toByteArray();
+                    }
+                    JarEntry entry = new JarEntry(clazz.getName().replace('.', '/') + ".class");
+                    if (clazz == ComponentB.class) {
+                        CRC32 crc = new CRC32();
+                        crc.update(content);
+                        entry.setMethod(JarEntry.STORED);
+                        entry.setSize(content.length);
+                        entry.setCrc(crc.getValue());
+                    }
+                    out.putNextEntry(entry);
+                    out.write(content);
+                    out.closeEntry();
+                }
+            }
+            try (URLClassLoader jarLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+                scanner = new ClassPathComponentScanner(new DefaultBeanFactory(), jarLoader);
+                Assert.assertEquals(expected, scanner.findCandidateClassNames("com.micah"));
+                Assert.assertEquals(4, scanner.getParsedClassCount());
+                //a nested base package doesn't parse its class files again
+                Assert.assertEquals(expected, scanner.findCandidateClassNames("com.micah.component", "com.micah", " com.micah"));
+                Assert.assertEquals(4, scanner.getParsedClassCount());
+            }
+
+            //an indexed jar doesn't hide the components of a jar without index
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(indexedJar))) {
+                for (String directory : Arrays.asList("com/", "com/micah/", "com/micah/other/")) {
+                    out.putNextEntry(new JarEntry(directory));
+                    out.closeEntry();
+                }
+                out.putNextEntry(new JarEntry(ClassPathComponentScanner.COMPONENT_INDEX));
+                out.write("com.micah.other.Indexed\n".getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            try (URLClassLoader jarLoader = new URLClassLoader(new URL[]{indexedJar.toUri().toURL(), jar.toUri().toURL()}, null)) {
+                scanner = new ClassPathComponentScanner(new DefaultBeanFactory(), jarLoader);
+                Set<String> found = new TreeSet<>(expected);
+                found.add("com.micah.other.Indexed");
+                Assert.assertEquals(found, scanner.findCandidateClassNames("com.micah"));
+                Assert.assertEquals(4, scanner.getParsedClassCount());
+            }
+
+            //a stale index entry isn't counted as registered
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(staleJar))) {
+                out.putNextEntry(new JarEntry(ClassPathComponentScanner.COMPONENT_INDEX));
+                out.write((Bean1.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            try (URLClassLoader staleLoader = new URLClassLoader(new URL[]{staleJar.toUri().toURL()}, getClass().getClassLoader())) {
+                DefaultBeanFactory staleFactory = new DefaultBeanFactory();
+                Assert.assertEquals(0, new ClassPathComponentScanner(staleFactory, staleLoader).scan("com.micah.bean"));
+                Assert.assertNull(staleFactory.getBeanDefinition("bean1"));
+            }
+        } finally {
+            Files.deleteIfExists(jar);
+            Files.deleteIfExists(indexedJar);
+            Files.deleteIfExists(staleJar);
+        }
+    }
+
+    @Test
+    public void testStreamingDefinitionReaders() throws Exception {
+        Path xml = Files.createTempFile("beans", ".xml");
+        Path properties = Files.createTempFile("beans", ".properties");
+        try {
+            Files.write(xml, Arrays.asList(
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                    "<beans>",
+                    "    <!-- lifecycle and references -->",
+                    "    <bean id=\"a\" class=\"com.micah.component.ComponentA\" init-method=\"init\" destroy-method=\"destroy\"/>",
+                    "    <bean id=\"c\" class=\"com.micah.component.ComponentC\"><constructor-arg ref=\"a\"/></bean>",
+                    "    <bean id=\"b\" class=\"com.micah.component.ComponentB\" scope=\"prototype\">",
+                    "        <constructor-arg value=\"xmlB\"/>",
+                    "        <constructor-arg value=\"9090\" type=\"int\"/>",
+                    "        <constructor-arg><ref bean=\"a\"/></constructor-arg>",
+                    "        <property name=\"c\" ref=\"c\"/>",
+                    "    </bean>",
+                    "</beans>"), StandardCharsets.UTF_8);
+            DefaultBeanFactory xmlFactory = new DefaultBeanFactory();
+            Assert.assertEquals(3, xmlFactory.loadBeanDefinitions(xml));
+            ComponentB b = (ComponentB) xmlFactory.getBean("b");
+            Assert.assertEquals("xmlB", b.getName());
+            Assert.assertEquals(9090, b.getPort());
+            Assert.assertTrue(b.getA().isInitialized());
+            Assert.assertSame(xmlFactory.getBean("c"), b.getC());
+            Assert.assertTrue(xmlFactory.getBeanDefinition("b").isPrototype());
+
+            Files.write(properties, Arrays.asList(
+                    "# lifecycle and references",
+                    "a.(class)=com.micah.component.ComponentA",
+                    "a.(init-method)=init",
+                    "c.(class)=com.micah.component.ComponentC",
+                    "c.$0(ref)=a",
+                    "b.(class)=com.micah.component.ComponentB",
+                    "b.(scope)=prototype",
+                    "b.$1(java.lang.Integer)=9091",
+                    "b.$0=properties\\",
+                    "    B",
+                    "b.$2(ref)=a",
+                    "b.c(ref)=c"), StandardCharsets.UTF_8);
+            DefaultBeanFactory propertiesFactory = new DefaultBeanFactory();
+            Assert.assertEquals(3, propertiesFactory.loadBeanDefinitions(properties));
+            b = (ComponentB) propertiesFactory.getBean("b");
+            Assert.assertEquals("propertiesB", b.getName());
+            Assert.assertEquals(9091, b.getPort());
+            Assert.assertTrue(b.getA().isInitialized());
+            Assert.assertSame(propertiesFactory.getBean("c"), b.getC());
+
+            //every definition is registered as soon as it's read
+            try (Writer out = Files.newBufferedWriter(xml, StandardCharsets.UTF_8)) {
+                out.write("<beans>\n");
+                for (int i = 0; i < 20000; i++) {
+                    out.write("<bean id=\"bean3_" + i + "\" class=\"com.micah.bean.Bean3\" scope=\"prototype\">"
+                            + "<constructor-arg value=\"bean3_" + i + "\"/></bean>\n");
+                }
+                out.write("</beans>\n");
+            }
+            DefaultBeanFactory largeFactory = new DefaultBeanFactory();
+            Assert.assertEquals(20000, largeFactory.loadBeanDefinitions(xml));
+            Assert.assertEquals("bean3_19999", ((Bean3) largeFactory.getBean("bean3_19999")).getName());
+
+            Files.write(properties, Arrays.asList("a.(class)=com.micah.component.ComponentA",
+                    "c.(class)=com.micah.component.ComponentC", "a.(scope)=prototype"), StandardCharsets.UTF_8);
+            try {
+                new DefaultBeanFactory().loadBeanDefinitions(properties);
+                Assert.fail("lines of bean a aren't contiguous");
+            } catch (Exception e) {
+                Assert.assertTrue(e.getMessage().contains(":3"));
+            }
+        } finally {
+            Files.deleteIfExists(xml);
+            Files.deleteIfExists(properties);
+        }
+    }
+
+    @Test
+    public void testAutowiredInjection() throws Exception {
+        DefaultBeanFactory autowiredFactory = new DefaultBeanFactory();
+        for (String name : Arrays.asList("first", "second")) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean3.class);
+            bd.setConstructorArg(new ArrayList<>(Collections.singletonList(name)));
+            autowiredFactory.registerBeanDefinition(bd, name);
+        }
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean10.class);
+        autowiredFactory.registerBeanDefinition(bd, "bean10");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean15.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        autowiredFactory.registerBeanDefinition(bd, "bean15");
+
+        InjectionMetadata metadata = autowiredFactory.getInjectionMetadata(Bean15.class);
+        Assert.assertTrue(metadata.hasConstructor());
+        Assert.assertEquals(5, metadata.getDependencies().size());
+
+        Bean15 bean15 = (Bean15) autowiredFactory.getBean("bean15");
+        Assert.assertEquals("second", bean15.getBean3().getName());
+        Assert.assertEquals("first", bean15.getFirst().getName());
+        Assert.assertSame(autowiredFactory.getBean("bean10"), bean15.getBean10());
+        Assert.assertSame(bean15.getBean10(), bean15.getRunnable());
+        Assert.assertNull(bean15.getBean14());
+
+        //every prototype shares the metadata scanned for the first one
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNotSame(bean15, autowiredFactory.getBean("bean15"));
+        }
+        Assert.assertSame(metadata, autowiredFactory.getInjectionMetadata(Bean15.class));
+
+        //autowired references are edges of the dependency graph
+        autowiredFactory.validate();
+        autowiredFactory.refresh();
+        Assert.assertEquals("second", ((Bean15) autowiredFactory.getBean("bean15")).getBean3().getName());
+    }
+
+    @Test
+    public void testBeanPostProcessors() throws Exception {
+        DefaultBeanFactory processedFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("processed")));
+        processedFactory.registerBeanDefinition(bd, "bean3p");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean10.class);
+        processedFactory.registerBeanDefinition(bd, "bean10p");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean9.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        processedFactory.registerBeanDefinition(bd, "bean9p");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(RunnableDecorator.class);
+        processedFactory.registerBeanDefinition(bd, "decorator");
+
+        CountingProcessor counting = new CountingProcessor();
+        processedFactory.addBeanPostProcessor(counting);
+        processedFactory.refresh();
+        Assert.assertEquals(2, processedFactory.getBeanPostProcessors().size());
+
+        //the Runnable singleton is replaced after its init
+        Runnable runnable = (Runnable) processedFactory.getBean("bean10p");
+        Assert.assertTrue(runnable instanceof DecoratedRunnable);
+        Assert.assertTrue(((DecoratedRunnable) runnable).target instanceof Bean10);
+
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals("processed", ((Bean3) processedFactory.getBean("bean3p")).getName());
+            processedFactory.getBean("bean9p");
+        }
+        Assert.assertEquals(50, counting.before.get());
+        Assert.assertEquals(50, counting.after.get());
+        //the target types are only asked once per definition
+        Assert.assertTrue(counting.targetTypeQueries.get() <= 4);
+    }
+
+    @Test
+    public void testInjectionBeforeWrappingProcessor() throws Exception {
+        DefaultBeanFactory wrappedFactory = new DefaultBeanFactory();
+        for (String name : Arrays.asList("first", "second")) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean3.class);
+            bd.setConstructorArg(new ArrayList<>(Collections.singletonList(name)));
+            wrappedFactory.registerBeanDefinition(bd, name);
+        }
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean10.class);
+        wrappedFactory.registerBeanDefinition(bd, "bean10");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean15.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        wrappedFactory.registerBeanDefinition(bd, "bean15w");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "wrapped");
+        values.put("b3", new BeanReference("first"));
+        bd.setPropertyKeyValue(values);
+        wrappedFactory.registerBeanDefinition(bd, "bean6w");
+        wrappedFactory.addBeanPostProcessor(new WrappingProcessor());
+
+        //@Autowired members are injected into the raw instance, not the wrapper
+        WrappedBean wrapped = (WrappedBean) wrappedFactory.getBean("bean15w");
+        Bean15 bean15 = (Bean15) wrapped.target;
+        Assert.assertEquals("first", bean15.getFirst().getName());
+        Assert.assertSame(wrappedFactory.getBean("bean10"), bean15.getBean10());
+
+        //and so are the properties
+        wrapped = (WrappedBean) wrappedFactory.getBean("bean6w");
+        Bean6 bean6 = (Bean6) wrapped.target;
+        Assert.assertEquals("wrapped", bean6.getName());
+        Assert.assertSame(wrappedFactory.getBean("first"), bean6.getB3());
+    }
+
+    @Test
+    public void testAopProxies() throws Exception {
+        DefaultBeanFactory aopFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean10.class);
+        aopFactory.registerBeanDefinition(bd, "bean10a");
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("plain")));
+        aopFactory.registerBeanDefinition(bd, "bean3a");
+
+        List<String> trace = Collections.synchronizedList(new ArrayList<>());
+        aopFactory.addAdvisor(Pointcut.forType(Runnable.class), invocation -> {
+            trace.add("before " + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                trace.add("after " + invocation.getMethod().getName());
+            }
+        });
+        //proceeding twice runs the rest of the chain again, like a retry
+        aopFactory.addAdvisor(Pointcut.forMethod(Runnable.class, "run"), invocation -> {
+            invocation.proceed();
+            return invocation.proceed();
+        });
+
+        Runnable runnable = (Runnable) aopFactory.getBean("bean10a");
+        Assert.assertTrue(AopProxies.isAopProxy(runnable));
+        Assert.assertTrue(AopProxies.getTarget(runnable) instanceof Bean10);
+        int runs = Bean10.RUNS.get();
+        runnable.run();
+        Assert.assertEquals(runs + 2, Bean10.RUNS.get());
+        Assert.assertEquals(Arrays.asList("before run", "after run"), trace);
+
+        //methods of Object aren't advised and the proxy is only equal to itself
+        Assert.assertEquals(AopProxies.getTarget(runnable).toString(), runnable.toString());
+        Assert.assertEquals(runnable, runnable);
+        Assert.assertNotEquals(runnable, AopProxies.getTarget(runnable));
+        Assert.assertEquals(2, trace.size());
+
+        //Beans without advised interface method stay as they are
+        Assert.assertFalse(AopProxies.isAopProxy(aopFactory.getBean("bean3a")));
+    }
+
+    public static class CountingProcessor implements BeanPostProcessor {
+
+        final AtomicInteger targetTypeQueries = new AtomicInteger();
+
+        final AtomicInteger before = new AtomicInteger();
+
+        final AtomicInteger after = new AtomicInteger();
+
+        @Override
+        public Class<?>[] getTargetTypes() {
+            targetTypeQueries.incrementAndGet();
+            return new Class<?>[]{Bean3.class};
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            before.incrementAndGet();
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            after.incrementAndGet();
+            return bean;
+        }
+    }
+
+    public static class RunnableDecorator implements BeanPostProcessor {
+
+        @Override
+        public Class<?>[] getTargetTypes() {
+            return new Class<?>[]{Runnable.class};
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return new DecoratedRunnable((Runnable) bean);
+        }
+    }
+
+    public static class WrappingProcessor implements BeanPostProcessor {
+
+        @Override
+        public Class<?>[] getTargetTypes() {
+            return new Class<?>[]{Bean6.class, Bean15.class};
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            return new WrappedBean(bean);
+        }
+    }
+
+    public static class WrappedBean {
+
+        final Object target;
+
+        WrappedBean(Object target) {
+            this.target = target;
+        }
+    }
+
+    public static class DecoratedRunnable implements Runnable {
+
+        final Runnable target;
+
+        DecoratedRunnable(Runnable target) {
+            this.target = target;
+        }
+
+        @Override
+        public void run() {
+            target.run();
+        }
+    }
+
+    @Test
+    public void testApplicationEvents() throws Exception {
+        DefaultBeanFactory eventFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(OrderListener.class);
+        eventFactory.registerBeanDefinition(bd, "orderListener");
+        List<ApplicationEvent> all = Collections.synchronizedList(new ArrayList<>());
+        eventFactory.addApplicationListener(all::add);
+        List<ContextRefreshedEvent> refreshed = new ArrayList<>();
+        eventFactory.getEventMulticaster().addApplicationListener(ContextRefreshedEvent.class,
+                (ApplicationListener<ContextRefreshedEvent>) refreshed::add);
+
+        //the listener Bean is detected from its definition with the refresh event
+        eventFactory.refresh();
+        Assert.assertEquals(1, refreshed.size());
+        OrderListener orderListener = (OrderListener) eventFactory.getBean("orderListener");
+        Assert.assertTrue(orderListener.orders.isEmpty());
+        eventFactory.publishEvent(new OrderEvent("o1"));
+        eventFactory.publishEvent(new OrderEvent("o2"));
+        Assert.assertEquals(Arrays.asList("o1", "o2"), orderListener.orders);
+        Assert.assertEquals(3, all.size());
+        Assert.assertEquals(2, eventFactory.getEventMulticaster().getApplicationListeners(OrderEvent.class).size());
+        Assert.assertEquals(OrderEvent.class, ApplicationEventMulticaster.resolveEventType(OrderListener.class));
+
+        //a replaced listener definition is detected again, its Bean is still added once
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(OrderListener.class);
+        eventFactory.registerBeanDefinition(bd, "orderListener");
+        eventFactory.publishEvent(new OrderEvent("o3"));
+        Assert.assertEquals(Arrays.asList("o1", "o2", "o3"), orderListener.orders);
+
+        //asynchronous dispatch on a bounded executor, the publisher runs what doesn't fit the queue
+        ThreadPoolExecutor executor = ApplicationEventMulticaster.boundedExecutor(2, 16);
+        eventFactory.getEventMulticaster().setTaskExecutor(executor);
+        all.clear();
+        for (int i = 0; i < 1000; i++) {
+            eventFactory.publishEvent(new OrderEvent("a" + i));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1000, all.size());
+        eventFactory.getEventMulticaster().setTaskExecutor(null);
+
+        all.clear();
+        eventFactory.close();
+        Assert.assertEquals(1, all.size());
+        Assert.assertTrue(all.get(0) instanceof ContextClosedEvent);
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        public OrderEvent(String orderId) {
+            super(orderId);
+        }
+    }
+
+    public static class OrderListener implements ApplicationListener<OrderEvent> {
+
+        final List<String> orders = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            orders.add((String) event.getSource());
+        }
+    }
+
+    @Test
+    public void testPlaceholders() throws Exception {
+        Path file = Files.createTempFile("mini-spring", ".properties");
+        Files.write(file, Arrays.asList("app.env=file", "greeting=hello ${app.user:nobody}", "loop.a=${loop.b}",
+                "loop.b=${loop.a}"), StandardCharsets.UTF_8);
+        Map<String, String> app = new HashMap<>();
+        app.put("app.env", "test");
+        Environment environment = new Environment(new MapPropertySource("app", app));
+        environment.addPropertiesFile(file);
+        Files.delete(file);
+
+        DefaultBeanFactory placeholderFactory = new DefaultBeanFactory();
+        placeholderFactory.setEnvironment(environment);
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("${app.name:anon}@${app.env}")));
+        placeholderFactory.registerBeanDefinition(bd, "bean3p");
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "${greeting}");
+        values.put("items", new ArrayList<>(Arrays.asList("${app.env}", "${unclosed", "plain")));
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setPropertyKeyValue(values);
+        placeholderFactory.registerBeanDefinition(bd, "bean6p");
+
+        //the first source wins, defaults and placeholders in values are resolved
+        Assert.assertEquals("anon@test", ((Bean3) placeholderFactory.getBean("bean3p")).getName());
+        Bean6 bean6 = (Bean6) placeholderFactory.getBean("bean6p");
+        Assert.assertEquals("hello nobody", bean6.getName());
+        Assert.assertEquals(Arrays.asList("test", "${unclosed", "plain"), bean6.getItems());
+
+        //a replaced source is picked up by the next creation
+        Map<String, String> changed = new HashMap<>(app);
+        changed.put("app.name", "micah");
+        changed.put("app.user", "admin");
+        Assert.assertTrue(environment.replace(new MapPropertySource("app", changed)));
+        Assert.assertEquals("micah@test", ((Bean3) placeholderFactory.getBean("bean3p")).getName());
+        Assert.assertEquals("hello admin", ((Bean6) placeholderFactory.getBean("bean6p")).getName());
+        environment.remove("app");
+        Assert.assertEquals("anon@file", ((Bean3) placeholderFactory.getBean("bean3p")).getName());
+
+        Assert.assertEquals("admin", new Environment(new MapPropertySource("p", changed)).getProperty("app.user"));
+
+        //a value changed in place is compiled again
+        Map<String, String> inPlace = new HashMap<>();
+        inPlace.put("user", "micah");
+        inPlace.put("greeting", "hi ${user}");
+        Environment inPlaceEnvironment = new Environment(new MapPropertySource("inPlace", inPlace));
+        Assert.assertEquals("hi micah", inPlaceEnvironment.getProperty("greeting"));
+        inPlace.put("greeting", "bye ${user}");
+        Assert.assertEquals("bye micah", inPlaceEnvironment.getProperty("greeting"));
+        Assert.assertEquals("micah and micah", inPlaceEnvironment.resolvePlaceholders("${user} and ${user}"));
+        try {
+            environment.resolvePlaceholders("${loop.a}");
+            Assert.fail("circular placeholders must fail");
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("circular"));
+        }
+        try {
+            environment.resolvePlaceholders("${missing}");
+            Assert.fail("missing placeholder must fail");
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("${missing}"));
+        }
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        DefaultBeanFactory conversionFactory = new DefaultBeanFactory();
+        conversionFactory.setEnvironment(new Environment(new MapPropertySource("app",
+                Collections.singletonMap("port", "8443"))));
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean16.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(new ArrayList<>(Arrays.asList("localhost", "${port}")));
+        Map<String, Object> values = new HashMap<>();
+        values.put("timeout", 30);
+        values.put("unit", "SECONDS");
+        values.put("secure", "true");
+        bd.setPropertyKeyValue(values);
+        conversionFactory.registerBeanDefinition(bd, "bean16");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean16.class);
+        bd.setStaticCreateBeanMethodName("create");
+        bd.setConstructorArg(new ArrayList<>(Arrays.asList("remote", 80L, "1500")));
+        conversionFactory.registerBeanDefinition(bd, "bean16f");
+
+        //Strings and boxed values are converted to the primitive and enum parameters and properties
+        for (int i = 0; i < 2; i++) {
+            Bean16 bean16 = (Bean16) conversionFactory.getBean("bean16");
+            Assert.assertEquals(8443, bean16.getPort());
+            Assert.assertEquals(30L, bean16.getTimeout());
+            Assert.assertEquals(TimeUnit.SECONDS, bean16.getUnit());
+            Assert.assertEquals(Boolean.TRUE, bean16.getSecure());
+        }
+        Bean16 created = (Bean16) conversionFactory.getBean("bean16f");
+        Assert.assertEquals(80, created.getPort());
+        Assert.assertEquals(1500L, created.getTimeout());
+
+        ConversionService conversionService = conversionFactory.getConversionService();
+        Assert.assertTrue(conversionService.canConvert(Integer.class, long.class));
+        Assert.assertFalse(conversionService.canConvert(null, int.class));
+        Assert.assertFalse(conversionService.canConvert(Bean3.class, String.class));
+        Assert.assertSame(conversionService.getConverter(String.class, int.class),
+                conversionService.getConverter(String.class, int.class));
+        try {
+            conversionService.convert(3000000000L, int.class);
+            Assert.fail("a long out of the int range must not be converted");
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("out of range"));
+        }
+        conversionService.addConverter(String.class, Bean3.class, Bean3::new);
+        Assert.assertEquals("named", ((Bean3) conversionService.convert("named", Bean3.class)).getName());
+
+        //a converted value isn't shared between prototypes
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setPropertyKeyValue(new HashMap<>(Collections.singletonMap("b3", "converted")));
+        conversionFactory.registerBeanDefinition(bd, "bean6");
+        Bean6 first = (Bean6) conversionFactory.getBean("bean6");
+        Bean6 second = (Bean6) conversionFactory.getBean("bean6");
+        Assert.assertEquals("converted", first.getB3().getName());
+        Assert.assertNotSame(first.getB3(), second.getB3());
+    }
+
+    @Test
+    public void testSetterOverloads() throws Exception {
+        DefaultBeanFactory setterFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("b3")));
+        setterFactory.registerBeanDefinition(bd, "b3");
+        String[] chosen = {"String", "int", "Number", "Object", "Object"};
+        Object[] values = {"text", 7, 2.5, new StringBuilder("sb"), new BeanReference("b3")};
+        for (int i = 0; i < values.length; i++) {
+            bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean22.class);
+            bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            bd.setPropertyKeyValue(new HashMap<>(Collections.singletonMap("size", values[i])));
+            setterFactory.registerBeanDefinition(bd, "bean22-" + i);
+            for (int j = 0; j < 2; j++) {
+                Assert.assertEquals(chosen[i], ((Bean22) setterFactory.getBean("bean22-" + i)).getChosen());
+            }
+        }
+
+        //the exception of the setter isn't wrapped in an InvocationTargetException
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean22.class);
+        bd.setPropertyKeyValue(new HashMap<>(Collections.singletonMap("broken", "setter")));
+        setterFactory.registerBeanDefinition(bd, "broken");
+        try {
+            setterFactory.getBean("broken");
+            Assert.fail("the setter throws");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("broken setter", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testExecutableResolution() throws Exception {
+        DefaultBeanFactory resolutionFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("b3")));
+        resolutionFactory.registerBeanDefinition(bd, "b3");
+        String[] chosen = {"String", "long", "Object", "CharSequence", "Integer,Number", "Number,Integer", "Bean3,int"};
+        Object[][] args = {
+                {"text"}, {7}, {new Object()}, {new StringBuilder("sb")},
+                {1, 2.0}, {1L, 2}, {new BeanReference("b3"), "5"}};
+        for (int i = 0; i < args.length; i++) {
+            bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean17.class);
+            bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            bd.setConstructorArg(new ArrayList<>(Arrays.asList(args[i])));
+            resolutionFactory.registerBeanDefinition(bd, "bean17-" + i);
+            //the second creation uses the constructor kept in the definition
+            for (int j = 0; j < 2; j++) {
+                Assert.assertEquals(chosen[i], ((Bean17) resolutionFactory.getBean("bean17-" + i)).getChosen());
+            }
+        }
+
+        //the same arg types from another definition resolve to the memoized constructor
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean17.class);
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList(8)));
+        resolutionFactory.registerBeanDefinition(bd, "bean17-int");
+        resolutionFactory.getBean("bean17-int");
+        Assert.assertEquals(resolutionFactory.getBeanDefinition("bean17-1").getConstructor(),
+                resolutionFactory.getBeanDefinition("bean17-int").getConstructor());
+
+        //static and instance factory methods follow the same rules
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean17.class);
+        bd.setStaticCreateBeanMethodName("of");
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList(3)));
+        resolutionFactory.registerBeanDefinition(bd, "of-int");
+        Assert.assertEquals("of(int)", ((Bean17) resolutionFactory.getBean("of-int")).getChosen());
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean17.class);
+        bd.setStaticCreateBeanMethodName("of");
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList("3")));
+        resolutionFactory.registerBeanDefinition(bd, "of-string");
+        Assert.assertEquals("of(Object)", ((Bean17) resolutionFactory.getBean("of-string")).getChosen());
+        bd = new DefaultBeanDefinition();
+        bd.setFactoryBeanName("of-int");
+        bd.setCreateBeanMethodName("with");
+        bd.setConstructorArg(new ArrayList<>(Collections.singletonList(42)));
+        resolutionFactory.registerBeanDefinition(bd, "with");
+        Assert.assertEquals("with(String)", ((Bean17) resolutionFactory.getBean("with")).getChosen());
+
+        //the bound constructor and factory method are kept on the definition until the strategy changes
+        BeanDefinition prototype = resolutionFactory.getBeanDefinition("bean17-0");
+        BeanInstantiator instantiator = prototype.getConstructorInstantiator();
+        Assert.assertNotNull(instantiator);
+        resolutionFactory.getBean("bean17-0");
+        Assert.assertSame(instantiator, prototype.getConstructorInstantiator());
+        Assert.assertNotNull(resolutionFactory.getBeanDefinition("of-int").getFactoryMethodInvoker());
+        resolutionFactory.setInstantiationStrategy(new ReflectiveInstantiationStrategy());
+        Assert.assertNull(prototype.getConstructorInstantiator());
+        Assert.assertNull(resolutionFactory.getBeanDefinition("of-int").getFactoryMethodInvoker());
+        Assert.assertEquals("String", ((Bean17) resolutionFactory.getBean("bean17-0")).getChosen());
+        Assert.assertNotSame(instantiator, prototype.getConstructorInstantiator());
+        prototype.setConstructor(null);
+        Assert.assertNull(prototype.getConstructorInstantiator());
+        Assert.assertEquals("String", ((Bean17) resolutionFactory.getBean("bean17-0")).getChosen());
+
+        //Integer fits both (Integer, Number) and (Number, Integer) equally well
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean17.class);
+        bd.setConstructorArg(new ArrayList<>(Arrays.asList(1, 2)));
+        resolutionFactory.registerBeanDefinition(bd, "ambiguous");
+        try {
+            resolutionFactory.getBean("ambiguous");
+            Assert.fail("ambiguous constructors must fail");
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("ambiguous"));
+        }
+
+        //a new converter makes (Number, Integer) match too, the memoized choice is dropped
+        ConversionService conversionService = new ConversionService();
+        ExecutableResolver resolver = new ExecutableResolver(conversionService);
+        Object[] converted = {new Bean3("b3"), "5"};
+        Assert.assertEquals(Bean3.class, resolver.resolveConstructor(Bean17.class, converted).getParameterTypes()[0]);
+        conversionService.addConverter(Bean3.class, Number.class, bean -> bean.getName().length());
+        try {
+            resolver.resolveConstructor(Bean17.class, converted);
+            Assert.fail("Bean3 and Number constructors are ambiguous now");
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("ambiguous"));
+        }
+    }
+
+    private static DefaultBeanFactory snapshotFactory(String bean3Reference) {
+        DefaultBeanFactory snapshotFactory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        List<Object> args = new ArrayList<>();
+        args.add("bean3s");
+        bd.setConstructorArg(args);
+        snapshotFactory.registerBeanDefinition(bd, "bean3s");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean2Factory.class);
+        bd.setStaticCreateBeanMethodName("getBean2");
+        args = new ArrayList<>();
+        args.add("bean2s");
+        args.add(new BeanReference(bean3Reference));
+        bd.setConstructorArg(args);
+        snapshotFactory.registerBeanDefinition(bd, "bean2s");
+        if (!"bean3s".equals(bean3Reference)) {
+            bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean3.class);
+            args = new ArrayList<>();
+            args.add(bean3Reference);
+            bd.setConstructorArg(args);
+            snapshotFactory.registerBeanDefinition(bd, bean3Reference);
+        }
+        return snapshotFactory;
+    }
+
     @Test(expected = Exception.class)
     public void testCirculationDI() throws Exception {
         DefaultBeanDefinition bd = new DefaultBeanDefinition();
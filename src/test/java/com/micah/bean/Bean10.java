@@ -0,0 +1,19 @@
+package com.micah.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bean10 implements Runnable {
+
+    public static final AtomicInteger CREATED = new AtomicInteger();
+
+    public static final AtomicInteger RUNS = new AtomicInteger();
+
+    public Bean10() {
+        CREATED.incrementAndGet();
+    }
+
+    @Override
+    public void run() {
+        RUNS.incrementAndGet();
+    }
+}
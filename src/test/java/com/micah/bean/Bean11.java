@@ -0,0 +1,28 @@
+package com.micah.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bean11 {
+
+    public static final AtomicInteger CREATED = new AtomicInteger();
+
+    public static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    public Bean11() {
+        CREATED.incrementAndGet();
+    }
+
+    public StringBuilder getBuffer() {
+        return buffer;
+    }
+
+    public void reset() {
+        buffer.setLength(0);
+    }
+
+    public void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
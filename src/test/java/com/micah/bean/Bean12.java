@@ -0,0 +1,24 @@
+package com.micah.bean;
+
+import java.util.concurrent.CompletableFuture;
+
+public class Bean12 {
+
+    private volatile boolean ready;
+
+    public CompletableFuture<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                //warm up something slow
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ready = true;
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
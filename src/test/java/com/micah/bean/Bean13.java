@@ -0,0 +1,16 @@
+package com.micah.bean;
+
+public class Bean13 {
+
+    private Bean12 first;
+
+    private Bean12 second;
+
+    public Bean12 getFirst() {
+        return first;
+    }
+
+    public Bean12 getSecond() {
+        return second;
+    }
+}
@@ -0,0 +1,32 @@
+package com.micah.bean;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class Bean14 {
+
+    public static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+    private String name;
+
+    private Integer destroyMillis;
+
+    private Boolean failOnDestroy;
+
+    private Bean14 next;
+
+    public void destroy() throws Exception {
+        if (destroyMillis != null) {
+            Thread.sleep(destroyMillis);
+        }
+        if (Boolean.TRUE.equals(failOnDestroy)) {
+            throw new IllegalStateException(name + " can't be destroyed");
+        }
+        DESTROYED.add(name);
+    }
+
+    public static List<String> destroyed() {
+        return Collections.unmodifiableList(DESTROYED);
+    }
+}
@@ -0,0 +1,51 @@
+package com.micah.bean;
+
+import com.micah.annotation.Autowired;
+import com.micah.annotation.Ref;
+
+public class Bean15 {
+
+    private final Bean3 bean3;
+
+    @Autowired
+    private Bean10 bean10;
+
+    //two Bean3s are registered, chosen by the field name
+    @Autowired
+    private Bean3 first;
+
+    @Autowired(required = false)
+    private Bean14 bean14;
+
+    private Runnable runnable;
+
+    @Autowired
+    public Bean15(@Ref("second") Bean3 bean3) {
+        this.bean3 = bean3;
+    }
+
+    @Autowired
+    public void setRunnable(Runnable runnable) {
+        this.runnable = runnable;
+    }
+
+    public Bean3 getBean3() {
+        return this.bean3;
+    }
+
+    public Bean10 getBean10() {
+        return this.bean10;
+    }
+
+    public Bean3 getFirst() {
+        return this.first;
+    }
+
+    public Bean14 getBean14() {
+        return this.bean14;
+    }
+
+    public Runnable getRunnable() {
+        return this.runnable;
+    }
+}
@@ -0,0 +1,47 @@
+package com.micah.bean;
+
+import java.util.concurrent.TimeUnit;
+
+public class Bean16 {
+
+    private final String host;
+
+    private final int port;
+
+    private long timeout;
+
+    private TimeUnit unit;
+
+    private Boolean secure;
+
+    public Bean16(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public static Bean16 create(String host, int port, long timeout) {
+        Bean16 bean16 = new Bean16(host, port);
+        bean16.timeout = timeout;
+        return bean16;
+    }
+
+    public String getHost() {
+        return this.host;
+    }
+
+    public int getPort() {
+        return this.port;
+    }
+
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    public TimeUnit getUnit() {
+        return this.unit;
+    }
+
+    public Boolean getSecure() {
+        return this.secure;
+    }
+}
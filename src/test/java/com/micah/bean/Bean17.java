@@ -0,0 +1,54 @@
+package com.micah.bean;
+
+public class Bean17 {
+
+    private final String chosen;
+
+    public Bean17(Object value) {
+        this.chosen = "Object";
+    }
+
+    public Bean17(CharSequence value) {
+        this.chosen = "CharSequence";
+    }
+
+    public Bean17(String value) {
+        this.chosen = "String";
+    }
+
+    public Bean17(long value) {
+        this.chosen = "long";
+    }
+
+    public Bean17(Number first, Integer second) {
+        this.chosen = "Number,Integer";
+    }
+
+    public Bean17(Integer first, Number second) {
+        this.chosen = "Integer,Number";
+    }
+
+    public Bean17(Bean3 first, int second) {
+        this.chosen = "Bean3,int";
+    }
+
+    private Bean17(String chosen, boolean factory) {
+        this.chosen = chosen;
+    }
+
+    public static Bean17 of(int value) {
+        return new Bean17("of(int)", true);
+    }
+
+    public static Bean17 of(Object value) {
+        return new Bean17("of(Object)", true);
+    }
+
+    public Bean17 with(String value) {
+        return new Bean17("with(String)", true);
+    }
+
+    public String getChosen() {
+        return this.chosen;
+    }
+}
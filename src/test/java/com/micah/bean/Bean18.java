@@ -0,0 +1,17 @@
+package com.micah.bean;
+
+import com.micah.annotation.Autowired;
+
+public class Bean18 {
+
+    @Autowired
+    private Bean19 bean19;
+
+    public static Bean18 create() {
+        return new Bean18();
+    }
+
+    public Bean19 getBean19() {
+        return this.bean19;
+    }
+}
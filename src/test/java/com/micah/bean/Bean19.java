@@ -0,0 +1,14 @@
+package com.micah.bean;
+
+public class Bean19 {
+
+    private final Bean18 bean18;
+
+    public Bean19(Bean18 bean18) {
+        this.bean18 = bean18;
+    }
+
+    public Bean18 getBean18() {
+        return this.bean18;
+    }
+}
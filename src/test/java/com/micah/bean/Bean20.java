@@ -0,0 +1,18 @@
+package com.micah.bean;
+
+import java.io.IOException;
+
+public class Bean20 {
+
+    public Bean20() throws IOException {
+        throw new IOException("no-arg constructor failed");
+    }
+
+    public Bean20(String name) throws IOException {
+        throw new IOException(name + " constructor failed");
+    }
+
+    public static Bean20 create(String name) throws IOException {
+        throw new IOException(name + " factory method failed");
+    }
+}
@@ -0,0 +1,14 @@
+package com.micah.bean;
+
+public class Bean21 {
+
+    private final Runnable runnable;
+
+    public Bean21(Runnable runnable) {
+        this.runnable = runnable;
+    }
+
+    public Runnable getRunnable() {
+        return runnable;
+    }
+}
@@ -0,0 +1,30 @@
+package com.micah.bean;
+
+public class Bean22 {
+
+    private String chosen;
+
+    public void setSize(Object size) {
+        this.chosen = "Object";
+    }
+
+    public void setSize(String size) {
+        this.chosen = "String";
+    }
+
+    public void setSize(int size) {
+        this.chosen = "int";
+    }
+
+    public void setSize(Number size) {
+        this.chosen = "Number";
+    }
+
+    public void setBroken(String broken) {
+        throw new IllegalStateException("broken " + broken);
+    }
+
+    public String getChosen() {
+        return chosen;
+    }
+}
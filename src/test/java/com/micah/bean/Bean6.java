@@ -0,0 +1,24 @@
+package com.micah.bean;
+
+import java.util.List;
+
+public class Bean6 {
+
+    private String name;
+
+    private Bean3 b3;
+
+    private List<Object> items;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Bean3 getB3() {
+        return this.b3;
+    }
+
+    public List<Object> getItems() {
+        return this.items;
+    }
+}
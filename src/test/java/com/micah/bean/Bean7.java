@@ -0,0 +1,32 @@
+package com.micah.bean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bean7 {
+
+    public static final AtomicInteger CREATED = new AtomicInteger();
+
+    private final int sequence;
+
+    private final String name;
+
+    private List<Bean7> deps;
+
+    public Bean7(String name) {
+        this.name = name;
+        this.sequence = CREATED.incrementAndGet();
+    }
+
+    public int getSequence() {
+        return this.sequence;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public List<Bean7> getDeps() {
+        return this.deps;
+    }
+}
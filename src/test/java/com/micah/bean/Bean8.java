@@ -0,0 +1,32 @@
+package com.micah.bean;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bean8 {
+
+    public static final AtomicInteger CONSTRUCTED = new AtomicInteger();
+
+    public static final AtomicInteger INITIALIZED = new AtomicInteger();
+
+    //set by a test to hold the constructor until it opens the gate
+    public static volatile CountDownLatch entered;
+
+    public static volatile CountDownLatch gate;
+
+    public Bean8() throws InterruptedException {
+        CONSTRUCTED.incrementAndGet();
+        CountDownLatch gate = Bean8.gate;
+        if (gate != null) {
+            entered.countDown();
+            gate.await();
+            return;
+        }
+        //make the creation window wide enough for callers to pile up
+        Thread.sleep(50);
+    }
+
+    public void init() {
+        INITIALIZED.incrementAndGet();
+    }
+}
@@ -0,0 +1,18 @@
+package com.micah.bean;
+
+import com.micah.beanreference.BeanProvider;
+
+public class Bean9 {
+
+    private BeanProvider<Bean10> provider;
+
+    private Runnable runnable;
+
+    public BeanProvider<Bean10> getProvider() {
+        return provider;
+    }
+
+    public Runnable getRunnable() {
+        return runnable;
+    }
+}
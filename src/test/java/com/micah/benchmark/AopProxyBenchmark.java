@@ -0,0 +1,118 @@
+package com.micah.benchmark;
+
+import com.micah.aop.MethodInterceptor;
+import com.micah.aop.Pointcut;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.profile.GCProfiler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the AOP proxies: a direct call, a proxied call of a method without advice,
+ * which goes straight to the target, and proxied calls through one and three interceptors.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-19 00:40
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AopProxyBenchmark {
+
+    private Counter direct;
+
+    private Counter unadvised;
+
+    private Counter oneInterceptor;
+
+    private Counter threeInterceptors;
+
+    @Setup
+    public void setup() throws Exception {
+        direct = new SimpleCounter();
+        MethodInterceptor passThrough = invocation -> invocation.proceed();
+
+        //only "next" is advised, "current" of the same proxy dispatches directly
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        register(factory, "counter");
+        factory.addAdvisor(Pointcut.forMethod(Counter.class, "next"), passThrough);
+        unadvised = (Counter) factory.getBean("counter");
+        oneInterceptor = unadvised;
+
+        factory = new DefaultBeanFactory();
+        register(factory, "counter");
+        for (int i = 0; i < 3; i++) {
+            factory.addAdvisor(Pointcut.forMethod(Counter.class, "next"), passThrough);
+        }
+        threeInterceptors = (Counter) factory.getBean("counter");
+    }
+
+    private static void register(DefaultBeanFactory factory, String beanName) {
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(SimpleCounter.class);
+        factory.registerBeanDefinition(bd, beanName);
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.next();
+    }
+
+    @Benchmark
+    public long unadvisedProxyCall() {
+        return unadvised.current();
+    }
+
+    @Benchmark
+    public long oneInterceptorCall() {
+        return oneInterceptor.next();
+    }
+
+    @Benchmark
+    public long threeInterceptorsCall() {
+        return threeInterceptors.next();
+    }
+
+    public interface Counter {
+
+        long next();
+
+        long current();
+    }
+
+    public static class SimpleCounter implements Counter {
+
+        private long value;
+
+        @Override
+        public long next() {
+            return ++value;
+        }
+
+        @Override
+        public long current() {
+            return value;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AopProxyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
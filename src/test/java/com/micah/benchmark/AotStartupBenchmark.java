@@ -0,0 +1,94 @@
+package com.micah.benchmark;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.component.ComponentA;
+import com.micah.component.ComponentB;
+import com.micah.component.ComponentC;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a factory in a fresh JVM: the @Component classes wired by their generated
+ * BeanRegistrars against the same classes wired by reflective Bean definitions.
+ * Run with {@code mvn test-compile} (aot profile, active by default) and then this class' main method.
+ * @author micah
+ * @create 2026-10-18 12:10
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class AotStartupBenchmark {
+
+    @Benchmark
+    public Object aot() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        if (factory.loadAotBeanDefinitions() == 0) {
+            throw new IllegalStateException("no generated BeanRegistrar, compile the tests with the aot profile");
+        }
+        return getBeans(factory);
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(ComponentA.class);
+        bd.setBeanInitMethodName("init");
+        bd.setBeanDestroyMethodName("destroy");
+        factory.registerBeanDefinition(bd, "componentA");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(ComponentB.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<Object> args = new ArrayList<>();
+        args.add("componentB");
+        args.add(8080);
+        args.add(new BeanReference("componentA"));
+        bd.setConstructorArg(args);
+        Map<String, Object> values = new HashMap<>();
+        values.put("c", new BeanReference("componentC"));
+        bd.setPropertyKeyValue(values);
+        factory.registerBeanDefinition(bd, "b");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(ComponentC.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("componentA"));
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "componentC");
+
+        return getBeans(factory);
+    }
+
+    private static Object getBeans(DefaultBeanFactory factory) throws Exception {
+        factory.getBean("componentA");
+        factory.getBean("componentC");
+        return factory.getBean("b");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AotStartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
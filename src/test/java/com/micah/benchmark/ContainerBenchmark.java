@@ -0,0 +1,204 @@
+package com.micah.benchmark;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getBean hot paths of a warmed up factory: the cached singleton, prototypes created by
+ * constructor, static factory method and factory bean, constructor matching among overloads
+ * and property injection. The beans don't print, so only the container is measured.
+ * Run with {@code mvn test-compile} and then this class' main method, which adds {@code -prof gc}.
+ * @author micah
+ * @create 2026-10-18 20:00
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBenchmark {
+
+    private DefaultBeanFactory factory;
+
+    @Setup
+    public void setup() throws Exception {
+        factory = new DefaultBeanFactory();
+
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Leaf.class);
+        factory.registerBeanDefinition(bd, "leaf");
+
+        bd = prototype(Service.class);
+        bd.setConstructorArg(args("service", new BeanReference("leaf")));
+        factory.registerBeanDefinition(bd, "constructorService");
+
+        bd = prototype(ServiceFactory.class);
+        bd.setStaticCreateBeanMethodName("newService");
+        bd.setConstructorArg(args("service", new BeanReference("leaf")));
+        factory.registerBeanDefinition(bd, "staticFactoryService");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(ServiceFactory.class);
+        factory.registerBeanDefinition(bd, "serviceFactory");
+
+        bd = prototype(null);
+        bd.setFactoryBeanName("serviceFactory");
+        bd.setCreateBeanMethodName("createService");
+        bd.setConstructorArg(args("service", new BeanReference("leaf")));
+        factory.registerBeanDefinition(bd, "factoryBeanService");
+
+        bd = prototype(Overloaded.class);
+        bd.setConstructorArg(args("overloaded", 42));
+        factory.registerBeanDefinition(bd, "overloaded");
+
+        bd = prototype(Injected.class);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "injected");
+        values.put("count", 42);
+        values.put("leaf", new BeanReference("leaf"));
+        List<Object> leaves = new ArrayList<>();
+        leaves.add(new BeanReference("leaf"));
+        leaves.add(new BeanReference("leaf"));
+        values.put("leaves", leaves);
+        bd.setPropertyKeyValue(values);
+        factory.registerBeanDefinition(bd, "injected");
+
+        factory.getBean("leaf");
+    }
+
+    @Benchmark
+    public Object cachedSingleton() throws Exception {
+        return factory.getBean("leaf");
+    }
+
+    @Benchmark
+    public Object prototypeByConstructor() throws Exception {
+        return factory.getBean("constructorService");
+    }
+
+    @Benchmark
+    public Object prototypeByStaticFactory() throws Exception {
+        return factory.getBean("staticFactoryService");
+    }
+
+    @Benchmark
+    public Object prototypeByFactoryBean() throws Exception {
+        return factory.getBean("factoryBeanService");
+    }
+
+    @Benchmark
+    public Object overloadedConstructor() throws Exception {
+        return factory.getBean("overloaded");
+    }
+
+    @Benchmark
+    public Object propertyInjection() throws Exception {
+        return factory.getBean("injected");
+    }
+
+    private static DefaultBeanDefinition prototype(Class<?> beanClass) {
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(beanClass);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        return bd;
+    }
+
+    private static List<Object> args(Object... values) {
+        List<Object> args = new ArrayList<>();
+        for (Object value : values) {
+            args.add(value);
+        }
+        return args;
+    }
+
+    public static class Leaf {
+    }
+
+    public static class Service {
+
+        private final String name;
+
+        private final Leaf leaf;
+
+        public Service(String name, Leaf leaf) {
+            this.name = name;
+            this.leaf = leaf;
+        }
+    }
+
+    public static class ServiceFactory {
+
+        public static Service newService(String name, Leaf leaf) {
+            return new Service(name, leaf);
+        }
+
+        public Service createService(String name, Leaf leaf) {
+            return new Service(name, leaf);
+        }
+    }
+
+    public static class Overloaded {
+
+        private String name;
+
+        private Integer size;
+
+        private Leaf leaf;
+
+        public Overloaded(String name) {
+            this.name = name;
+        }
+
+        public Overloaded(Leaf leaf) {
+            this.leaf = leaf;
+        }
+
+        public Overloaded(String name, Leaf leaf) {
+            this.name = name;
+            this.leaf = leaf;
+        }
+
+        public Overloaded(String name, Integer size) {
+            this.name = name;
+            this.size = size;
+        }
+    }
+
+    public static class Injected {
+
+        private String name;
+
+        private Integer count;
+
+        private Leaf leaf;
+
+        private List<Leaf> leaves;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ContainerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
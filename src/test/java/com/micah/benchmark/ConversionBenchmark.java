@@ -0,0 +1,108 @@
+package com.micah.benchmark;
+
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.convert.ConversionService;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion in the prototype hot path: a boxed value passed to a primitive parameter, a String
+ * converted through the cached converter, and prototypes whose args and properties are converted
+ * against prototypes configured with values of the right types.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-19 02:30
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private ConversionService conversionService;
+
+    private DefaultBeanFactory factory;
+
+    private Object boxed = 8080;
+
+    private Object text = "8080";
+
+    @Setup
+    public void setup() {
+        conversionService = new ConversionService();
+        factory = new DefaultBeanFactory();
+        factory.registerBeanDefinition(prototype(8080, 30L), "typed");
+        factory.registerBeanDefinition(prototype("8080", "30"), "converted");
+    }
+
+    private static BeanDefinition prototype(Object port, Object timeout) {
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Endpoint.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setConstructorArg(new ArrayList<>(Arrays.asList("localhost", port)));
+        Map<String, Object> values = new HashMap<>();
+        values.put("timeout", timeout);
+        bd.setPropertyKeyValue(values);
+        return bd;
+    }
+
+    @Benchmark
+    public Object boxedToPrimitive() throws Exception {
+        return conversionService.convert(boxed, int.class);
+    }
+
+    @Benchmark
+    public Object stringToPrimitive() throws Exception {
+        return conversionService.convert(text, int.class);
+    }
+
+    @Benchmark
+    public Object typedPrototype() throws Exception {
+        return factory.getBean("typed");
+    }
+
+    @Benchmark
+    public Object convertedPrototype() throws Exception {
+        return factory.getBean("converted");
+    }
+
+    public static class Endpoint {
+
+        private final String host;
+
+        private final int port;
+
+        private long timeout;
+
+        public Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ConversionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.micah.benchmark;
+
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a whole graph of singletons in a fresh factory. {@code deep} is a chain where every
+ * bean takes the next one as constructor arg, {@code wide} is one root taking all the others
+ * in a list. Each invocation gets a new factory, registration isn't measured.
+ * Run with {@code mvn test-compile} and then this class' main method, which adds {@code -prof gc}.
+ * @author micah
+ * @create 2026-10-18 20:00
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    @Param({"deep", "wide"})
+    private String shape;
+
+    @Param({"200"})
+    private int size;
+
+    private DefaultBeanFactory factory;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        factory = new DefaultBeanFactory();
+        List<Object> children = new ArrayList<>();
+        for (int i = 1; i < size; i++) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Node.class);
+            List<Object> args = new ArrayList<>();
+            if ("deep".equals(shape) && i + 1 < size) {
+                args.add(new BeanReference("node" + (i + 1)));
+            }
+            bd.setConstructorArg(args);
+            factory.registerBeanDefinition(bd, "node" + i);
+            children.add(new BeanReference("node" + i));
+        }
+        DefaultBeanDefinition root = new DefaultBeanDefinition();
+        List<Object> args = new ArrayList<>();
+        if ("deep".equals(shape)) {
+            root.setBeanClass(Node.class);
+            args.add(new BeanReference("node1"));
+        } else {
+            root.setBeanClass(Root.class);
+            args.add(children);
+        }
+        root.setConstructorArg(args);
+        factory.registerBeanDefinition(root, "node0");
+    }
+
+    /**
+     * Resolve the graph recursively from the root
+     */
+    @Benchmark
+    public Object getRoot() throws Exception {
+        return factory.getBean("node0");
+    }
+
+    /**
+     * Validate the graph, then create it in topological order
+     */
+    @Benchmark
+    public Object refresh() throws Exception {
+        factory.refresh();
+        return factory.getBean("node0");
+    }
+
+    public static class Node {
+
+        private Node next;
+
+        public Node() {
+        }
+
+        public Node(Node next) {
+            this.next = next;
+        }
+    }
+
+    public static class Root {
+
+        private final List<Node> children;
+
+        public Root(List<Node> children) {
+            this.children = children;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(DependencyGraphBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.micah.benchmark;
+
+import com.micah.event.ApplicationEvent;
+import com.micah.event.ApplicationEventMulticaster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing with many listeners registered: the listeners of the event class are looked up in
+ * the cache, so the cost depends on the listeners of the event, not on all listeners.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-19 01:20
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMulticastBenchmark {
+
+    //listeners of other event types
+    @Param({"10", "1000"})
+    private int otherListeners;
+
+    private ApplicationEventMulticaster multicaster;
+
+    private Blackhole blackhole;
+
+    private final Ping ping = new Ping(this);
+
+    private final Unheard unheard = new Unheard(this);
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        multicaster = new ApplicationEventMulticaster();
+        for (int i = 0; i < otherListeners; i++) {
+            multicaster.addApplicationListener(Pong.class, event -> this.blackhole.consume(event));
+        }
+        multicaster.addApplicationListener(Ping.class, event -> this.blackhole.consume(event));
+    }
+
+    @Benchmark
+    public void publishToOneListener() {
+        multicaster.multicastEvent(ping);
+    }
+
+    @Benchmark
+    public void publishWithoutListener() {
+        multicaster.multicastEvent(unheard);
+    }
+
+    public static class Ping extends ApplicationEvent {
+
+        public Ping(Object source) {
+            super(source);
+        }
+    }
+
+    public static class Pong extends ApplicationEvent {
+
+        public Pong(Object source) {
+            super(source);
+        }
+    }
+
+    public static class Unheard extends ApplicationEvent {
+
+        public Unheard(Object source) {
+            super(source);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EventMulticastBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
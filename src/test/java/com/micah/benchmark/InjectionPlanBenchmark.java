@@ -0,0 +1,122 @@
+package com.micah.benchmark;
+
+import com.micah.bean.Bean3;
+import com.micah.bean.Bean6;
+import com.micah.beandefinition.BeanDefinition;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import com.micah.factory.impl.DefaultBeanFactory;
+import com.micah.injection.InjectionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the compiled injection plan with the per-call reflective property injection.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-18 09:40
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionPlanBenchmark {
+
+    private DefaultBeanFactory factory;
+
+    private Map<String, Object> values;
+
+    private InjectionPlan plan;
+
+    @Setup
+    public void setup() throws Exception {
+        factory = new DefaultBeanFactory();
+
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        List<Object> args = new ArrayList<>();
+        args.add("bean3");
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "bean3");
+
+        values = new HashMap<>();
+        values.put("name", "bean6");
+        values.put("b3", new BeanReference("bean3"));
+        List<Object> items = new ArrayList<>();
+        items.add("item");
+        items.add(new BeanReference("bean3"));
+        values.put("items", items);
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean6.class);
+        bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        bd.setPropertyKeyValue(values);
+        factory.registerBeanDefinition(bd, "bean6");
+
+        plan = InjectionPlan.compile(Bean6.class, values, null, factory, factory);
+    }
+
+    /**
+     * The injection done before plans existed: field lookup, access check and value parsing per call
+     */
+    @Benchmark
+    public Object reflectiveInjection() throws Exception {
+        Bean6 instance = new Bean6();
+        Class<?> aClass = instance.getClass();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Field field = aClass.getDeclaredField(entry.getKey());
+            field.setAccessible(true);
+            Object arg = entry.getValue();
+            Object value;
+            if (arg instanceof BeanReference) {
+                value = factory.doGetBean(((BeanReference) arg).getBeanName());
+            } else if (arg instanceof List) {
+                List<Object> param = new LinkedList<>();
+                for (Object o : (List<?>) arg) {
+                    param.add(o instanceof BeanReference ? factory.doGetBean(((BeanReference) o).getBeanName()) : o);
+                }
+                value = param;
+            } else {
+                value = arg;
+            }
+            field.set(instance, value);
+        }
+        return instance;
+    }
+
+    @Benchmark
+    public Object compiledPlanInjection() throws Exception {
+        Bean6 instance = new Bean6();
+        plan.inject(instance);
+        return instance;
+    }
+
+    @Benchmark
+    public Object prototypeGetBean() throws Exception {
+        return factory.getBean("bean6");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(InjectionPlanBenchmark.class.getSimpleName()).build()).run();
+    }
+}
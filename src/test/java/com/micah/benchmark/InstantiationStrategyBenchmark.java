@@ -0,0 +1,82 @@
+package com.micah.benchmark;
+
+import com.micah.bean.Bean1;
+import com.micah.bean.Bean3;
+import com.micah.instantiation.BeanInstantiator;
+import com.micah.instantiation.InstantiationStrategy;
+import com.micah.instantiation.MethodHandleInstantiationStrategy;
+import com.micah.instantiation.MethodInvoker;
+import com.micah.instantiation.ReflectiveInstantiationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the bound constructors and methods of the reflective and the MethodHandle strategy.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-18 10:50
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationStrategyBenchmark {
+
+    @Param({"reflective", "methodHandle"})
+    private String strategy;
+
+    private BeanInstantiator noArgConstructor;
+
+    private BeanInstantiator argConstructor;
+
+    private MethodInvoker getterMethod;
+
+    private Object[] args;
+
+    private Bean3 bean3;
+
+    @Setup
+    public void setup() throws Exception {
+        InstantiationStrategy instantiationStrategy = "reflective".equals(strategy)
+                ? new ReflectiveInstantiationStrategy() : new MethodHandleInstantiationStrategy();
+        noArgConstructor = instantiationStrategy.bind(Bean1.class.getConstructor());
+        argConstructor = instantiationStrategy.bind(Bean3.class.getConstructor(String.class));
+        getterMethod = instantiationStrategy.bind(Bean3.class.getMethod("getName"));
+        args = new Object[]{"bean3"};
+        bean3 = new Bean3("bean3");
+    }
+
+    @Benchmark
+    public Object noArgConstructor() throws Exception {
+        return noArgConstructor.newInstance(null);
+    }
+
+    @Benchmark
+    public Object argConstructor() throws Exception {
+        return argConstructor.newInstance(args);
+    }
+
+    @Benchmark
+    public Object noArgMethod() throws Exception {
+        return getterMethod.invoke(bean3, null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(InstantiationStrategyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.micah.benchmark;
+
+import com.micah.bean.Bean3;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.factory.impl.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton retrieval under contention: the cached fast path read by many threads, and a storm of
+ * threads hitting cold singletons of a fresh factory at the same moment.
+ * Run with {@code mvn test-compile} and then this class' main method.
+ * @author micah
+ * @create 2026-10-18 14:00
+ **/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonContentionBenchmark {
+
+    private static final int BEANS = 16;
+
+    @State(Scope.Benchmark)
+    public static class CachedFactory {
+
+        private DefaultBeanFactory factory;
+
+        @Setup
+        public void setup() throws Exception {
+            factory = newFactory();
+            for (int i = 0; i < BEANS; i++) {
+                factory.getBean("bean" + i);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadBeanName {
+
+        private String beanName;
+
+        @Setup
+        public void setup() {
+            beanName = "bean" + (Thread.currentThread().getId() % BEANS);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ColdStorm {
+
+        @Param({"8"})
+        private int threads;
+
+        private ExecutorService executor;
+
+        @Setup
+        public void setup() {
+            executor = Executors.newFixedThreadPool(threads);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object cachedGetBean(CachedFactory state, ThreadBeanName name) throws Exception {
+        return state.factory.getBean(name.beanName);
+    }
+
+    /**
+     * All threads ask for every singleton of a fresh factory, each in a different order
+     */
+    @Benchmark
+    public Object coldSingletonStorm(ColdStorm state) throws Exception {
+        DefaultBeanFactory factory = newFactory();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>(state.threads);
+        for (int t = 0; t < state.threads; t++) {
+            int offset = t;
+            futures.add(state.executor.submit(() -> {
+                start.await();
+                Object last = null;
+                for (int i = 0; i < BEANS; i++) {
+                    last = factory.getBean("bean" + ((i + offset) % BEANS));
+                }
+                return last;
+            }));
+        }
+        start.countDown();
+        Object last = null;
+        for (Future<Object> future : futures) {
+            last = future.get();
+        }
+        return last;
+    }
+
+    private static DefaultBeanFactory newFactory() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        for (int i = 0; i < BEANS; i++) {
+            DefaultBeanDefinition bd = new DefaultBeanDefinition();
+            bd.setBeanClass(Bean3.class);
+            List<Object> args = new ArrayList<>();
+            args.add("bean" + i);
+            bd.setConstructorArg(args);
+            factory.registerBeanDefinition(bd, "bean" + i);
+        }
+        return factory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(SingletonContentionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,27 @@
+package com.micah.component;
+
+import com.micah.annotation.Component;
+
+@Component(initMethod = "init", destroyMethod = "destroy")
+public class ComponentA {
+
+    private boolean initialized;
+
+    private boolean destroyed;
+
+    public void init() {
+        this.initialized = true;
+    }
+
+    public void destroy() {
+        this.destroyed = true;
+    }
+
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    public boolean isDestroyed() {
+        return this.destroyed;
+    }
+}
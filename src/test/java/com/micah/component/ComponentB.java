@@ -0,0 +1,45 @@
+package com.micah.component;
+
+import com.micah.annotation.Component;
+import com.micah.annotation.Ref;
+import com.micah.annotation.Value;
+import com.micah.beandefinition.BeanDefinition;
+
+@Component(value = "b", scope = BeanDefinition.SCOPE_PROTOTYPE)
+public class ComponentB {
+
+    private final String name;
+
+    private final int port;
+
+    private final ComponentA a;
+
+    private ComponentC c;
+
+    public ComponentB(@Value("componentB") String name, @Value("8080") int port, @Ref("componentA") ComponentA a) {
+        this.name = name;
+        this.port = port;
+        this.a = a;
+    }
+
+    @Ref("componentC")
+    public void setC(ComponentC c) {
+        this.c = c;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getPort() {
+        return this.port;
+    }
+
+    public ComponentA getA() {
+        return this.a;
+    }
+
+    public ComponentC getC() {
+        return this.c;
+    }
+}
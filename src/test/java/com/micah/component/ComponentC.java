@@ -0,0 +1,18 @@
+package com.micah.component;
+
+import com.micah.annotation.Component;
+import com.micah.annotation.Ref;
+
+@Component
+public class ComponentC {
+
+    private final ComponentA a;
+
+    public ComponentC(@Ref("componentA") ComponentA a) {
+        this.a = a;
+    }
+
+    public ComponentA getA() {
+        return this.a;
+    }
+}
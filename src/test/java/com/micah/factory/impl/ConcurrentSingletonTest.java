@@ -0,0 +1,142 @@
+package com.micah.factory.impl;
+
+import com.micah.bean.Bean3;
+import com.micah.bean.Bean4;
+import com.micah.bean.Bean5;
+import com.micah.bean.Bean8;
+import com.micah.beandefinition.impl.DefaultBeanDefinition;
+import com.micah.beanreference.BeanReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded singleton creation test class
+ * @author micah
+ * @create 2026-10-18 13:40
+ **/
+public class ConcurrentSingletonTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    public void testSingletonCreatedOnce() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean8.class);
+        bd.setBeanInitMethodName("init");
+        factory.registerBeanDefinition(bd, "bean8");
+
+        int constructed = Bean8.CONSTRUCTED.get();
+        int initialized = Bean8.INITIALIZED.get();
+        List<Object> beans = race(THREADS, () -> factory.getBean("bean8"));
+
+        Assert.assertEquals(1, Bean8.CONSTRUCTED.get() - constructed);
+        Assert.assertEquals(1, Bean8.INITIALIZED.get() - initialized);
+        for (Object bean : beans) {
+            Assert.assertSame(beans.get(0), bean);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testUnrelatedSingletonNotBlocked() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean8.class);
+        factory.registerBeanDefinition(bd, "bean8");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean3.class);
+        List<Object> args = new ArrayList<>();
+        args.add("bean3");
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "bean3");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Bean8.entered = new CountDownLatch(1);
+        Bean8.gate = new CountDownLatch(1);
+        try {
+            Future<Object> slow = executor.submit(() -> factory.getBean("bean8"));
+            Assert.assertTrue(Bean8.entered.await(5, TimeUnit.SECONDS));
+            //bean8 is held in its constructor until the gate opens
+            Assert.assertNotNull(factory.getBean("bean3"));
+            Assert.assertFalse(slow.isDone());
+            Bean8.gate.countDown();
+            Assert.assertNotNull(slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            Bean8.gate.countDown();
+            Bean8.gate = null;
+            Bean8.entered = null;
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testCircularDependencyAcrossThreads() throws Exception {
+        DefaultBeanFactory factory = new DefaultBeanFactory();
+        DefaultBeanDefinition bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean4.class);
+        List<Object> args = new ArrayList<>();
+        args.add(new BeanReference("bean5"));
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "bean4");
+
+        bd = new DefaultBeanDefinition();
+        bd.setBeanClass(Bean5.class);
+        args = new ArrayList<>();
+        args.add(new BeanReference("bean4"));
+        bd.setConstructorArg(args);
+        factory.registerBeanDefinition(bd, "bean5");
+
+        //every caller must fail instead of waiting forever
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String beanName = i % 2 == 0 ? "bean4" : "bean5";
+                results.add(executor.submit(() -> factory.getBean(beanName)));
+            }
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                    Assert.fail("circular dependency must fail");
+                } catch (ExecutionException e) {
+                    //expected
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Object> race(int threads, Callable<Object> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}